@@ -0,0 +1,46 @@
+package net.coderodde.graph.center.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+
+/**
+ * This class holds a generated benchmark graph both as the node objects with
+ * their weight function and as a {@link CompactDirectedGraph} snapshot.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class BenchmarkGraph {
+
+    private final List<DirectedGraphNode> nodeList;
+    private final DirectedGraphWeightFunction weightFunction;
+    private final CompactDirectedGraph graph;
+
+    BenchmarkGraph(List<DirectedGraphNode> nodeList,
+                   DirectedGraphWeightFunction weightFunction) {
+        this.nodeList = Collections.unmodifiableList(
+                new ArrayList<>(nodeList));
+        this.weightFunction = weightFunction;
+        this.graph = new CompactDirectedGraph(nodeList, weightFunction);
+    }
+
+    public List<DirectedGraphNode> getNodeList() {
+        return nodeList;
+    }
+
+    public DirectedGraphNode getRepresentative() {
+        return nodeList.get(0);
+    }
+
+    public DirectedGraphWeightFunction getWeightFunction() {
+        return weightFunction;
+    }
+
+    public CompactDirectedGraph getGraph() {
+        return graph;
+    }
+}
@@ -0,0 +1,77 @@
+package net.coderodde.graph.center.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.center.support.GraphCenterFinderV1;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures the component search over the node objects and the
+ * construction of the {@link CompactDirectedGraph} snapshot, which together
+ * make up the fixed cost of every {@code findCenterNodes} call taking a
+ * representative node.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectedComponentBenchmark {
+
+    @Param({ "RANDOM_SPARSE", "GRID", "SCALE_FREE", "ROAD", "CHAIN" })
+    public GraphType graphType;
+
+    @Param({ "10000", "100000" })
+    public int size;
+
+    @Param({ "13" })
+    public long seed;
+
+    private BenchmarkGraph benchmarkGraph;
+    private final ComponentFinder finder = new ComponentFinder();
+
+    @Setup
+    public void setUp() {
+        benchmarkGraph = graphType.generate(size, seed);
+    }
+
+    @Benchmark
+    public List<DirectedGraphNode> findConnectedComponent() {
+        return finder.findConnectedComponent(
+                benchmarkGraph.getRepresentative());
+    }
+
+    @Benchmark
+    public CompactDirectedGraph createCompactGraph() {
+        return finder.createCompactGraph(benchmarkGraph.getRepresentative(),
+                                         benchmarkGraph.getWeightFunction());
+    }
+
+    /**
+     * Exposes the protected component search.
+     */
+    private static final class ComponentFinder extends GraphCenterFinderV1 {
+
+        @Override
+        public List<DirectedGraphNode>
+            findConnectedComponent(DirectedGraphNode representative) {
+            return super.findConnectedComponent(representative);
+        }
+    }
+}
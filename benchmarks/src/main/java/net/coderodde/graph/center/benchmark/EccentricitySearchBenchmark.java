@@ -0,0 +1,60 @@
+package net.coderodde.graph.center.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.center.support.EccentricitySearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures single-source eccentricity searches on the binary
+ * heap and on the bucket queue. The bucket queue applies only to the graph
+ * families with integer weights; on the others both variants run the heap.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EccentricitySearchBenchmark {
+
+    @Param({ "RANDOM_SPARSE", "GRID", "SCALE_FREE", "CHAIN" })
+    public GraphType graphType;
+
+    @Param({ "10000", "100000" })
+    public int size;
+
+    @Param({ "true", "false" })
+    public boolean bucketQueueEnabled;
+
+    @Param({ "13" })
+    public long seed;
+
+    private EccentricitySearch search;
+    private int source;
+
+    @Setup
+    public void setUp() {
+        CompactDirectedGraph graph = graphType.generate(size, seed).getGraph();
+        search = new EccentricitySearch(graph, bucketQueueEnabled);
+    }
+
+    @Benchmark
+    public double findEccentricityFrom() {
+        source = (source + 1) % search.getGraph().size();
+        return search.findEccentricityFrom(source);
+    }
+}
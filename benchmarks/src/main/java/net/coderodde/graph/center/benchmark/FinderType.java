@@ -0,0 +1,76 @@
+package net.coderodde.graph.center.benchmark;
+
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.support.ApproximateGraphCenterFinder;
+import net.coderodde.graph.center.support.BoundingGraphCenterFinder;
+import net.coderodde.graph.center.support.GraphCenterFinderV1;
+import net.coderodde.graph.center.support.GraphCenterFinderV2;
+import net.coderodde.graph.center.support.ParallelGraphCenterFinder;
+import net.coderodde.graph.center.support.ParallelGraphCenterFinderV2;
+import net.coderodde.graph.center.support.UnweightedGraphCenterFinder;
+
+/**
+ * This enumeration lists the benchmarked graph center finders.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public enum FinderType {
+
+    V1 {
+        @Override
+        public AbstractGraphCenterFinder create() {
+            return new GraphCenterFinderV1();
+        }
+    },
+
+    V2 {
+        @Override
+        public AbstractGraphCenterFinder create() {
+            return new GraphCenterFinderV2();
+        }
+    },
+
+    PARALLEL {
+        @Override
+        public AbstractGraphCenterFinder create() {
+            return new ParallelGraphCenterFinder();
+        }
+    },
+
+    PARALLEL_V2 {
+        @Override
+        public AbstractGraphCenterFinder create() {
+            return new ParallelGraphCenterFinderV2();
+        }
+    },
+
+    BOUNDING {
+        @Override
+        public AbstractGraphCenterFinder create() {
+            return new BoundingGraphCenterFinder();
+        }
+    },
+
+    /**
+     * The approximate finder limited to 16 Dijkstra runs.
+     */
+    APPROXIMATE {
+        @Override
+        public AbstractGraphCenterFinder create() {
+            return new ApproximateGraphCenterFinder(16);
+        }
+    },
+
+    /**
+     * The bit-parallel breadth-first search ignoring the arc weights.
+     */
+    UNWEIGHTED {
+        @Override
+        public AbstractGraphCenterFinder create() {
+            return new UnweightedGraphCenterFinder(true);
+        }
+    };
+
+    public abstract AbstractGraphCenterFinder create();
+}
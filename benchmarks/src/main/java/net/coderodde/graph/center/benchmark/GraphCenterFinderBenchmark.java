@@ -0,0 +1,66 @@
+package net.coderodde.graph.center.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.GraphCenterData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures every graph center finder on every generated graph
+ * family. The {@code SampleTime} mode reports the latency percentiles; run
+ * with {@code -prof gc} to see the allocation rate as well.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphCenterFinderBenchmark {
+
+    @Param({ "RANDOM_SPARSE", "GRID", "SCALE_FREE", "ROAD", "CHAIN" })
+    public GraphType graphType;
+
+    @Param({ "1000", "4000" })
+    public int size;
+
+    @Param({ "V1",
+             "V2",
+             "PARALLEL",
+             "PARALLEL_V2",
+             "BOUNDING",
+             "APPROXIMATE",
+             "UNWEIGHTED" })
+    public FinderType finderType;
+
+    @Param({ "13" })
+    public long seed;
+
+    private CompactDirectedGraph graph;
+    private AbstractGraphCenterFinder finder;
+
+    @Setup
+    public void setUp() {
+        graph = graphType.generate(size, seed).getGraph();
+        finder = finderType.create();
+    }
+
+    @Benchmark
+    public GraphCenterData findCenterNodes() {
+        return finder.findCenterNodes(graph);
+    }
+}
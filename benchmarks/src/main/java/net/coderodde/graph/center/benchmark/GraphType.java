@@ -0,0 +1,199 @@
+package net.coderodde.graph.center.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+
+/**
+ * This enumeration lists the graph families used in the benchmarks. Every
+ * generator is driven by the given {@link Random} only, so the same seed
+ * always yields the same graph. All arcs are added in both directions with the
+ * same weight, so the generated graphs are strongly connected.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public enum GraphType {
+
+    /**
+     * A random spanning tree with about two extra random edges per node.
+     */
+    RANDOM_SPARSE {
+        @Override
+        BenchmarkGraph generate(int size, Random random) {
+            Builder builder = new Builder(size);
+
+            for (int i = 1; i < size; ++i) {
+                builder.connect(random.nextInt(i), i, 1 + random.nextInt(100));
+            }
+
+            for (int i = 0; i < 2 * size; ++i) {
+                builder.connect(random.nextInt(size),
+                                random.nextInt(size),
+                                1 + random.nextInt(100));
+            }
+
+            return builder.build();
+        }
+    },
+
+    /**
+     * A square four-neighbour grid.
+     */
+    GRID {
+        @Override
+        BenchmarkGraph generate(int size, Random random) {
+            int width = (int) Math.ceil(Math.sqrt(size));
+            Builder builder = new Builder(size);
+
+            for (int i = 0; i < size; ++i) {
+                if ((i + 1) % width != 0 && i + 1 < size) {
+                    builder.connect(i, i + 1, 1 + random.nextInt(10));
+                }
+
+                if (i + width < size) {
+                    builder.connect(i, i + width, 1 + random.nextInt(10));
+                }
+            }
+
+            return builder.build();
+        }
+    },
+
+    /**
+     * A Barabási–Albert preferential attachment graph with three edges per
+     * new node.
+     */
+    SCALE_FREE {
+        @Override
+        BenchmarkGraph generate(int size, Random random) {
+            Builder builder = new Builder(size);
+            int[] endpoints = new int[2 * 3 * size + 2];
+            int endpointCount = 0;
+
+            for (int i = 1; i < size; ++i) {
+                int edges = Math.min(i, 3);
+
+                for (int j = 0; j < edges; ++j) {
+                    int target = endpointCount == 0 ?
+                                 0 :
+                                 endpoints[random.nextInt(endpointCount)];
+                    builder.connect(i, target, 1 + random.nextInt(10));
+                    endpoints[endpointCount++] = i;
+                    endpoints[endpointCount++] = target;
+                }
+            }
+
+            return builder.build();
+        }
+    },
+
+    /**
+     * A road-like network: a grid whose every row is a street, but only
+     * about a third of the vertical links are present (the first column is
+     * always kept, so the graph stays connected). The weights are the
+     * distances between randomly jittered grid points.
+     */
+    ROAD {
+        @Override
+        BenchmarkGraph generate(int size, Random random) {
+            int width = (int) Math.ceil(Math.sqrt(size));
+            double[] x = new double[size];
+            double[] y = new double[size];
+
+            for (int i = 0; i < size; ++i) {
+                x[i] = i % width + 0.4 * random.nextDouble();
+                y[i] = i / width + 0.4 * random.nextDouble();
+            }
+
+            Builder builder = new Builder(size);
+
+            for (int i = 0; i < size; ++i) {
+                if ((i + 1) % width != 0 && i + 1 < size) {
+                    builder.connect(i, i + 1, distance(x, y, i, i + 1));
+                }
+
+                if (i + width < size
+                        && (i % width == 0 || random.nextInt(3) == 0)) {
+                    builder.connect(i, i + width, distance(x, y, i, i + width));
+                }
+            }
+
+            return builder.build();
+        }
+    },
+
+    /**
+     * A single path, the worst case for the diameter.
+     */
+    CHAIN {
+        @Override
+        BenchmarkGraph generate(int size, Random random) {
+            Builder builder = new Builder(size);
+
+            for (int i = 1; i < size; ++i) {
+                builder.connect(i - 1, i, 1 + random.nextInt(10));
+            }
+
+            return builder.build();
+        }
+    };
+
+    /**
+     * Generates a graph of this type with {@code size} nodes.
+     *
+     * @param size   the amount of nodes.
+     * @param random the source of randomness.
+     * @return the generated graph.
+     */
+    abstract BenchmarkGraph generate(int size, Random random);
+
+    public BenchmarkGraph generate(int size, long seed) {
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    "The graph size must be positive: " + size + ".");
+        }
+
+        return generate(size, new Random(seed));
+    }
+
+    private static double distance(double[] x, double[] y, int i, int j) {
+        double dx = x[i] - x[j];
+        double dy = y[i] - y[j];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static final class Builder {
+
+        private final List<DirectedGraphNode> nodeList;
+        private final DirectedGraphWeightFunction weightFunction =
+                new DirectedGraphWeightFunction();
+
+        Builder(int size) {
+            this.nodeList = new ArrayList<>(size);
+
+            for (int i = 0; i < size; ++i) {
+                nodeList.add(new DirectedGraphNode(i));
+            }
+        }
+
+        void connect(int i, int j, double weight) {
+            if (i == j) {
+                return;
+            }
+
+            DirectedGraphNode u = nodeList.get(i);
+            DirectedGraphNode v = nodeList.get(j);
+            u.addChild(v);
+            v.addChild(u);
+            weightFunction.put(u, v, weight);
+            weightFunction.put(v, u, weight);
+        }
+
+        BenchmarkGraph build() {
+            return new BenchmarkGraph(nodeList, weightFunction);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.coderodde.graph.center.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.util.BinaryHeap;
+import net.coderodde.util.IndexedMinHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark compares the object-keyed {@link BinaryHeap} with the
+ * int-keyed {@link IndexedMinHeap} on a Dijkstra-like workload: every element
+ * is added, a third of them get their priority decreased, and then the heap
+ * is drained.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeapBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    @Param({ "13" })
+    public long seed;
+
+    private double[] priorities;
+    private double[] decreasedPriorities;
+    private Integer[] elements;
+    private BinaryHeap<Integer> binaryHeap;
+    private IndexedMinHeap indexedMinHeap;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(seed);
+        priorities = new double[size];
+        decreasedPriorities = new double[size];
+        elements = new Integer[size];
+
+        for (int i = 0; i < size; ++i) {
+            priorities[i] = random.nextDouble();
+            decreasedPriorities[i] = priorities[i] * random.nextDouble();
+            elements[i] = i;
+        }
+
+        binaryHeap = new BinaryHeap<>(size);
+        indexedMinHeap = new IndexedMinHeap(size);
+    }
+
+    @Benchmark
+    public long binaryHeap() {
+        binaryHeap.clear();
+
+        for (int i = 0; i < size; ++i) {
+            binaryHeap.add(elements[i], priorities[i]);
+        }
+
+        for (int i = 0; i < size; i += 3) {
+            binaryHeap.decreasePriority(elements[i], decreasedPriorities[i]);
+        }
+
+        long checksum = 0L;
+
+        while (!binaryHeap.isEmpty()) {
+            checksum = 31L * checksum + binaryHeap.extractMinimum();
+        }
+
+        return checksum;
+    }
+
+    @Benchmark
+    public long indexedMinHeap() {
+        indexedMinHeap.clear();
+
+        for (int i = 0; i < size; ++i) {
+            indexedMinHeap.add(i, priorities[i]);
+        }
+
+        for (int i = 0; i < size; i += 3) {
+            indexedMinHeap.decreasePriority(i, decreasedPriorities[i]);
+        }
+
+        long checksum = 0L;
+
+        while (!indexedMinHeap.isEmpty()) {
+            checksum = 31L * checksum + indexedMinHeap.extractMinimum();
+        }
+
+        return checksum;
+    }
+}
@@ -0,0 +1,80 @@
+package net.coderodde.graph.center.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.NodeOrdering;
+import net.coderodde.graph.center.support.EccentricitySearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures the all-sources eccentricity loop of
+ * {@link net.coderodde.graph.center.support.GraphCenterFinderV1} after the
+ * nodes are renumbered by each {@link NodeOrdering}. The generated graphs are
+ * first shuffled into a random node order, so {@code NONE} stands for a
+ * component listed in hash set order.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NodeOrderingBenchmark {
+
+    @Param({ "RANDOM_SPARSE", "GRID", "SCALE_FREE", "ROAD" })
+    public GraphType graphType;
+
+    @Param({ "2000", "8000" })
+    public int size;
+
+    @Param({ "NONE", "BFS", "REVERSE_CUTHILL_MCKEE", "HUB_FIRST" })
+    public NodeOrdering ordering;
+
+    @Param({ "13" })
+    public long seed;
+
+    private EccentricitySearch search;
+
+    @Setup
+    public void setUp() {
+        CompactDirectedGraph graph = graphType.generate(size, seed).getGraph();
+        int[] shuffle = new int[graph.size()];
+        Random random = new Random(seed);
+
+        for (int i = 0; i < shuffle.length; ++i) {
+            int j = random.nextInt(i + 1);
+            shuffle[i] = shuffle[j];
+            shuffle[j] = i;
+        }
+
+        search = new EccentricitySearch(
+                graph.permute(shuffle).reorder(ordering));
+    }
+
+    @Benchmark
+    public double findAllEccentricities() {
+        double minimumEccentricity = Double.POSITIVE_INFINITY;
+
+        for (int source = 0; source < search.getGraph().size(); ++source) {
+            minimumEccentricity =
+                    Math.min(minimumEccentricity,
+                             search.findEccentricityFrom(source));
+        }
+
+        return minimumEccentricity;
+    }
+}
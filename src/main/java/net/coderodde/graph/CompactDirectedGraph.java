@@ -0,0 +1,719 @@
+package net.coderodde.graph;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class implements an immutable compressed sparse row (CSR) snapshot of a
+ * set of {@link DirectedGraphNode}s together with their arc weights. Each node
+ * is assigned a dense index in the range {@code [0, size())}; the children of
+ * the node with index {@code i} are stored in the arc range
+ * {@code [childrenBegin(i), childrenEnd(i))}, and each arc knows its target
+ * node index and its weight. Arcs leading to nodes outside of the snapshot are
+ * ignored. The snapshot of the reverse graph, in which the children of a node
+ * are its parents, is derived on demand by {@link #reverse()} and shares the
+ * node table with this snapshot.
+ * <p>
+ * A snapshot reopened by {@link GraphSnapshotFile#open(java.nio.file.Path)}
+ * reads its node table and arcs straight from the memory-mapped file instead
+ * of from heap arrays. Its nodes are then materialized by
+ * {@link #getNode(int)} on every call; they are equal to, but not the same
+ * objects as, the nodes the snapshot was written from. The snapshots built
+ * by {@link IntDirectedGraph#toCompactGraph} work the same way over heap
+ * buffers, since that graph has no node objects to begin with.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class CompactDirectedGraph {
+
+    private static final int UNKNOWN = -2;
+
+    private final int size;
+    private final int arcCount;
+
+    // The node table lives either in these two fields...
+    private final DirectedGraphNode[] nodes;
+    private final Map<DirectedGraphNode, Integer> indexMap;
+
+    // ... or in the mapped buffers; 'sortedIndices' lists the node indices in
+    // ascending node ID order.
+    private final IntBuffer nodeIds;
+    private final IntBuffer sortedIndices;
+
+    // The arcs live in heap arrays or in buffers, behind one of the two final
+    // implementations of ArcStorage, so that the arc accessors do not branch.
+    private final ArcStorage arcs;
+
+    private CompactDirectedGraph reverse;
+
+    /**
+     * The cached result of {@link #getMaximumIntegerWeight()}, or
+     * {@code UNKNOWN} if it has not been computed yet.
+     */
+    private int maximumIntegerWeight = UNKNOWN;
+
+    private volatile GraphFingerprint fingerprint;
+    private volatile StronglyConnectedComponents stronglyConnectedComponents;
+
+    public CompactDirectedGraph(Collection<DirectedGraphNode> nodes,
+                                DirectedGraphWeightFunction weightFunction) {
+        Objects.requireNonNull(nodes, "The input node collection is null.");
+        Objects.requireNonNull(weightFunction,
+                               "The input weight function is null.");
+
+        this.nodes = nodes.toArray(new DirectedGraphNode[nodes.size()]);
+        this.indexMap = new HashMap<>(this.nodes.length);
+        this.nodeIds = null;
+        this.sortedIndices = null;
+        this.size = this.nodes.length;
+
+        for (int i = 0; i < this.nodes.length; ++i) {
+            indexMap.put(this.nodes[i], i);
+        }
+
+        int[] offsets = new int[this.nodes.length + 1];
+        int arcCount = 0;
+
+        for (int i = 0; i < this.nodes.length; ++i) {
+            offsets[i] = arcCount;
+
+            for (DirectedGraphNode child : this.nodes[i].children()) {
+                if (indexMap.containsKey(child)) {
+                    ++arcCount;
+                }
+            }
+        }
+
+        offsets[this.nodes.length] = arcCount;
+
+        this.arcCount = arcCount;
+
+        int[] targets = new int[arcCount];
+        double[] weights = new double[arcCount];
+        int arc = 0;
+
+        for (DirectedGraphNode tail : this.nodes) {
+            for (DirectedGraphNode head : tail.children()) {
+                Integer headIndex = indexMap.get(head);
+
+                if (headIndex != null) {
+                    targets[arc] = headIndex;
+                    weights[arc] = weightFunction.get(tail, head);
+                    ++arc;
+                }
+            }
+        }
+
+        this.arcs = new ArrayArcStorage(offsets, targets, weights);
+    }
+
+    /**
+     * Constructs a snapshot directly from its CSR arrays, which are adopted 
+     * without copying.
+     *
+     * @param nodes   the node table.
+     * @param offsets the arc offsets of the nodes.
+     * @param targets the arc targets.
+     * @param weights the arc weights.
+     */
+    CompactDirectedGraph(DirectedGraphNode[] nodes,
+                         int[] offsets,
+                         int[] targets,
+                         double[] weights) {
+        this.size = nodes.length;
+        this.arcCount = targets.length;
+        this.nodes = nodes;
+        this.indexMap = new HashMap<>(nodes.length);
+
+        for (int i = 0; i < nodes.length; ++i) {
+            indexMap.put(nodes[i], i);
+        }
+
+        this.nodeIds = null;
+        this.sortedIndices = null;
+        this.arcs = new ArrayArcStorage(offsets, targets, weights);
+    }
+
+    /**
+     * Constructs a snapshot reading everything from the given buffers, which
+     * are adopted without copying. Arc buffers that merely wrap whole arrays
+     * are unwrapped, so that only the memory-mapped snapshots read their arcs
+     * through buffers.
+     *
+     * @param nodeIds       the node IDs in index order.
+     * @param sortedIndices the node indices in ascending node ID order.
+     * @param offsets       the arc offsets of the nodes.
+     * @param targets       the arc targets.
+     * @param weights       the arc weights.
+     */
+    CompactDirectedGraph(IntBuffer nodeIds,
+                         IntBuffer sortedIndices,
+                         IntBuffer offsets,
+                         IntBuffer targets,
+                         DoubleBuffer weights) {
+        this.size = nodeIds.limit();
+        this.arcCount = targets.limit();
+        this.nodes = null;
+        this.indexMap = null;
+        this.nodeIds = nodeIds;
+        this.sortedIndices = sortedIndices;
+        this.arcs = ArcStorage.of(offsets, targets, weights);
+    }
+
+    private CompactDirectedGraph(CompactDirectedGraph reverse,
+                                 int[] offsets,
+                                 int[] targets,
+                                 double[] weights) {
+        this.size = reverse.size;
+        this.arcCount = reverse.arcCount;
+        this.nodes = reverse.nodes;
+        this.indexMap = reverse.indexMap;
+        this.nodeIds = reverse.nodeIds;
+        this.sortedIndices = reverse.sortedIndices;
+        this.arcs = new ArrayArcStorage(offsets, targets, weights);
+        this.reverse = reverse;
+    }
+
+    /**
+     * Returns the snapshot of the reverse graph. The reverse arcs are built on
+     * the first call and cached afterwards.
+     *
+     * @return the reverse graph snapshot.
+     */
+    public synchronized CompactDirectedGraph reverse() {
+        if (reverse == null) {
+            int[] reverseOffsets = new int[size + 1];
+            int[] reverseTargets = new int[arcCount];
+            double[] reverseWeights = new double[arcCount];
+
+            for (int arc = 0; arc < arcCount; ++arc) {
+                ++reverseOffsets[target(arc) + 1];
+            }
+
+            for (int i = 0; i < size; ++i) {
+                reverseOffsets[i + 1] += reverseOffsets[i];
+            }
+
+            int[] next = Arrays.copyOf(reverseOffsets, size);
+
+            for (int tail = 0; tail < size; ++tail) {
+                for (int arc = childrenBegin(tail);
+                        arc < childrenEnd(tail);
+                        ++arc) {
+                    int reverseArc = next[target(arc)]++;
+                    reverseTargets[reverseArc] = tail;
+                    reverseWeights[reverseArc] = weight(arc);
+                }
+            }
+
+            reverse = new CompactDirectedGraph(this,
+                                               reverseOffsets,
+                                               reverseTargets,
+                                               reverseWeights);
+        }
+
+        return reverse;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int arcCount() {
+        return arcCount;
+    }
+
+    public DirectedGraphNode getNode(int index) {
+        if (nodes != null) {
+            return nodes[index];
+        }
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The index " + index + " is out of range [0, " + size +
+                    ").");
+        }
+
+        return new DirectedGraphNode(nodeIds.get(index));
+    }
+
+    /**
+     * Returns the ID of the node with the given index without materializing
+     * the node.
+     *
+     * @param index the node index.
+     * @return the node ID.
+     */
+    public int getNodeId(int index) {
+        return nodes != null ? nodes[index].getId() : nodeIds.get(index);
+    }
+
+    /**
+     * Returns {@code true} if {@link #getNode(int)} returns the node objects
+     * this snapshot was built from, or {@code false} if it materializes a new
+     * node on every call.
+     *
+     * @return {@code true} if this snapshot holds node objects.
+     */
+    public boolean hasNodeObjects() {
+        return nodes != null;
+    }
+
+    /**
+     * Returns an unmodifiable list of the nodes of this snapshot in index
+     * order.
+     *
+     * @return the node list.
+     */
+    public List<DirectedGraphNode> getNodeList() {
+        if (nodes != null) {
+            return Collections.unmodifiableList(Arrays.asList(nodes));
+        }
+
+        return new AbstractList<DirectedGraphNode>() {
+            @Override
+            public DirectedGraphNode get(int index) {
+                return getNode(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns the dense index of {@code node}, or {@code -1} if the node is not
+     * in this snapshot.
+     *
+     * @param node the node to look up.
+     * @return the index of the node or {@code -1}.
+     */
+    public int getIndex(DirectedGraphNode node) {
+        if (indexMap != null) {
+            Integer index = indexMap.get(node);
+            return index == null ? -1 : index;
+        }
+
+        int id = node.getId();
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int index = sortedIndices.get(middle);
+            int middleId = nodeIds.get(index);
+
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    public int childrenBegin(int index) {
+        return arcs.childrenBegin(index);
+    }
+
+    public int childrenEnd(int index) {
+        return arcs.childrenEnd(index);
+    }
+
+    /**
+     * Returns the arc from {@code tail} to {@code head}, or {@code -1} if there
+     * is no such arc. This scans the children of {@code tail}.
+     *
+     * @param tail the tail node index.
+     * @param head the head node index.
+     * @return the arc index or {@code -1}.
+     */
+    public int findArc(int tail, int head) {
+        for (int arc = childrenBegin(tail); arc < childrenEnd(tail); ++arc) {
+            if (target(arc) == head) {
+                return arc;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the largest arc weight if every arc weight is a non-negative
+     * integer not exceeding {@link Integer#MAX_VALUE}, or {@code -1} 
+     * otherwise. The arcs are scanned on the first call only.
+     *
+     * @return the maximum integer weight or {@code -1}.
+     */
+    public int getMaximumIntegerWeight() {
+        if (maximumIntegerWeight == UNKNOWN) {
+            int maximum = 0;
+
+            for (int arc = 0; arc < arcCount; ++arc) {
+                double weight = weight(arc);
+
+                if (weight < 0.0
+                        || weight > Integer.MAX_VALUE
+                        || weight != Math.rint(weight)) {
+                    maximum = -1;
+                    break;
+                }
+
+                maximum = Math.max(maximum, (int) weight);
+            }
+
+            maximumIntegerWeight = maximum;
+        }
+
+        return maximumIntegerWeight;
+    }
+
+    /**
+     * Splits this snapshot into the subgraphs induced by the node labels: the
+     * subgraph {@code p} contains the nodes labelled {@code p}, in index
+     * order, and the arcs between them. The arcs between nodes with different
+     * labels are dropped. This runs in time linear in the size of this
+     * snapshot.
+     *
+     * @param labels     the label of each node, in the range
+     *                   {@code [0, labelCount)}.
+     * @param labelCount the amount of labels.
+     * @return the induced subgraphs indexed by label.
+     */
+    public CompactDirectedGraph[] partition(int[] labels, int labelCount) {
+        Objects.requireNonNull(labels, "The input label array is null.");
+
+        if (labels.length != size) {
+            throw new IllegalArgumentException(
+                    "The label array length " + labels.length + 
+                    " does not match the graph size " + size + ".");
+        }
+
+        int[] partSizes = new int[labelCount];
+        int[] partArcCounts = new int[labelCount];
+        int[] localIndices = new int[size];
+
+        for (int i = 0; i < size; ++i) {
+            if (labels[i] < 0 || labels[i] >= labelCount) {
+                throw new IllegalArgumentException(
+                        "The label " + labels[i] + " of the node " + i + 
+                        " is out of range [0, " + labelCount + ").");
+            }
+
+            localIndices[i] = partSizes[labels[i]]++;
+        }
+
+        for (int tail = 0; tail < size; ++tail) {
+            for (int arc = childrenBegin(tail); 
+                    arc < childrenEnd(tail); 
+                    ++arc) {
+                if (labels[target(arc)] == labels[tail]) {
+                    ++partArcCounts[labels[tail]];
+                }
+            }
+        }
+
+        DirectedGraphNode[][] partNodes = new DirectedGraphNode[labelCount][];
+        int[][] partOffsets = new int[labelCount][];
+        int[][] partTargets = new int[labelCount][];
+        double[][] partWeights = new double[labelCount][];
+        int[] cursors = new int[labelCount];
+
+        for (int part = 0; part < labelCount; ++part) {
+            partNodes[part] = new DirectedGraphNode[partSizes[part]];
+            partOffsets[part] = new int[partSizes[part] + 1];
+            partTargets[part] = new int[partArcCounts[part]];
+            partWeights[part] = new double[partArcCounts[part]];
+        }
+
+        for (int tail = 0; tail < size; ++tail) {
+            int part = labels[tail];
+            int localTail = localIndices[tail];
+            partNodes[part][localTail] = getNode(tail);
+            partOffsets[part][localTail] = cursors[part];
+
+            for (int arc = childrenBegin(tail); 
+                    arc < childrenEnd(tail); 
+                    ++arc) {
+                int head = target(arc);
+
+                if (labels[head] == part) {
+                    partTargets[part][cursors[part]] = localIndices[head];
+                    partWeights[part][cursors[part]] = weight(arc);
+                    ++cursors[part];
+                }
+            }
+        }
+
+        CompactDirectedGraph[] parts = new CompactDirectedGraph[labelCount];
+
+        for (int part = 0; part < labelCount; ++part) {
+            partOffsets[part][partSizes[part]] = cursors[part];
+            parts[part] = new CompactDirectedGraph(partNodes[part],
+                                                   partOffsets[part],
+                                                   partTargets[part],
+                                                   partWeights[part]);
+        }
+
+        return parts;
+    }
+
+    /**
+     * Returns a copy of this snapshot renumbered by {@code ordering}, or this
+     * snapshot itself for {@link NodeOrdering#NONE}.
+     *
+     * @param ordering the node ordering.
+     * @return the renumbered snapshot.
+     */
+    public CompactDirectedGraph reorder(NodeOrdering ordering) {
+        Objects.requireNonNull(ordering, "The input ordering is null.");
+
+        if (ordering == NodeOrdering.NONE) {
+            return this;
+        }
+
+        return permute(ordering.computeOrder(this));
+    }
+
+    /**
+     * Returns a copy of this snapshot in which the node with the index
+     * {@code order[i]} has the index {@code i}. The arcs of each node keep
+     * their relative order. The copy holds its arcs in heap arrays even if
+     * this snapshot is memory-mapped.
+     *
+     * @param order the new node order, a permutation of
+     *              {@code 0, 1, ..., size() - 1}.
+     * @return the renumbered snapshot.
+     */
+    public CompactDirectedGraph permute(int[] order) {
+        Objects.requireNonNull(order, "The input order is null.");
+
+        if (order.length != size) {
+            throw new IllegalArgumentException(
+                    "The order length " + order.length + 
+                    " does not match the graph size " + size + ".");
+        }
+
+        int[] newIndices = new int[size];
+        Arrays.fill(newIndices, -1);
+
+        for (int i = 0; i < size; ++i) {
+            if (order[i] < 0 || order[i] >= size 
+                    || newIndices[order[i]] != -1) {
+                throw new IllegalArgumentException(
+                        "The order is not a permutation at position " + i +
+                        ".");
+            }
+
+            newIndices[order[i]] = i;
+        }
+
+        int[] newOffsets = new int[size + 1];
+        int[] newTargets = new int[arcCount];
+        double[] newWeights = new double[arcCount];
+        int newArc = 0;
+
+        for (int i = 0; i < size; ++i) {
+            newOffsets[i] = newArc;
+
+            for (int arc = childrenBegin(order[i]);
+                    arc < childrenEnd(order[i]);
+                    ++arc) {
+                newTargets[newArc] = newIndices[target(arc)];
+                newWeights[newArc] = weight(arc);
+                ++newArc;
+            }
+        }
+
+        newOffsets[size] = newArc;
+
+        if (nodes != null) {
+            DirectedGraphNode[] newNodes = new DirectedGraphNode[size];
+
+            for (int i = 0; i < size; ++i) {
+                newNodes[i] = nodes[order[i]];
+            }
+
+            return new CompactDirectedGraph(newNodes,
+                                            newOffsets,
+                                            newTargets,
+                                            newWeights);
+        }
+
+        int[] newNodeIds = new int[size];
+        int[] newSortedIndices = new int[size];
+
+        for (int i = 0; i < size; ++i) {
+            newNodeIds[i] = nodeIds.get(order[i]);
+            newSortedIndices[i] = newIndices[sortedIndices.get(i)];
+        }
+
+        return new CompactDirectedGraph(IntBuffer.wrap(newNodeIds),
+                                        IntBuffer.wrap(newSortedIndices),
+                                        IntBuffer.wrap(newOffsets),
+                                        IntBuffer.wrap(newTargets),
+                                        DoubleBuffer.wrap(newWeights));
+    }
+
+    /**
+     * Returns the fingerprint of this snapshot, computing it on the first
+     * call.
+     *
+     * @return the graph fingerprint.
+     */
+    public GraphFingerprint getFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = GraphFingerprint.of(this);
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Returns the strongly connected components of this snapshot, computing
+     * them on the first call.
+     *
+     * @return the strongly connected components.
+     */
+    public StronglyConnectedComponents getStronglyConnectedComponents() {
+        if (stronglyConnectedComponents == null) {
+            stronglyConnectedComponents = new StronglyConnectedComponents(this);
+        }
+
+        return stronglyConnectedComponents;
+    }
+
+    public int target(int arc) {
+        return arcs.target(arc);
+    }
+
+    public double weight(int arc) {
+        return arcs.weight(arc);
+    }
+
+    /**
+     * Stores the arcs of a snapshot. The snapshots built in memory all use
+     * {@link ArrayArcStorage}, so unless a memory-mapped snapshot is opened,
+     * the arc accessors see a single implementation.
+     */
+    private abstract static class ArcStorage {
+
+        abstract int childrenBegin(int index);
+
+        abstract int childrenEnd(int index);
+
+        abstract int target(int arc);
+
+        abstract double weight(int arc);
+
+        static ArcStorage of(IntBuffer offsets,
+                             IntBuffer targets,
+                             DoubleBuffer weights) {
+            if (wrapsWholeArray(offsets)
+                    && wrapsWholeArray(targets)
+                    && wrapsWholeArray(weights)) {
+                return new ArrayArcStorage(offsets.array(),
+                                           targets.array(),
+                                           weights.array());
+            }
+
+            return new BufferArcStorage(offsets, targets, weights);
+        }
+
+        private static boolean wrapsWholeArray(IntBuffer buffer) {
+            return buffer.hasArray()
+                    && buffer.arrayOffset() == 0
+                    && buffer.position() == 0
+                    && buffer.limit() == buffer.array().length;
+        }
+
+        private static boolean wrapsWholeArray(DoubleBuffer buffer) {
+            return buffer.hasArray()
+                    && buffer.arrayOffset() == 0
+                    && buffer.position() == 0
+                    && buffer.limit() == buffer.array().length;
+        }
+    }
+
+    private static final class ArrayArcStorage extends ArcStorage {
+
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] weights;
+
+        ArrayArcStorage(int[] offsets, int[] targets, double[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        @Override
+        int childrenBegin(int index) {
+            return offsets[index];
+        }
+
+        @Override
+        int childrenEnd(int index) {
+            return offsets[index + 1];
+        }
+
+        @Override
+        int target(int arc) {
+            return targets[arc];
+        }
+
+        @Override
+        double weight(int arc) {
+            return weights[arc];
+        }
+    }
+
+    private static final class BufferArcStorage extends ArcStorage {
+
+        private final IntBuffer offsets;
+        private final IntBuffer targets;
+        private final DoubleBuffer weights;
+
+        BufferArcStorage(IntBuffer offsets,
+                         IntBuffer targets,
+                         DoubleBuffer weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        @Override
+        int childrenBegin(int index) {
+            return offsets.get(index);
+        }
+
+        @Override
+        int childrenEnd(int index) {
+            return offsets.get(index + 1);
+        }
+
+        @Override
+        int target(int arc) {
+            return targets.get(arc);
+        }
+
+        @Override
+        double weight(int arc) {
+            return weights.get(arc);
+        }
+    }
+}
@@ -23,16 +23,29 @@ public final class DirectedGraphNode {
     private final Set<DirectedGraphNode> parentsWrapper =
             Collections.<DirectedGraphNode>unmodifiableSet(parents);
     
+    /**
+     * Counts the arcs added to or removed from this node in either direction.
+     */
+    private long modificationCount;
+    
     private String str;
     
     public DirectedGraphNode(int id) {
         this.id = id;
     }
     
+    public int getId() {
+        return id;
+    }
+    
     public void addChild(DirectedGraphNode child) {
         Objects.requireNonNull(child, "The child node is null.");
-        this.children.add(child);
-        child.parents.add(this);
+        
+        if (this.children.add(child)) {
+            child.parents.add(this);
+            ++this.modificationCount;
+            ++child.modificationCount;
+        }
     }
     
     public boolean hasChild(DirectedGraphNode child) {
@@ -44,9 +57,24 @@ public final class DirectedGraphNode {
         if (children.contains(child)) {
             children.remove(child);
             child.parents.remove(this);
+            ++this.modificationCount;
+            ++child.modificationCount;
         }
     }
     
+    /**
+     * Returns the amount of arcs added to or removed from this node so far,
+     * counting both the outgoing and the incoming ones. Any change to the
+     * arcs of a connected component bumps the count of at least one of its
+     * nodes, so caches built from the component compare the counts of its
+     * nodes to detect that it may have changed since.
+     * 
+     * @return the modification count of this node.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+    
     public Set<DirectedGraphNode> children() {
         return childrenWrapper;
     }
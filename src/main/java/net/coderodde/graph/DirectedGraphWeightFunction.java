@@ -1,28 +1,123 @@
 package net.coderodde.graph;
 
 import net.coderodde.graph.DirectedGraphNode;
-import java.util.HashMap;
-import java.util.Map;
+import net.coderodde.util.LongDoubleHashMap;
 
 /**
  * This class implements a directed graph weight function.
- * 
+ * <p>
+ * The weights are kept in a single {@link LongDoubleHashMap} keyed by the
+ * pair of the tail and the head node IDs, so looking up a weight costs one
+ * probe into a primitive array rather than two {@code HashMap} lookups and an
+ * unboxing.
+ *
  * @author Rodion "rodde" Efremov
- * @version 1.6 
+ * @version 1.6
  */
 public class DirectedGraphWeightFunction {
-   
-    private final Map<DirectedGraphNode, Map<DirectedGraphNode, Double>> map =
-            new HashMap<>();
-    
+
+    private final LongDoubleHashMap map = new LongDoubleHashMap();
+
+    private long modificationCount;
+
     public void put(DirectedGraphNode tail,
                     DirectedGraphNode head,
                     double weight) {
-        map.putIfAbsent(tail, new HashMap<DirectedGraphNode, Double>());
-        map.get(tail).put(head, weight);
+        map.put(key(tail, head), weight);
+        ++modificationCount;
+    }
+
+    /**
+     * Puts the weight of the arc from the node with the ID {@code tailId} to
+     * the node with the ID {@code headId}. This is the same as 
+     * {@link #put(DirectedGraphNode, DirectedGraphNode, double)}, but needs no
+     * node objects, as when the graph is an {@link IntDirectedGraph}.
+     *
+     * @param tailId the tail node ID.
+     * @param headId the head node ID.
+     * @param weight the arc weight.
+     */
+    public void put(int tailId, int headId, double weight) {
+        map.put(key(tailId, headId), weight);
+        ++modificationCount;
+    }
+
+    /**
+     * Puts the weight {@code weights[i]} of the arc from {@code tails[i]} to
+     * {@code heads[i]} for each {@code i}, growing the storage only once.
+     *
+     * @param tails   the tail nodes.
+     * @param heads   the head nodes.
+     * @param weights the arc weights.
+     */
+    public void putAll(DirectedGraphNode[] tails,
+                       DirectedGraphNode[] heads,
+                       double[] weights) {
+        if (tails.length != heads.length || tails.length != weights.length) {
+            throw new IllegalArgumentException(
+                    "The array lengths differ: " + tails.length + ", " +
+                    heads.length + ", " + weights.length + ".");
+        }
+
+        map.ensureCapacity(map.size() + tails.length);
+
+        for (int i = 0; i < tails.length; ++i) {
+            map.put(key(tails[i], heads[i]), weights[i]);
+        }
+
+        modificationCount += tails.length;
+    }
+
+    /**
+     * Returns the amount of weights put so far.
+     *
+     * @return the modification count.
+     */
+    public long getModificationCount() {
+        return modificationCount;
     }
-    
+
+    /**
+     * Returns the weight of the arc from {@code tail} to {@code head}.
+     *
+     * @param tail the tail node.
+     * @param head the head node.
+     * @return the arc weight.
+     * @throws IllegalArgumentException if the arc has no weight.
+     */
     public double get(DirectedGraphNode tail, DirectedGraphNode head) {
-        return map.get(tail).get(head);
+        return get(tail.getId(), head.getId());
+    }
+
+    /**
+     * Returns the weight of the arc between the nodes with the given IDs.
+     *
+     * @param tailId the tail node ID.
+     * @param headId the head node ID.
+     * @return the arc weight.
+     * @throws IllegalArgumentException if the arc has no weight.
+     */
+    public double get(int tailId, int headId) {
+        double weight = map.get(key(tailId, headId), Double.NaN);
+
+        if (Double.isNaN(weight) && !map.containsKey(key(tailId, headId))) {
+            throw new IllegalArgumentException(
+                    "There is no weight for the arc from " + tailId + 
+                    " to " + headId + ".");
+        }
+
+        return weight;
+    }
+
+    public boolean hasWeight(DirectedGraphNode tail, DirectedGraphNode head) {
+        return map.containsKey(key(tail, head));
+    }
+
+    private static long key(DirectedGraphNode tail, DirectedGraphNode head) {
+        return key(tail.getId(), head.getId());
+    }
+
+    private static long key(int tailId, int headId) {
+        return ((long) tailId << 32) | (headId & 0xFFFFFFFFL);
     }
 }
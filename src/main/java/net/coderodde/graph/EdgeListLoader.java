@@ -0,0 +1,712 @@
+package net.coderodde.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class loads a graph from an edge-list file. The file is memory-mapped
+ * in line-aligned chunks that are parsed in parallel straight from the mapped
+ * bytes, without allocating a {@code String} per line. Two formats are
+ * supported:
+ * <ul>
+ * <li>{@link Format#TEXT}: one arc per line as {@code tail head [weight]},
+ *     separated by spaces or tabs. The node IDs are {@code int}s, the weight
+ *     defaults to {@code 1.0}, and lines starting with {@code #} or {@code %}
+ *     are comments.</li>
+ * <li>{@link Format#BINARY}: a sequence of 16-byte little-endian records, each
+ *     holding the {@code int} tail ID, the {@code int} head ID and the
+ *     {@code double} weight.</li>
+ * </ul>
+ * The loader builds either the {@link DirectedGraphNode} objects along with a
+ * {@link DirectedGraphWeightFunction}, or a {@link CompactDirectedGraph}
+ * directly, skipping the node objects altogether. In both
+ * cases the node indices follow the ascending order of the node IDs. An arc
+ * appearing several times keeps its last weight in the node objects, but
+ * becomes parallel arcs in the compact graph, which does not change any
+ * shortest path.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class EdgeListLoader {
+
+    public enum Format {
+        TEXT,
+        BINARY
+    }
+
+    /**
+     * The size of a record in the binary format.
+     */
+    public static final int BINARY_RECORD_SIZE = 16;
+
+    /**
+     * The largest chunk mapped at a time.
+     */
+    private static final long MAXIMUM_CHUNK_SIZE = 1L << 30;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public EdgeListLoader() {
+        this(ForkJoinPool.commonPool(),
+             Runtime.getRuntime().availableProcessors());
+    }
+
+    public EdgeListLoader(ExecutorService executor, int parallelism) {
+        Objects.requireNonNull(executor, "The input executor is null.");
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive: " + parallelism + ".");
+        }
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads the file into a compact graph containing every node mentioned in
+     * the file.
+     *
+     * @param file   the edge-list file.
+     * @param format the file format.
+     * @return the compact graph.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    public CompactDirectedGraph loadCompactGraph(Path file, Format format)
+    throws IOException {
+        List<EdgeList> chunks = parse(file, format);
+        int[] ids = collectNodeIds(chunks);
+        int arcCount = 0;
+        int[] offsets = new int[ids.length + 1];
+
+        for (EdgeList chunk : chunks) {
+            for (int i = 0; i < chunk.size; ++i) {
+                ++offsets[chunk.tails[i] + 1];
+            }
+
+            arcCount += chunk.size;
+        }
+
+        for (int i = 0; i < ids.length; ++i) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] next = Arrays.copyOf(offsets, ids.length);
+        int[] targets = new int[arcCount];
+        double[] weights = new double[arcCount];
+
+        for (EdgeList chunk : chunks) {
+            for (int i = 0; i < chunk.size; ++i) {
+                int arc = next[chunk.tails[i]]++;
+                targets[arc] = chunk.heads[i];
+                weights[arc] = chunk.weights[i];
+            }
+        }
+
+        int[] sortedIndices = new int[ids.length];
+
+        for (int i = 0; i < ids.length; ++i) {
+            sortedIndices[i] = i;
+        }
+
+        // The node indices follow the ID order, so no node objects or ID map
+        // are needed.
+        return new CompactDirectedGraph(IntBuffer.wrap(ids),
+                                        IntBuffer.wrap(sortedIndices),
+                                        IntBuffer.wrap(offsets),
+                                        IntBuffer.wrap(targets),
+                                        DoubleBuffer.wrap(weights));
+    }
+
+    /**
+     * Loads the file into node objects, putting the arc weights into
+     * {@code weightFunction}.
+     *
+     * @param file           the edge-list file.
+     * @param format         the file format.
+     * @param weightFunction the weight function to fill.
+     * @return the list of all the nodes sorted by ID.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    public List<DirectedGraphNode>
+        loadNodes(Path file,
+                  Format format,
+                  DirectedGraphWeightFunction weightFunction)
+    throws IOException {
+        Objects.requireNonNull(weightFunction,
+                               "The input weight function is null.");
+        List<EdgeList> chunks = parse(file, format);
+        int[] ids = collectNodeIds(chunks);
+        DirectedGraphNode[] nodes = new DirectedGraphNode[ids.length];
+
+        for (int i = 0; i < ids.length; ++i) {
+            nodes[i] = new DirectedGraphNode(ids[i]);
+        }
+
+        for (EdgeList chunk : chunks) {
+            DirectedGraphNode[] tails = new DirectedGraphNode[chunk.size];
+            DirectedGraphNode[] heads = new DirectedGraphNode[chunk.size];
+
+            for (int i = 0; i < chunk.size; ++i) {
+                tails[i] = nodes[chunk.tails[i]];
+                heads[i] = nodes[chunk.heads[i]];
+                tails[i].addChild(heads[i]);
+            }
+
+            weightFunction.putAll(tails,
+                                  heads,
+                                  Arrays.copyOf(chunk.weights, chunk.size));
+        }
+
+        return Arrays.asList(nodes);
+    }
+
+    /**
+     * Parses the file in parallel chunks, in file order.
+     */
+    private List<EdgeList> parse(Path file, final Format format)
+    throws IOException {
+        Objects.requireNonNull(file, "The input file is null.");
+        Objects.requireNonNull(format, "The input format is null.");
+
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel, format);
+            List<Future<EdgeList>> futures = new ArrayList<>();
+
+            for (int i = 0; i + 1 < boundaries.length; ++i) {
+                final long begin = boundaries[i];
+                final MappedByteBuffer buffer =
+                        channel.map(FileChannel.MapMode.READ_ONLY,
+                                    begin,
+                                    boundaries[i + 1] - begin);
+
+                futures.add(executor.submit(new Callable<EdgeList>() {
+                    @Override
+                    public EdgeList call() throws IOException {
+                        return format == Format.TEXT ?
+                               new TextParser(buffer, begin).parse() :
+                               parseBinary(buffer);
+                    }
+                }));
+            }
+
+            return awaitAll(futures);
+        }
+    }
+
+    private long[] findChunkBoundaries(FileChannel channel, Format format)
+    throws IOException {
+        long size = channel.size();
+
+        if (format == Format.BINARY && size % BINARY_RECORD_SIZE != 0) {
+            throw new IOException(
+                    "The binary edge list size " + size + " is not a " +
+                    "multiple of " + BINARY_RECORD_SIZE + ".");
+        }
+
+        int chunkCount = (int) Math.max(
+                Math.min(parallelism, Math.max(1L, size / 4096L)),
+                (size + MAXIMUM_CHUNK_SIZE - 1) / MAXIMUM_CHUNK_SIZE);
+        long[] boundaries = new long[chunkCount + 1];
+        boundaries[chunkCount] = size;
+
+        for (int i = 1; i < chunkCount; ++i) {
+            long position = Math.max(size / chunkCount * i,
+                                     boundaries[i - 1]);
+
+            if (format == Format.BINARY) {
+                position -= position % BINARY_RECORD_SIZE;
+            } else {
+                position = findLineStart(channel, position);
+            }
+
+            boundaries[i] = position;
+        }
+
+        return boundaries;
+    }
+
+    /**
+     * Returns the position following the first line break at or after
+     * {@code position - 1}, or the file size if there is none.
+     */
+    private static long findLineStart(FileChannel channel, long position)
+    throws IOException {
+        if (position == 0L) {
+            return 0L;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        position--;
+
+        for (;;) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+
+            if (read <= 0) {
+                return channel.size();
+            }
+
+            for (int i = 0; i < read; ++i) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+    }
+
+    private static EdgeList parseBinary(MappedByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        EdgeList edgeList =
+                new EdgeList(buffer.limit() / BINARY_RECORD_SIZE);
+
+        for (int i = 0; i < buffer.limit(); i += BINARY_RECORD_SIZE) {
+            edgeList.add(buffer.getInt(i),
+                         buffer.getInt(i + 4),
+                         buffer.getDouble(i + 8));
+        }
+
+        return edgeList;
+    }
+
+    /**
+     * Returns the sorted distinct node IDs of all the chunks and replaces the
+     * IDs in the chunks by the node indices.
+     */
+    private int[] collectNodeIds(List<EdgeList> chunks) throws IOException {
+        int arcCount = 0;
+
+        for (EdgeList chunk : chunks) {
+            arcCount += chunk.size;
+        }
+
+        final NodeIdTable table = new NodeIdTable(arcCount);
+
+        for (EdgeList chunk : chunks) {
+            for (int i = 0; i < chunk.size; ++i) {
+                table.add(chunk.tails[i]);
+                table.add(chunk.heads[i]);
+            }
+        }
+
+        int[] ids = table.assignIndicesInIdOrder();
+        List<Future<EdgeList>> futures = new ArrayList<>(chunks.size());
+
+        for (final EdgeList chunk : chunks) {
+            futures.add(executor.submit(new Callable<EdgeList>() {
+                @Override
+                public EdgeList call() {
+                    for (int i = 0; i < chunk.size; ++i) {
+                        chunk.tails[i] = table.getIndex(chunk.tails[i]);
+                        chunk.heads[i] = table.getIndex(chunk.heads[i]);
+                    }
+
+                    return chunk;
+                }
+            }));
+        }
+
+        awaitAll(futures);
+        return ids;
+    }
+
+    private static <T> List<T> awaitAll(List<Future<T>> futures)
+    throws IOException {
+        List<T> results = new ArrayList<>(futures.size());
+
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } catch (InterruptedException ex) {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading.", ex);
+        } catch (ExecutionException ex) {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+
+            Throwable cause = ex.getCause();
+            Throwable wrapped = cause;
+
+            // ForkJoinPool wraps the checked exceptions of a Callable, and
+            // may wrap the wrapper again when rethrowing it across threads.
+            while (wrapped != null
+                    && wrapped.getClass() == RuntimeException.class) {
+                wrapped = wrapped.getCause();
+            }
+
+            if (wrapped instanceof IOException) {
+                throw (IOException) wrapped;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * A growable list of arcs in primitive arrays.
+     */
+    private static final class EdgeList {
+
+        int[] tails;
+        int[] heads;
+        double[] weights;
+        int size;
+
+        EdgeList(int capacity) {
+            capacity = Math.max(capacity, 16);
+            tails = new int[capacity];
+            heads = new int[capacity];
+            weights = new double[capacity];
+        }
+
+        void add(int tail, int head, double weight) {
+            if (size == tails.length) {
+                int capacity = size + (size >>> 1);
+                tails = Arrays.copyOf(tails, capacity);
+                heads = Arrays.copyOf(heads, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+
+            tails[size] = tail;
+            heads[size] = head;
+            weights[size] = weight;
+            ++size;
+        }
+    }
+
+    /**
+     * An open-addressing hash table mapping the node IDs to the node indices.
+     * Sorting only the distinct IDs is much cheaper than sorting all the arc
+     * endpoints.
+     */
+    private static final class NodeIdTable {
+
+        private static final int PHI = 0x9E3779B9;
+
+        private int[] ids;
+        private int[] indices;
+        private boolean[] used;
+        private int shift;
+        private int size;
+
+        NodeIdTable(int expectedSize) {
+            allocate(Integer.highestOneBit(Math.max(16, expectedSize)) << 1);
+        }
+
+        void add(int id) {
+            int slot = findSlot(id);
+
+            if (!used[slot]) {
+                used[slot] = true;
+                ids[slot] = id;
+
+                if (++size > ids.length >>> 1) {
+                    rehash();
+                }
+            }
+        }
+
+        /**
+         * Numbers the IDs in ascending order and returns them sorted.
+         */
+        int[] assignIndicesInIdOrder() {
+            int[] sortedIds = new int[size];
+            int count = 0;
+
+            for (int slot = 0; slot < ids.length; ++slot) {
+                if (used[slot]) {
+                    sortedIds[count++] = ids[slot];
+                }
+            }
+
+            Arrays.sort(sortedIds);
+
+            for (int i = 0; i < sortedIds.length; ++i) {
+                indices[findSlot(sortedIds[i])] = i;
+            }
+
+            return sortedIds;
+        }
+
+        int getIndex(int id) {
+            return indices[findSlot(id)];
+        }
+
+        private int findSlot(int id) {
+            int mask = ids.length - 1;
+            int slot = (id * PHI) >>> shift;
+
+            while (used[slot] && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+
+        private void rehash() {
+            int[] oldIds = ids;
+            boolean[] oldUsed = used;
+            allocate(oldIds.length << 1);
+
+            for (int slot = 0; slot < oldIds.length; ++slot) {
+                if (oldUsed[slot]) {
+                    int newSlot = findSlot(oldIds[slot]);
+                    used[newSlot] = true;
+                    ids[newSlot] = oldIds[slot];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            ids = new int[capacity];
+            indices = new int[capacity];
+            used = new boolean[capacity];
+            shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        }
+    }
+
+    /**
+     * Parses a line-aligned chunk of a text edge list.
+     */
+    private static final class TextParser {
+
+        private final ByteBuffer buffer;
+        private final long offset;
+        private final int limit;
+        private int position;
+
+        TextParser(ByteBuffer buffer, long offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.limit = buffer.limit();
+        }
+
+        EdgeList parse() throws IOException {
+            // Assume about 16 bytes per line.
+            EdgeList edgeList = new EdgeList(limit / 16);
+
+            while (position < limit) {
+                skipBlanks();
+
+                if (position == limit) {
+                    break;
+                }
+
+                byte c = buffer.get(position);
+
+                if (c == '\n') {
+                    ++position;
+                    continue;
+                }
+
+                if (c == '#' || c == '%') {
+                    skipLine();
+                    continue;
+                }
+
+                int tail = parseInt();
+                expectBlank();
+                int head = parseInt();
+                skipBlanks();
+                double weight = 1.0;
+
+                if (position < limit && buffer.get(position) != '\n') {
+                    weight = parseDouble();
+                    skipBlanks();
+
+                    if (position < limit && buffer.get(position) != '\n') {
+                        throw malformed();
+                    }
+                }
+
+                edgeList.add(tail, head, weight);
+            }
+
+            return edgeList;
+        }
+
+        private int parseInt() throws IOException {
+            boolean negative = false;
+
+            if (position < limit && buffer.get(position) == '-') {
+                negative = true;
+                ++position;
+            }
+
+            int begin = position;
+            long value = 0L;
+
+            while (position < limit) {
+                int digit = buffer.get(position) - '0';
+
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+
+                value = 10L * value + digit;
+
+                if (value > (long) Integer.MAX_VALUE + 1L) {
+                    throw malformed();
+                }
+
+                ++position;
+            }
+
+            if (position == begin) {
+                throw malformed();
+            }
+
+            value = negative ? -value : value;
+
+            if (value > Integer.MAX_VALUE) {
+                throw malformed();
+            }
+
+            return (int) value;
+        }
+
+        /**
+         * Parses plain decimals exactly via a single division, and hands
+         * anything else to {@link Double#parseDouble(String)}.
+         */
+        private double parseDouble() throws IOException {
+            int begin = position;
+            boolean negative = false;
+            boolean simple = true;
+            boolean hasDigit = false;
+            long mantissa = 0L;
+            int digitCount = 0;
+            int scale = 0;
+
+            if (buffer.get(position) == '-' || buffer.get(position) == '+') {
+                negative = buffer.get(position) == '-';
+                ++position;
+            }
+
+            boolean fraction = false;
+
+            for (; position < limit && !isDelimiter(buffer.get(position));
+                   ++position) {
+                byte c = buffer.get(position);
+
+                if (c == '.' && !fraction) {
+                    fraction = true;
+                } else if (c >= '0' && c <= '9' && digitCount < 15) {
+                    hasDigit = true;
+                    mantissa = 10L * mantissa + (c - '0');
+
+                    if (mantissa != 0L) {
+                        ++digitCount;
+                    }
+
+                    if (fraction) {
+                        ++scale;
+                    }
+                } else {
+                    simple = false;
+                }
+            }
+
+            // A lone sign or point is no number, so it is left to
+            // Double.parseDouble to reject.
+            if (simple && hasDigit && scale < POWERS_OF_TEN.length) {
+                double value = mantissa / POWERS_OF_TEN[scale];
+                return negative ? -value : value;
+            }
+
+            String token = new String(bytes(begin, position),
+                                      StandardCharsets.US_ASCII);
+
+            try {
+                return Double.parseDouble(token);
+            } catch (NumberFormatException ex) {
+                throw malformed();
+            }
+        }
+
+        private byte[] bytes(int begin, int end) {
+            byte[] bytes = new byte[end - begin];
+
+            for (int i = begin; i < end; ++i) {
+                bytes[i - begin] = buffer.get(i);
+            }
+
+            return bytes;
+        }
+
+        private void expectBlank() throws IOException {
+            int begin = position;
+            skipBlanks();
+
+            if (position == begin) {
+                throw malformed();
+            }
+        }
+
+        private void skipBlanks() {
+            while (position < limit) {
+                byte c = buffer.get(position);
+
+                if (c != ' ' && c != '\t' && c != '\r') {
+                    break;
+                }
+
+                ++position;
+            }
+        }
+
+        private void skipLine() {
+            while (position < limit && buffer.get(position++) != '\n') {
+            }
+        }
+
+        private static boolean isDelimiter(byte c) {
+            return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+        }
+
+        private IOException malformed() {
+            return new IOException(
+                    "Malformed edge list at byte " + (offset + position) +
+                    ".");
+        }
+    }
+}
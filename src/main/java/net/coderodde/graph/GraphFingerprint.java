@@ -0,0 +1,131 @@
+package net.coderodde.graph;
+
+/**
+ * This class implements a 128-bit fingerprint of a weighted directed graph.
+ * The fingerprint covers the node IDs, the arcs and the exact bits of the arc
+ * weights, but not the order of the nodes: every node and every arc
+ * contributes a hash that is summed up, so two snapshots of the same component
+ * taken from different representatives have equal fingerprints.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class GraphFingerprint {
+
+    private static final long SEED1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long SEED3 = 0x165667B19E3779F9L;
+
+    private final int nodeCount;
+    private final int arcCount;
+    private final long hash1;
+    private final long hash2;
+
+    public GraphFingerprint(int nodeCount,
+                            int arcCount,
+                            long hash1,
+                            long hash2) {
+        this.nodeCount = nodeCount;
+        this.arcCount = arcCount;
+        this.hash1 = hash1;
+        this.hash2 = hash2;
+    }
+
+    /**
+     * Computes the fingerprint of {@code graph}.
+     *
+     * @param graph the graph to fingerprint.
+     * @return the fingerprint.
+     */
+    public static GraphFingerprint of(CompactDirectedGraph graph) {
+        long hash1 = 0L;
+        long hash2 = 0L;
+
+        for (int tail = 0; tail < graph.size(); ++tail) {
+            int tailId = graph.getNodeId(tail);
+            long nodeHash = mix(tailId ^ SEED3);
+            hash1 += nodeHash;
+            hash2 += mix(nodeHash ^ SEED2);
+
+            for (int arc = graph.childrenBegin(tail);
+                    arc < graph.childrenEnd(tail);
+                    ++arc) {
+                int headId = graph.getNodeId(graph.target(arc));
+                long arcHash =
+                        mix((((long) tailId << 32) | (headId & 0xFFFFFFFFL))
+                            ^ mix(Double.doubleToLongBits(graph.weight(arc))
+                                  + SEED1));
+                hash1 += arcHash;
+                hash2 += mix(arcHash ^ SEED2);
+            }
+        }
+
+        return new GraphFingerprint(graph.size(),
+                                    graph.arcCount(),
+                                    hash1,
+                                    hash2);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getArcCount() {
+        return arcCount;
+    }
+
+    public long getHash1() {
+        return hash1;
+    }
+
+    public long getHash2() {
+        return hash2;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash1 ^ (hash1 >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null) {
+            return false;
+        }
+
+        if (!getClass().equals(o.getClass())) {
+            return false;
+        }
+
+        GraphFingerprint other = (GraphFingerprint) o;
+        return nodeCount == other.nodeCount
+                && arcCount == other.arcCount
+                && hash1 == other.hash1
+                && hash2 == other.hash2;
+    }
+
+    /**
+     * Returns the fingerprint as a string of hexadecimal digits and dashes,
+     * usable as a file name.
+     *
+     * @return the textual fingerprint.
+     */
+    @Override
+    public String toString() {
+        return Integer.toHexString(nodeCount) + "-" +
+               Integer.toHexString(arcCount) + "-" +
+               String.format("%016x%016x", hash1, hash2);
+    }
+
+    /**
+     * The finalizer of the 64-bit MurmurHash3.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,325 @@
+package net.coderodde.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * This class writes {@link CompactDirectedGraph}s to a versioned binary file
+ * and reopens them by memory-mapping. The reopened snapshot reads its node
+ * table and arcs directly from the mapped file, so opening costs a few
+ * {@code mmap} calls regardless of the graph size, and the center finders
+ * run on the mapped buffers as on any other snapshot.
+ * <p>
+ * The file consists of a 24-byte header followed by five sections, each
+ * padded to a multiple of eight bytes. All values are little-endian.
+ * <pre>
+ * int    magic           0x47435347 ("GSCG" when read little-endian)
+ * int    version         {@value #VERSION}
+ * long   nodeCount       n
+ * long   arcCount        m
+ * int    nodeIds[n]      the node IDs in index order
+ * int    sortedIndices[n] the node indices in ascending ID order
+ * int    offsets[n + 1]  the first arc of each node
+ * int    targets[m]      the arc heads
+ * double weights[m]      the arc weights
+ * </pre>
+ * Since each section is mapped as a single buffer, the weights section
+ * limits a snapshot to {@code 2^28 - 1} arcs.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class GraphSnapshotFile {
+
+    public static final int MAGIC = 0x47435347;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 24;
+    private static final long MAXIMUM_SECTION_SIZE = Integer.MAX_VALUE;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private GraphSnapshotFile() {}
+
+    /**
+     * Writes the snapshot of the given nodes to {@code file}, replacing any
+     * previous content.
+     *
+     * @param nodes          the nodes to write.
+     * @param weightFunction the weight function.
+     * @param file           the target file.
+     * @throws IOException if writing fails.
+     */
+    public static void write(Collection<DirectedGraphNode> nodes,
+                             DirectedGraphWeightFunction weightFunction,
+                             Path file) throws IOException {
+        write(new CompactDirectedGraph(nodes, weightFunction), file);
+    }
+
+    public static void write(CompactDirectedGraph graph, Path file)
+    throws IOException {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(file, "The input file is null.");
+        checkSectionSize(8L * graph.arcCount());
+
+        try (FileChannel channel =
+                FileChannel.open(file,
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.TRUNCATE_EXISTING,
+                                 StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            int size = graph.size();
+
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putLong(size);
+            buffer.putLong(graph.arcCount());
+
+            for (int i = 0; i < size; ++i) {
+                putInt(channel, buffer, graph.getNodeId(i));
+            }
+
+            pad(channel, buffer);
+
+            for (int index : sortIndicesById(graph)) {
+                putInt(channel, buffer, index);
+            }
+
+            pad(channel, buffer);
+
+            for (int i = 0; i < size; ++i) {
+                putInt(channel, buffer, graph.childrenBegin(i));
+            }
+
+            putInt(channel, buffer, graph.arcCount());
+            pad(channel, buffer);
+
+            for (int arc = 0; arc < graph.arcCount(); ++arc) {
+                putInt(channel, buffer, graph.target(arc));
+            }
+
+            pad(channel, buffer);
+
+            for (int arc = 0; arc < graph.arcCount(); ++arc) {
+                if (buffer.remaining() < 8) {
+                    flush(channel, buffer);
+                }
+
+                buffer.putDouble(graph.weight(arc));
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Memory-maps a snapshot written by {@link #write}.
+     *
+     * @param file the snapshot file.
+     * @return the mapped snapshot.
+     * @throws IOException if the file cannot be read or is not a valid
+     *                     snapshot.
+     */
+    public static CompactDirectedGraph open(Path file) throws IOException {
+        Objects.requireNonNull(file, "The input file is null.");
+
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(file + " is not a graph snapshot.");
+            }
+
+            ByteBuffer header = map(channel, 0L, HEADER_SIZE);
+
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a graph snapshot.");
+            }
+
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(
+                        "Unsupported snapshot version " + header.getInt(4) +
+                        " in " + file + ".");
+            }
+
+            long nodeCount = header.getLong(8);
+            long arcCount = header.getLong(16);
+
+            if (nodeCount < 0L || nodeCount >= Integer.MAX_VALUE
+                    || arcCount < 0L || 8L * arcCount > MAXIMUM_SECTION_SIZE) {
+                throw new IOException("Corrupt snapshot header in " + file +
+                                      ".");
+            }
+
+            long nodeIdsPosition = HEADER_SIZE;
+            long sortedIndicesPosition =
+                    nodeIdsPosition + padded(4L * nodeCount);
+            long offsetsPosition =
+                    sortedIndicesPosition + padded(4L * nodeCount);
+            long targetsPosition =
+                    offsetsPosition + padded(4L * (nodeCount + 1));
+            long weightsPosition =
+                    targetsPosition + padded(4L * arcCount);
+            long expectedSize = weightsPosition + 8L * arcCount;
+
+            if (channel.size() != expectedSize) {
+                throw new IOException(
+                        "The snapshot " + file + " has " + channel.size() +
+                        " bytes instead of " + expectedSize + ".");
+            }
+
+            IntBuffer nodeIds =
+                    map(channel, nodeIdsPosition, 4L * nodeCount)
+                            .asIntBuffer();
+            IntBuffer sortedIndices =
+                    map(channel, sortedIndicesPosition, 4L * nodeCount)
+                            .asIntBuffer();
+            IntBuffer offsets =
+                    map(channel, offsetsPosition, 4L * (nodeCount + 1))
+                            .asIntBuffer();
+            IntBuffer targets =
+                    map(channel, targetsPosition, 4L * arcCount)
+                            .asIntBuffer();
+
+            checkSections(nodeIds, sortedIndices, offsets, targets, file);
+
+            return new CompactDirectedGraph(
+                    nodeIds,
+                    sortedIndices,
+                    offsets,
+                    targets,
+                    map(channel, weightsPosition, 8L * arcCount)
+                            .asDoubleBuffer());
+        }
+    }
+
+    /**
+     * Checks in one linear pass that the sorted indices list every node once
+     * in strictly ascending ID order, that the offsets ascend from zero to
+     * the arc count, and that every target is a node index, so that a corrupt
+     * file fails here rather than inside a search.
+     */
+    private static void checkSections(IntBuffer nodeIds,
+                                      IntBuffer sortedIndices,
+                                      IntBuffer offsets,
+                                      IntBuffer targets,
+                                      Path file) throws IOException {
+        int nodeCount = nodeIds.limit();
+        int arcCount = targets.limit();
+
+        for (int i = 0; i < nodeCount; ++i) {
+            int index = sortedIndices.get(i);
+
+            // Strictly ascending IDs also rule out repeated indices.
+            if (index < 0 || index >= nodeCount
+                    || (i > 0 && nodeIds.get(sortedIndices.get(i - 1))
+                                 >= nodeIds.get(index))) {
+                throw corrupt("sorted index", i, file);
+            }
+        }
+
+        if (offsets.get(0) != 0 || offsets.get(nodeCount) != arcCount) {
+            throw corrupt("offset", offsets.get(0) != 0 ? 0 : nodeCount, file);
+        }
+
+        for (int i = 0; i < nodeCount; ++i) {
+            if (offsets.get(i) > offsets.get(i + 1)) {
+                throw corrupt("offset", i + 1, file);
+            }
+        }
+
+        for (int arc = 0; arc < arcCount; ++arc) {
+            int target = targets.get(arc);
+
+            if (target < 0 || target >= nodeCount) {
+                throw corrupt("target", arc, file);
+            }
+        }
+    }
+
+    private static IOException corrupt(String entry, int position, Path file) {
+        return new IOException("Corrupt " + entry + " at position " +
+                               position + " in the snapshot " + file + ".");
+    }
+
+    private static int[] sortIndicesById(CompactDirectedGraph graph) {
+        // The ID in the upper half keeps the signed order of the IDs.
+        long[] keys = new long[graph.size()];
+
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = ((long) graph.getNodeId(i) << 32) | i;
+        }
+
+        Arrays.sort(keys);
+        int[] indices = new int[keys.length];
+
+        for (int i = 0; i < keys.length; ++i) {
+            indices[i] = (int) keys[i];
+        }
+
+        return indices;
+    }
+
+    private static ByteBuffer map(FileChannel channel,
+                                  long position,
+                                  long size) throws IOException {
+        checkSectionSize(size);
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size)
+                      .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void checkSectionSize(long size) throws IOException {
+        if (size > MAXIMUM_SECTION_SIZE) {
+            throw new IOException(
+                    "A snapshot section of " + size + " bytes exceeds the " +
+                    "limit of " + MAXIMUM_SECTION_SIZE + " bytes.");
+        }
+    }
+
+    private static long padded(long size) {
+        return (size + 7L) & ~7L;
+    }
+
+    private static void putInt(FileChannel channel,
+                               ByteBuffer buffer,
+                               int value) throws IOException {
+        if (buffer.remaining() < 4) {
+            flush(channel, buffer);
+        }
+
+        buffer.putInt(value);
+    }
+
+    /**
+     * Pads the output written so far to a multiple of eight bytes. This works
+     * because the write buffer size is a multiple of eight.
+     */
+    private static void pad(FileChannel channel, ByteBuffer buffer)
+    throws IOException {
+        while (buffer.position() % 8 != 0) {
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer)
+    throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
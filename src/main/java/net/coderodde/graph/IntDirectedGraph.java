@@ -0,0 +1,398 @@
+package net.coderodde.graph;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements a lightweight directed graph whose nodes are the
+ * integers {@code 0, 1, ..., size() - 1}. It offers the arc operations of
+ * {@link DirectedGraphNode} without a node object per node: the children and
+ * the parents of each node are kept in growable {@code int} arrays, so an arc
+ * costs two {@code int}s plus the slack of the arrays, which
+ * {@link #trimToSize()} removes. As with {@code DirectedGraphNode}, there are
+ * no parallel arcs and the children and parents of a node are listed in the
+ * order they were added in.
+ * <p>
+ * The adjacency is read through {@link #getChildCount(int)} and
+ * {@link #getChild(int, int)} (and their parent counterparts), which allocate
+ * nothing. {@link #hasChild(int, int)} and the modifications scan the shorter
+ * of the two adjacency lists involved.
+ * <p>
+ * The index of a node doubles as its ID: {@link #toCompactGraph} builds
+ * snapshots whose nodes are the {@code DirectedGraphNode}s with these IDs,
+ * materialized on demand, with the weights looked up by ID in the weight
+ * function (see {@link DirectedGraphWeightFunction#put(int, int, double)}).
+ * This class is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class IntDirectedGraph {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int DEFAULT_NODE_CAPACITY = 16;
+    private static final int MINIMUM_ARC_CAPACITY = 2;
+
+    private int[][] children;
+    private int[] childCounts;
+    private int[][] parents;
+    private int[] parentCounts;
+    private int size;
+    private long arcCount;
+    private long modificationCount;
+
+    public IntDirectedGraph() {
+        this(0);
+    }
+
+    /**
+     * Constructs a graph of {@code size} nodes and no arcs.
+     *
+     * @param size the initial amount of nodes.
+     */
+    public IntDirectedGraph(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(
+                    "The graph size is negative: " + size + ".");
+        }
+
+        int capacity = Math.max(size, DEFAULT_NODE_CAPACITY);
+        this.children = new int[capacity][];
+        this.childCounts = new int[capacity];
+        this.parents = new int[capacity][];
+        this.parentCounts = new int[capacity];
+        this.size = size;
+        Arrays.fill(children, EMPTY);
+        Arrays.fill(parents, EMPTY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long arcCount() {
+        return arcCount;
+    }
+
+    /**
+     * Returns the amount of arcs added or removed so far.
+     *
+     * @return the modification count.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Adds a new node without arcs.
+     *
+     * @return the index of the new node.
+     */
+    public int addNode() {
+        if (size == children.length) {
+            int capacity = children.length + (children.length >> 1) + 1;
+            children = Arrays.copyOf(children, capacity);
+            childCounts = Arrays.copyOf(childCounts, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            parentCounts = Arrays.copyOf(parentCounts, capacity);
+            Arrays.fill(children, size, capacity, EMPTY);
+            Arrays.fill(parents, size, capacity, EMPTY);
+        }
+
+        return size++;
+    }
+
+    /**
+     * Adds the arc from {@code tail} to {@code head} unless it is already
+     * present.
+     *
+     * @param tail the tail node index.
+     * @param head the head node index.
+     * @return {@code true} if the arc was added.
+     */
+    public boolean addChild(int tail, int head) {
+        if (hasChild(tail, head)) {
+            return false;
+        }
+
+        children[tail] = append(children[tail], childCounts[tail]++, head);
+        parents[head] = append(parents[head], parentCounts[head]++, tail);
+        ++arcCount;
+        ++modificationCount;
+        return true;
+    }
+
+    public boolean hasChild(int tail, int head) {
+        checkIndex(tail);
+        checkIndex(head);
+
+        if (childCounts[tail] <= parentCounts[head]) {
+            return indexOf(children[tail], childCounts[tail], head) != -1;
+        }
+
+        return indexOf(parents[head], parentCounts[head], tail) != -1;
+    }
+
+    /**
+     * Removes the arc from {@code tail} to {@code head} if it is present.
+     *
+     * @param tail the tail node index.
+     * @param head the head node index.
+     * @return {@code true} if the arc was removed.
+     */
+    public boolean removeChild(int tail, int head) {
+        checkIndex(tail);
+        checkIndex(head);
+        int childIndex = indexOf(children[tail], childCounts[tail], head);
+
+        if (childIndex == -1) {
+            return false;
+        }
+
+        int parentIndex = indexOf(parents[head], parentCounts[head], tail);
+        remove(children[tail], childCounts[tail]--, childIndex);
+        remove(parents[head], parentCounts[head]--, parentIndex);
+        --arcCount;
+        ++modificationCount;
+        return true;
+    }
+
+    public int getChildCount(int node) {
+        checkIndex(node);
+        return childCounts[node];
+    }
+
+    /**
+     * Returns the {@code index}th child of {@code node} in the order the
+     * children were added in.
+     *
+     * @param node  the node index.
+     * @param index the index of the child, in the range
+     *              {@code [0, getChildCount(node))}.
+     * @return the index of the child node.
+     */
+    public int getChild(int node, int index) {
+        checkIndex(node);
+
+        if (index < 0 || index >= childCounts[node]) {
+            throw new IndexOutOfBoundsException(
+                    "The child index " + index + " is out of range [0, " +
+                    childCounts[node] + ").");
+        }
+
+        return children[node][index];
+    }
+
+    public int getParentCount(int node) {
+        checkIndex(node);
+        return parentCounts[node];
+    }
+
+    /**
+     * Returns the {@code index}th parent of {@code node} in the order the
+     * parents were added in.
+     *
+     * @param node  the node index.
+     * @param index the index of the parent, in the range
+     *              {@code [0, getParentCount(node))}.
+     * @return the index of the parent node.
+     */
+    public int getParent(int node, int index) {
+        checkIndex(node);
+
+        if (index < 0 || index >= parentCounts[node]) {
+            throw new IndexOutOfBoundsException(
+                    "The parent index " + index + " is out of range [0, " +
+                    parentCounts[node] + ").");
+        }
+
+        return parents[node][index];
+    }
+
+    /**
+     * Shrinks every adjacency array and the node table to their exact sizes.
+     */
+    public void trimToSize() {
+        for (int node = 0; node < size; ++node) {
+            children[node] = trim(children[node], childCounts[node]);
+            parents[node] = trim(parents[node], parentCounts[node]);
+        }
+
+        children = Arrays.copyOf(children, size);
+        childCounts = Arrays.copyOf(childCounts, size);
+        parents = Arrays.copyOf(parents, size);
+        parentCounts = Arrays.copyOf(parentCounts, size);
+    }
+
+    /**
+     * Returns the indices of the nodes in the weakly connected component of
+     * {@code node}, in ascending order.
+     *
+     * @param node the node index.
+     * @return the sorted component node indices.
+     */
+    public int[] findConnectedComponent(int node) {
+        checkIndex(node);
+        boolean[] visited = new boolean[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+
+        visited[node] = true;
+        queue[tail++] = node;
+
+        while (head < tail) {
+            int current = queue[head++];
+
+            for (int i = 0; i < childCounts[current]; ++i) {
+                int child = children[current][i];
+
+                if (!visited[child]) {
+                    visited[child] = true;
+                    queue[tail++] = child;
+                }
+            }
+
+            for (int i = 0; i < parentCounts[current]; ++i) {
+                int parent = parents[current][i];
+
+                if (!visited[parent]) {
+                    visited[parent] = true;
+                    queue[tail++] = parent;
+                }
+            }
+        }
+
+        int[] component = Arrays.copyOf(queue, tail);
+        Arrays.sort(component);
+        return component;
+    }
+
+    /**
+     * Builds the snapshot of the whole graph.
+     *
+     * @param weightFunction the weight function.
+     * @return the graph snapshot.
+     */
+    public CompactDirectedGraph
+        toCompactGraph(DirectedGraphWeightFunction weightFunction) {
+        int[] nodes = new int[size];
+
+        for (int node = 0; node < size; ++node) {
+            nodes[node] = node;
+        }
+
+        return toCompactGraph(nodes, weightFunction);
+    }
+
+    /**
+     * Builds the snapshot of the subgraph induced by {@code nodes}, such as a
+     * component returned by {@link #findConnectedComponent(int)}. The node
+     * {@code nodes[i]} gets the index {@code i} in the snapshot.
+     *
+     * @param nodes          the node indices in strictly ascending order.
+     * @param weightFunction the weight function.
+     * @return the subgraph snapshot.
+     */
+    public CompactDirectedGraph
+        toCompactGraph(int[] nodes,
+                       DirectedGraphWeightFunction weightFunction) {
+        Objects.requireNonNull(nodes, "The input node array is null.");
+        Objects.requireNonNull(weightFunction,
+                               "The input weight function is null.");
+
+        for (int i = 0; i < nodes.length; ++i) {
+            checkIndex(nodes[i]);
+
+            if (i > 0 && nodes[i - 1] >= nodes[i]) {
+                throw new IllegalArgumentException(
+                        "The node indices are not strictly ascending at " +
+                        "position " + i + ".");
+            }
+        }
+
+        int[] offsets = new int[nodes.length + 1];
+
+        for (int i = 0; i < nodes.length; ++i) {
+            int count = 0;
+
+            for (int j = 0; j < childCounts[nodes[i]]; ++j) {
+                if (Arrays.binarySearch(nodes,
+                                        children[nodes[i]][j]) >= 0) {
+                    ++count;
+                }
+            }
+
+            offsets[i + 1] = offsets[i] + count;
+        }
+
+        int[] targets = new int[offsets[nodes.length]];
+        double[] weights = new double[targets.length];
+        int[] sortedIndices = new int[nodes.length];
+        int arc = 0;
+
+        for (int i = 0; i < nodes.length; ++i) {
+            int tail = nodes[i];
+            sortedIndices[i] = i;
+
+            for (int j = 0; j < childCounts[tail]; ++j) {
+                int head = children[tail][j];
+                int headIndex = Arrays.binarySearch(nodes, head);
+
+                if (headIndex >= 0) {
+                    targets[arc] = headIndex;
+                    weights[arc] = weightFunction.get(tail, head);
+                    ++arc;
+                }
+            }
+        }
+
+        // The node IDs are the node indices, so they are sorted already.
+        return new CompactDirectedGraph(IntBuffer.wrap(nodes.clone()),
+                                        IntBuffer.wrap(sortedIndices),
+                                        IntBuffer.wrap(offsets),
+                                        IntBuffer.wrap(targets),
+                                        DoubleBuffer.wrap(weights));
+    }
+
+    private void checkIndex(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The node index " + node + " is out of range [0, " +
+                    size + ").");
+        }
+    }
+
+    private static int[] append(int[] array, int count, int value) {
+        if (count == array.length) {
+            array = Arrays.copyOf(array,
+                                  Math.max(MINIMUM_ARC_CAPACITY,
+                                           count + (count >> 1)));
+        }
+
+        array[count] = value;
+        return array;
+    }
+
+    private static void remove(int[] array, int count, int index) {
+        System.arraycopy(array, index + 1, array, index, count - index - 1);
+    }
+
+    private static int indexOf(int[] array, int count, int value) {
+        for (int i = 0; i < count; ++i) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int[] trim(int[] array, int count) {
+        return count == 0 ? EMPTY :
+               count == array.length ? array :
+               Arrays.copyOf(array, count);
+    }
+}
@@ -0,0 +1,194 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This enumeration lists the node orderings a {@link CompactDirectedGraph} can
+ * be renumbered by (see {@link CompactDirectedGraph#reorder(NodeOrdering)}).
+ * A good ordering puts the nodes a search visits together at nearby indices,
+ * so that the distance arrays and the arcs it touches share cache lines. The
+ * orderings other than {@link #NONE} ignore arc directions and treat each
+ * parent as a neighbour just like each child.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public enum NodeOrdering {
+
+    /**
+     * Keeps the current order.
+     */
+    NONE {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph) {
+            int[] order = new int[graph.size()];
+
+            for (int i = 0; i < order.length; ++i) {
+                order[i] = i;
+            }
+
+            return order;
+        }
+    },
+
+    /**
+     * Lists the nodes in breadth-first order from the node with the smallest
+     * index.
+     */
+    BFS {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph) {
+            int[] roots = NONE.computeOrder(graph);
+            return traverse(graph, roots, null);
+        }
+    },
+
+    /**
+     * Reverse Cuthill–McKee: a breadth-first order from a node of minimum
+     * degree, in which the new neighbours of each node are listed by
+     * ascending degree, reversed at the end. It keeps the neighbours of each
+     * node within a narrow band of indices.
+     */
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph) {
+            int[] degrees = computeDegrees(graph);
+            int[] roots = NONE.computeOrder(graph);
+            sortByDegree(roots, 0, roots.length, degrees, false);
+
+            int[] order = traverse(graph, roots, degrees);
+
+            for (int i = 0, j = order.length - 1; i < j; ++i, --j) {
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+
+            return order;
+        }
+    },
+
+    /**
+     * Lists the nodes by descending degree, so that the hubs most searches
+     * pass through share the first cache lines.
+     */
+    HUB_FIRST {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph) {
+            int[] order = NONE.computeOrder(graph);
+            sortByDegree(order, 0, order.length, computeDegrees(graph), true);
+            return order;
+        }
+    };
+
+    /**
+     * Computes the order of the nodes of {@code graph}: the node with the
+     * index {@code order[i]} is to get the index {@code i}.
+     *
+     * @param graph the graph to order.
+     * @return the new node order.
+     */
+    public abstract int[] computeOrder(CompactDirectedGraph graph);
+
+    /**
+     * Returns the amount of children plus the amount of parents of each node.
+     */
+    private static int[] computeDegrees(CompactDirectedGraph graph) {
+        CompactDirectedGraph reverse = graph.reverse();
+        int[] degrees = new int[graph.size()];
+
+        for (int node = 0; node < degrees.length; ++node) {
+            degrees[node] = graph.childrenEnd(node) -
+                            graph.childrenBegin(node) +
+                            reverse.childrenEnd(node) -
+                            reverse.childrenBegin(node);
+        }
+
+        return degrees;
+    }
+
+    /**
+     * Lists the nodes in breadth-first order, starting a new traversal from
+     * the first unvisited node of {@code roots} whenever the previous one is
+     * done. If {@code degrees} is given, the new neighbours of each node are
+     * listed by ascending degree.
+     */
+    private static int[] traverse(CompactDirectedGraph graph,
+                                  int[] roots,
+                                  int[] degrees) {
+        CompactDirectedGraph reverse = graph.reverse();
+        int[] order = new int[graph.size()];
+        boolean[] visited = new boolean[graph.size()];
+        int head = 0;
+        int tail = 0;
+
+        for (int root : roots) {
+            if (visited[root]) {
+                continue;
+            }
+
+            visited[root] = true;
+            order[tail++] = root;
+
+            while (head < tail) {
+                int node = order[head++];
+                int neighbourBegin = tail;
+                tail = visitNeighbours(graph, node, visited, order, tail);
+                tail = visitNeighbours(reverse, node, visited, order, tail);
+
+                if (degrees != null) {
+                    sortByDegree(order, neighbourBegin, tail, degrees, false);
+                }
+            }
+        }
+
+        return order;
+    }
+
+    private static int visitNeighbours(CompactDirectedGraph graph,
+                                       int node,
+                                       boolean[] visited,
+                                       int[] order,
+                                       int tail) {
+        for (int arc = graph.childrenBegin(node);
+                arc < graph.childrenEnd(node);
+                ++arc) {
+            int neighbour = graph.target(arc);
+
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                order[tail++] = neighbour;
+            }
+        }
+
+        return tail;
+    }
+
+    /**
+     * Sorts {@code nodes[from, to)} by degree, breaking ties by node index.
+     */
+    private static void sortByDegree(int[] nodes,
+                                     int from,
+                                     int to,
+                                     int[] degrees,
+                                     boolean descending) {
+        if (to - from < 2) {
+            return;
+        }
+
+        long[] keys = new long[to - from];
+
+        for (int i = from; i < to; ++i) {
+            long degree = descending ?
+                          Integer.MAX_VALUE - degrees[nodes[i]] :
+                          degrees[nodes[i]];
+            keys[i - from] = degree << 32 | nodes[i];
+        }
+
+        Arrays.sort(keys);
+
+        for (int i = from; i < to; ++i) {
+            nodes[i] = (int) keys[i - from];
+        }
+    }
+}
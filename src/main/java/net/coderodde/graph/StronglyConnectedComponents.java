@@ -0,0 +1,184 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class computes the strongly connected components of a
+ * {@link CompactDirectedGraph} by an iterative, array-based version of
+ * Tarjan's algorithm, together with the source components of the condensation
+ * DAG, that is, the components no arc enters from another component.
+ * <p>
+ * Every node of the condensation DAG is reachable from some source component,
+ * so a node reaches every other node if and only if its component is the only
+ * source component. All the other nodes have an infinite eccentricity and can
+ * never be centers unless every node has one.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class StronglyConnectedComponents {
+
+    private final int[] components;
+    private final int[] componentSizes;
+    private final boolean[] sourceComponents;
+    private final int sourceComponentCount;
+
+    public StronglyConnectedComponents(CompactDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        int size = graph.size();
+        this.components = new int[size];
+
+        // 'indices[node]' is the DFS discovery index plus one, zero meaning
+        // not discovered. A discovered node without a component is on the
+        // Tarjan stack.
+        int[] indices = new int[size];
+        int[] lowLinks = new int[size];
+        int[] nextArcs = new int[size];
+        int[] stack = new int[size];
+        int[] callStack = new int[size];
+        int stackSize = 0;
+        int index = 0;
+        int componentCount = 0;
+
+        Arrays.fill(components, -1);
+
+        for (int root = 0; root < size; ++root) {
+            if (indices[root] != 0) {
+                continue;
+            }
+
+            int depth = 0;
+            indices[root] = lowLinks[root] = ++index;
+            nextArcs[root] = graph.childrenBegin(root);
+            stack[stackSize++] = root;
+            callStack[depth++] = root;
+
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+
+                if (nextArcs[node] < graph.childrenEnd(node)) {
+                    int child = graph.target(nextArcs[node]++);
+
+                    if (indices[child] == 0) {
+                        indices[child] = lowLinks[child] = ++index;
+                        nextArcs[child] = graph.childrenBegin(child);
+                        stack[stackSize++] = child;
+                        callStack[depth++] = child;
+                    } else if (components[child] == -1) {
+                        lowLinks[node] = Math.min(lowLinks[node],
+                                                  indices[child]);
+                    }
+
+                    continue;
+                }
+
+                --depth;
+
+                if (lowLinks[node] == indices[node]) {
+                    int member;
+
+                    do {
+                        member = stack[--stackSize];
+                        components[member] = componentCount;
+                    } while (member != node);
+
+                    ++componentCount;
+                }
+
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLinks[parent] = Math.min(lowLinks[parent],
+                                                lowLinks[node]);
+                }
+            }
+        }
+
+        this.componentSizes = new int[componentCount];
+        this.sourceComponents = new boolean[componentCount];
+        Arrays.fill(sourceComponents, true);
+
+        for (int tail = 0; tail < size; ++tail) {
+            ++componentSizes[components[tail]];
+
+            for (int arc = graph.childrenBegin(tail);
+                    arc < graph.childrenEnd(tail);
+                    ++arc) {
+                int headComponent = components[graph.target(arc)];
+
+                if (headComponent != components[tail]) {
+                    sourceComponents[headComponent] = false;
+                }
+            }
+        }
+
+        int count = 0;
+
+        for (boolean sourceComponent : sourceComponents) {
+            if (sourceComponent) {
+                ++count;
+            }
+        }
+
+        this.sourceComponentCount = count;
+    }
+
+    public int getComponentCount() {
+        return componentSizes.length;
+    }
+
+    /**
+     * Returns the component of {@code node}. The components are numbered in
+     * a reverse topological order of the condensation DAG: every arc between
+     * two components leads to a component with a smaller number.
+     *
+     * @param node the node index.
+     * @return the component index.
+     */
+    public int getComponent(int node) {
+        return components[node];
+    }
+
+    public int getComponentSize(int component) {
+        return componentSizes[component];
+    }
+
+    public boolean isSourceComponent(int component) {
+        return sourceComponents[component];
+    }
+
+    public int getSourceComponentCount() {
+        return sourceComponentCount;
+    }
+
+    public boolean isStronglyConnected() {
+        return componentSizes.length <= 1;
+    }
+
+    /**
+     * Returns {@code true} if {@code node} reaches every node of the graph.
+     *
+     * @param node the node index.
+     * @return {@code true} if the eccentricity of the node is finite.
+     */
+    public boolean canReachAll(int node) {
+        return sourceComponentCount == 1 && sourceComponents[components[node]];
+    }
+
+    /**
+     * Returns the amount of nodes reaching every node of the graph.
+     *
+     * @return the amount of nodes with a finite eccentricity.
+     */
+    public int getReachingAllCount() {
+        if (sourceComponentCount != 1) {
+            return 0;
+        }
+
+        for (int component = 0;; ++component) {
+            if (sourceComponents[component]) {
+                return componentSizes[component];
+            }
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package net.coderodde.graph.center;
 
+import net.coderodde.graph.CompactDirectedGraph;
 import net.coderodde.graph.DirectedGraphWeightFunction;
 import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.NodeOrdering;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -18,10 +21,243 @@ import java.util.Set;
  */
 public abstract class AbstractGraphCenterFinder {
    
-    public abstract GraphCenterData 
+    /**
+     * The time the current thread spent on its latest component snapshot, 
+     * handed over to the statistics of the search that follows it.
+     */
+    private static final ThreadLocal<Long> COMPONENT_NANOS = 
+            new ThreadLocal<>();
+    
+    private volatile boolean completeEccentricities;
+    private volatile EccentricityObjective objective = 
+            EccentricityObjective.OUT;
+    private volatile NodeOrdering nodeOrdering = NodeOrdering.NONE;
+    private volatile boolean statisticsEnabled;
+    private volatile SearchStatisticsListener statisticsListener;
+    
+    /**
+     * Returns {@code true} if the eccentricity maps produced by this finder
+     * complete their inexact entries on demand.
+     * 
+     * @return {@code true} if the complete eccentricities mode is on.
+     */
+    public boolean isCompleteEccentricities() {
+        return completeEccentricities;
+    }
+    
+    /**
+     * Turns the complete eccentricities mode on or off. Finders that prune 
+     * their searches report bounds instead of exact eccentricities for some 
+     * nodes; in the complete eccentricities mode, the resulting 
+     * {@link DirectedGraphNodeEccentricityMap} is given an 
+     * {@link EccentricityResolver} that finishes the search of a node the 
+     * first time the node is queried.
+     * 
+     * @param completeEccentricities whether to turn the mode on.
+     */
+    public void setCompleteEccentricities(boolean completeEccentricities) {
+        this.completeEccentricities = completeEccentricities;
+    }
+    
+    /**
+     * Returns the eccentricity objective this finder minimizes.
+     * 
+     * @return the eccentricity objective.
+     */
+    public EccentricityObjective getObjective() {
+        return objective;
+    }
+    
+    /**
+     * Selects the eccentricity objective this finder minimizes. The default is
+     * {@link EccentricityObjective#OUT}.
+     * 
+     * @param objective the eccentricity objective.
+     */
+    public void setObjective(EccentricityObjective objective) {
+        this.objective = Objects.requireNonNull(objective, 
+                                                "The input objective is null.");
+    }
+    
+    public NodeOrdering getNodeOrdering() {
+        return nodeOrdering;
+    }
+    
+    /**
+     * Selects the ordering the component snapshots built by 
+     * {@link #createCompactGraph} are renumbered by before the search. The
+     * eccentricity maps are keyed by node and thus unaffected, but the center
+     * node list follows the new node order. The default is 
+     * {@link NodeOrdering#NONE}.
+     * 
+     * @param nodeOrdering the node ordering.
+     */
+    public void setNodeOrdering(NodeOrdering nodeOrdering) {
+        this.nodeOrdering = 
+                Objects.requireNonNull(nodeOrdering, 
+                                       "The input ordering is null.");
+    }
+    
+    /**
+     * Returns {@code true} if this finder collects {@link SearchStatistics},
+     * either because they were enabled or because a listener is set.
+     * 
+     * @return {@code true} if statistics are collected.
+     */
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled || statisticsListener != null;
+    }
+    
+    /**
+     * Turns the collection of {@link SearchStatistics} on or off. While on, 
+     * the produced {@link GraphCenterData} carry the statistics of their 
+     * search. While off, the searches record into 
+     * {@link SearchCounters#NO_OP}.
+     * 
+     * @param statisticsEnabled whether to collect statistics.
+     */
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+    
+    public SearchStatisticsListener getStatisticsListener() {
+        return statisticsListener;
+    }
+    
+    /**
+     * Sets the listener receiving the statistics of every search. Setting a
+     * listener turns the collection of statistics on.
+     * 
+     * @param statisticsListener the listener, or {@code null} for none.
+     */
+    public void setStatisticsListener(
+            SearchStatisticsListener statisticsListener) {
+        this.statisticsListener = statisticsListener;
+    }
+    
+    /**
+     * Finds the center nodes of the connected component containing 
+     * {@code connectedComponentRepresentative}. The component is first
+     * converted into a {@link CompactDirectedGraph} snapshot.
+     * 
+     * @param connectedComponentRepresentative any node of the component.
+     * @param weightFunction                   the weight function.
+     * @return the graph center data.
+     */
+    public GraphCenterData 
         findCenterNodes(DirectedGraphNode connectedComponentRepresentative,
-                        DirectedGraphWeightFunction weightFunction);
+                        DirectedGraphWeightFunction weightFunction) {
+        return findCenterNodes(
+                createCompactGraph(connectedComponentRepresentative,
+                                   weightFunction));
+    }
+        
+    /**
+     * Finds the center nodes of the graph snapshot {@code graph}. The snapshot
+     * is expected to contain exactly one weakly connected component.
+     * 
+     * @param graph the graph snapshot.
+     * @return the graph center data.
+     */
+    public abstract GraphCenterData findCenterNodes(CompactDirectedGraph graph);
+    
+    public CompactDirectedGraph 
+        createCompactGraph(DirectedGraphNode connectedComponentRepresentative,
+                           DirectedGraphWeightFunction weightFunction) {
+        if (!isStatisticsEnabled()) {
+            return new CompactDirectedGraph(
+                    findConnectedComponent(connectedComponentRepresentative),
+                    weightFunction).reorder(nodeOrdering);
+        }
         
+        long startTime = System.nanoTime();
+        CompactDirectedGraph graph = new CompactDirectedGraph(
+                findConnectedComponent(connectedComponentRepresentative),
+                weightFunction).reorder(nodeOrdering);
+        COMPONENT_NANOS.set(System.nanoTime() - startTime);
+        return graph;
+    }
+    
+    /**
+     * Returns fresh counters for the searches of one thread, or 
+     * {@link SearchCounters#NO_OP} if statistics are off.
+     * 
+     * @return the search counters.
+     */
+    protected SearchCounters createSearchCounters() {
+        return isStatisticsEnabled() ? 
+               new SearchCounters() : 
+               SearchCounters.NO_OP;
+    }
+    
+    /**
+     * Attaches the statistics of a finished search to {@code data} and passes
+     * them to the listener, if statistics are on. The time spent on the 
+     * component snapshot built by the current thread right before the search,
+     * if any, is included.
+     * 
+     * @param <T>       the type of the graph center data.
+     * @param data      the result of the search.
+     * @param counters  the summed up counters of the search.
+     * @param startTime the {@link System#nanoTime()} at the start of the 
+     *                  search.
+     * @return {@code data}.
+     */
+    protected <T extends GraphCenterData> T 
+        publishStatistics(T data, SearchCounters counters, long startTime) {
+        long searchNanos = System.nanoTime() - startTime;
+        Long componentNanos = COMPONENT_NANOS.get();
+        COMPONENT_NANOS.remove();
+        
+        if (counters == SearchCounters.NO_OP) {
+            return data;
+        }
+        
+        SearchStatistics statistics = 
+                new SearchStatistics(counters, 
+                                     componentNanos == null ? 
+                                             0L : 
+                                             componentNanos,
+                                     searchNanos);
+        data.setStatistics(statistics);
+        SearchStatisticsListener listener = statisticsListener;
+        
+        if (listener != null) {
+            listener.statisticsCollected(statistics);
+        }
+        
+        return data;
+    }
+        
+    /**
+     * Makes {@code finder} work with the settings of this finder. Used when 
+     * delegating a search to a fallback finder.
+     * 
+     * @param finder the finder to configure.
+     */
+    protected void copySettingsTo(AbstractGraphCenterFinder finder) {
+        finder.setCompleteEccentricities(completeEccentricities);
+        finder.setObjective(objective);
+        finder.setNodeOrdering(nodeOrdering);
+        finder.setStatisticsEnabled(statisticsEnabled);
+        finder.setStatisticsListener(statisticsListener);
+    }
+    
+    /**
+     * Describes the settings that determine the results of this finder: its
+     * class, its objective and its complete eccentricities mode. Finders with
+     * further such settings, such as a search budget, append them. Caches use
+     * the description to keep the results of differently configured finders 
+     * apart.
+     * 
+     * @return the description of the settings affecting the results.
+     */
+    public String getResultSettings() {
+        return getClass().getName() + 
+               " objective=" + objective + 
+               " completeEccentricities=" + completeEccentricities;
+    }
+    
     protected List<DirectedGraphNode> 
         findConnectedComponent(
                 DirectedGraphNode connectedComponentRepresentative) {
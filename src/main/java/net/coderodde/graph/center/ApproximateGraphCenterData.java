@@ -0,0 +1,72 @@
+package net.coderodde.graph.center;
+
+import net.coderodde.graph.DirectedGraphNode;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class extends {@link GraphCenterData} with the information describing
+ * an approximate answer. The center node list holds the best candidate 
+ * centers, that is, the nodes with the smallest known eccentricity upper 
+ * bound. The eccentricity map holds a lower bound of the eccentricity of each
+ * node and the upper bound map holds the corresponding upper bounds. The 
+ * actual radius of the graph lies within 
+ * {@code [getRadiusLowerBound(), getRadiusUpperBound()]}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 
+ */
+public class ApproximateGraphCenterData extends GraphCenterData {
+   
+    private final DirectedGraphNodeEccentricityMap eccentricityUpperBoundMap;
+    private final double radiusLowerBound;
+    private final double radiusUpperBound;
+    
+    public ApproximateGraphCenterData(
+            DirectedGraphNodeEccentricityMap eccentricityLowerBoundMap,
+            DirectedGraphNodeEccentricityMap eccentricityUpperBoundMap,
+            List<DirectedGraphNode> candidateCenterNodeList,
+            double radiusLowerBound,
+            double radiusUpperBound) {
+        super(eccentricityLowerBoundMap, candidateCenterNodeList);
+        Objects.requireNonNull(eccentricityUpperBoundMap, 
+                               "The input upper bound map is null.");
+        
+        if (radiusLowerBound > radiusUpperBound) {
+            throw new IllegalArgumentException(
+                    "The radius lower bound " + radiusLowerBound + 
+                    " exceeds the radius upper bound " + radiusUpperBound +
+                    ".");
+        }
+        
+        this.eccentricityUpperBoundMap = eccentricityUpperBoundMap;
+        this.radiusLowerBound = radiusLowerBound;
+        this.radiusUpperBound = radiusUpperBound;
+    }
+    
+    public DirectedGraphNodeEccentricityMap getEccentricityUpperBoundMap() {
+        return eccentricityUpperBoundMap;
+    }
+    
+    public double getRadiusLowerBound() {
+        return radiusLowerBound;
+    }
+    
+    public double getRadiusUpperBound() {
+        return radiusUpperBound;
+    }
+    
+    /**
+     * Returns the largest possible difference between the eccentricity of the
+     * candidate centers and the actual radius.
+     * 
+     * @return the approximation gap.
+     */
+    public double getApproximationGap() {
+        return radiusUpperBound - radiusLowerBound;
+    }
+    
+    public boolean isExact() {
+        return radiusLowerBound == radiusUpperBound;
+    }
+}
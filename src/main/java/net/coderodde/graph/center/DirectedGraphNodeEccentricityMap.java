@@ -1,29 +1,424 @@
 package net.coderodde.graph.center;
 
+import net.coderodde.graph.CompactDirectedGraph;
 import net.coderodde.graph.DirectedGraphNode;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
- * This class implements a map mapping each 
- * {@link net.coderodde.graph.center.DirectedGraphNode} to its eccentricity. 
+ * This class implements a map mapping each
+ * {@link net.coderodde.graph.DirectedGraphNode} to its eccentricity.
  * Eccentricity of a node is its cost to the farthest nodes. The intuition is
- * following: choose a node, call it {code u}. Then compute all shortest paths 
+ * following: choose a node, call it {code u}. Then compute all shortest paths
  * from {@code u} to any other node in its connected component. The eccentricity
  * will of {@code u} is the cost of the longest shortest path.
- * 
+ * <p>
+ * The eccentricities are stored in a dense {@code double} array indexed by the
+ * node indices of a {@link CompactDirectedGraph}; nodes without a known
+ * eccentricity map to {@link Double#NaN}. The map does not keep the graph: it
+ * copies the node IDs in index order along with the indices sorted by ID, and
+ * finds the index of a node by binary search. The node objects are kept only
+ * if the graph holds them. A map created without a graph assigns the indices
+ * itself in insertion order.
+ * <p>
+ * Each stored value carries an {@link EccentricityType} telling whether it is
+ * exact or merely a bound. If the map is given an 
+ * {@link EccentricityResolver}, the single-node getters replace a bound by the
+ * exact eccentricity the first time the node is queried, so that only the 
+ * queried nodes pay for exact values.
+ *
  * @author Rodion "rodde" Efremov
  * @version 1.6
  */
 public final class DirectedGraphNodeEccentricityMap {
-   
-    private final Map<DirectedGraphNode, Double> map = new HashMap<>();
-    
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final EccentricityType[] TYPES = EccentricityType.values();
+
+    // The node IDs in index order and the indices in ascending ID order, or
+    // null if the map was created without a graph.
+    private final int[] ids;
+    private final int[] sortedIndices;
+    private final Map<DirectedGraphNode, Integer> indexMap;
+    private DirectedGraphNode[] nodes;
+    private double[] eccentricities;
+    private byte[] types;
+    private volatile EccentricityResolver resolver;
+
+    public DirectedGraphNodeEccentricityMap() {
+        this.ids = null;
+        this.sortedIndices = null;
+        this.indexMap = new HashMap<>();
+        this.nodes = new DirectedGraphNode[DEFAULT_CAPACITY];
+        this.eccentricities = new double[DEFAULT_CAPACITY];
+        this.types = new byte[DEFAULT_CAPACITY];
+        Arrays.fill(eccentricities, Double.NaN);
+    }
+
+    public DirectedGraphNodeEccentricityMap(CompactDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        int size = graph.size();
+        long[] keys = new long[size];
+        this.ids = new int[size];
+        this.sortedIndices = new int[size];
+
+        for (int i = 0; i < size; ++i) {
+            ids[i] = graph.getNodeId(i);
+            keys[i] = (long) ids[i] << 32 | i;
+        }
+
+        Arrays.sort(keys);
+
+        for (int i = 0; i < size; ++i) {
+            sortedIndices[i] = (int) keys[i];
+        }
+
+        this.indexMap = null;
+        this.nodes = graph.hasNodeObjects() ?
+                     graph.getNodeList().toArray(new DirectedGraphNode[size]) :
+                     null;
+        this.eccentricities = new double[size];
+        this.types = new byte[size];
+        Arrays.fill(eccentricities, Double.NaN);
+    }
+
+    /**
+     * Sets the resolver used for computing exact eccentricities on demand, or
+     * disables the on-demand computation if {@code resolver} is 
+     * {@code null}. A resolver typically keeps the graph snapshot alive, so
+     * removing it releases the snapshot.
+     *
+     * @param resolver the eccentricity resolver.
+     */
+    public synchronized void setResolver(EccentricityResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns the eccentricity of {@code node}, or {@link Double#NaN} if it is
+     * not known.
+     *
+     * @param node the node to query.
+     * @return the eccentricity of the node.
+     */
     public double get(DirectedGraphNode node) {
-        return map.get(node);
+        int index = indexOf(node);
+        return index == -1 ? Double.NaN : get(index);
+    }
+
+    /**
+     * Returns the type of the eccentricity of {@code node}, or {@code null} if 
+     * the eccentricity of the node is not known.
+     *
+     * @param node the node to query.
+     * @return the eccentricity type of the node.
+     */
+    public EccentricityType getType(DirectedGraphNode node) {
+        int index = indexOf(node);
+        return index == -1 ? null : getType(index);
+    }
+
+    public boolean isExact(DirectedGraphNode node) {
+        return getType(node) == EccentricityType.EXACT;
     }
-    
+
     public void put(DirectedGraphNode node, double eccentricity) {
-        map.put(node, eccentricity);
+        put(node, eccentricity, EccentricityType.EXACT);
+    }
+
+    public void put(DirectedGraphNode node,
+                    double eccentricity,
+                    EccentricityType type) {
+        Objects.requireNonNull(type, "The input eccentricity type is null.");
+        int index = indexOf(node);
+
+        if (index == -1) {
+            if (ids != null) {
+                throw new IllegalArgumentException(
+                        "The node " + node + " is not in the graph.");
+            }
+
+            index = addNode(node);
+        }
+
+        eccentricities[index] = eccentricity;
+        types[index] = (byte) type.ordinal();
+    }
+
+    /**
+     * Returns the amount of node indices of this map. Indices in the range
+     * {@code [0, size())} are valid arguments of {@link #getNode(int)} and
+     * {@link #get(int)}.
+     *
+     * @return the amount of node indices.
+     */
+    public int size() {
+        return ids != null ? ids.length : indexMap.size();
+    }
+
+    public DirectedGraphNode getNode(int index) {
+        checkIndex(index);
+        return nodes != null ? 
+               nodes[index] : 
+               new DirectedGraphNode(ids[index]);
+    }
+
+    public double get(int index) {
+        checkIndex(index);
+
+        if (resolver != null) {
+            return resolve(index);
+        }
+
+        return eccentricities[index];
+    }
+
+    public EccentricityType getType(int index) {
+        checkIndex(index);
+
+        if (resolver != null) {
+            resolve(index);
+        }
+
+        return Double.isNaN(eccentricities[index]) ? 
+               null : 
+               TYPES[types[index]];
+    }
+
+    /**
+     * Returns the eccentricity stored for the node with the given index, 
+     * without invoking the resolver, or {@link Double#NaN} if none is stored.
+     *
+     * @param index the node index.
+     * @return the stored eccentricity.
+     */
+    public double peek(int index) {
+        checkIndex(index);
+        return eccentricities[index];
+    }
+
+    /**
+     * Returns the type of the value returned by {@link #peek(int)}, or
+     * {@code null} if no value is stored.
+     *
+     * @param index the node index.
+     * @return the stored eccentricity type.
+     */
+    public EccentricityType peekType(int index) {
+        checkIndex(index);
+        return Double.isNaN(eccentricities[index]) ? null : TYPES[types[index]];
+    }
+
+    public void put(int index, double eccentricity) {
+        put(index, eccentricity, EccentricityType.EXACT);
+    }
+
+    public void put(int index, double eccentricity, EccentricityType type) {
+        checkIndex(index);
+        Objects.requireNonNull(type, "The input eccentricity type is null.");
+        eccentricities[index] = eccentricity;
+        types[index] = (byte) type.ordinal();
+    }
+
+    /**
+     * Returns the indices of all the nodes with known eccentricity sorted by
+     * eccentricity in ascending order. Ties are broken by node index. The 
+     * stored values are used as they are, bounds included.
+     *
+     * @return the sorted node indices.
+     */
+    public int[] getIndicesSortedByEccentricity() {
+        int[] indices = new int[size()];
+        int count = 0;
+
+        for (int i = 0; i < indices.length; ++i) {
+            if (!Double.isNaN(eccentricities[i])) {
+                indices[count++] = i;
+            }
+        }
+
+        indices = Arrays.copyOf(indices, count);
+        mergeSort(indices,
+                  Arrays.copyOf(indices, count),
+                  0,
+                  count);
+        return indices;
+    }
+
+    /**
+     * Returns the indices of at most {@code k} nodes with the smallest known
+     * eccentricities, sorted by eccentricity in ascending order. Ties are
+     * broken by node index.
+     *
+     * @param k the maximum amount of indices to return.
+     * @return the sorted node indices.
+     */
+    public int[] getSmallestIndices(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k is negative: " + k + ".");
+        }
+
+        // A bounded maximum heap holding the k best indices seen so far.
+        int[] heap = new int[Math.min(k, size())];
+        int heapSize = 0;
+
+        for (int i = 0; i < size() && heap.length > 0; ++i) {
+            if (Double.isNaN(eccentricities[i])) {
+                continue;
+            }
+
+            if (heapSize < heap.length) {
+                int index = heapSize++;
+
+                while (index > 0) {
+                    int parent = (index - 1) >>> 1;
+
+                    if (!isLess(heap[parent], i)) {
+                        break;
+                    }
+
+                    heap[index] = heap[parent];
+                    index = parent;
+                }
+
+                heap[index] = i;
+            } else if (isLess(i, heap[0])) {
+                int index = 0;
+
+                for (;;) {
+                    int child = (index << 1) + 1;
+
+                    if (child >= heapSize) {
+                        break;
+                    }
+
+                    if (child + 1 < heapSize
+                            && isLess(heap[child], heap[child + 1])) {
+                        ++child;
+                    }
+
+                    if (!isLess(i, heap[child])) {
+                        break;
+                    }
+
+                    heap[index] = heap[child];
+                    index = child;
+                }
+
+                heap[index] = i;
+            }
+        }
+
+        int[] indices = Arrays.copyOf(heap, heapSize);
+        mergeSort(indices,
+                  Arrays.copyOf(indices, heapSize),
+                  0,
+                  heapSize);
+        return indices;
+    }
+
+    private synchronized double resolve(int index) {
+        if (resolver != null 
+                && (Double.isNaN(eccentricities[index])
+                    || types[index] != EccentricityType.EXACT.ordinal())) {
+            eccentricities[index] = resolver.computeEccentricity(index);
+            types[index] = (byte) EccentricityType.EXACT.ordinal();
+        }
+
+        return eccentricities[index];
+    }
+
+    private boolean isLess(int index1, int index2) {
+        return eccentricities[index1] < eccentricities[index2]
+                || (eccentricities[index1] == eccentricities[index2]
+                    && index1 < index2);
+    }
+
+    private int indexOf(DirectedGraphNode node) {
+        if (ids != null) {
+            int id = node.getId();
+            int low = 0;
+            int high = ids.length - 1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int middleId = ids[sortedIndices[middle]];
+
+                if (middleId < id) {
+                    low = middle + 1;
+                } else if (middleId > id) {
+                    high = middle - 1;
+                } else {
+                    return sortedIndices[middle];
+                }
+            }
+
+            return -1;
+        }
+
+        Integer index = indexMap.get(node);
+        return index == null ? -1 : index;
+    }
+
+    private int addNode(DirectedGraphNode node) {
+        int index = indexMap.size();
+
+        if (index == nodes.length) {
+            int capacity = nodes.length * 2;
+            nodes = Arrays.copyOf(nodes, capacity);
+            eccentricities = Arrays.copyOf(eccentricities, capacity);
+            types = Arrays.copyOf(types, capacity);
+            Arrays.fill(eccentricities, index, capacity, Double.NaN);
+        }
+
+        indexMap.put(node, index);
+        nodes[index] = node;
+        return index;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    "The index " + index + " is out of range [0, " + size() +
+                    ").");
+        }
+    }
+
+    /**
+     * Sorts {@code target[fromIndex, toIndex)} by eccentricity and node 
+     * index, given that {@code source} initially holds the same elements.
+     */
+    private void mergeSort(int[] target,
+                           int[] source,
+                           int fromIndex,
+                           int toIndex) {
+        if (toIndex - fromIndex < 2) {
+            return;
+        }
+
+        int middle = (fromIndex + toIndex) >>> 1;
+
+        mergeSort(source, target, fromIndex, middle);
+        mergeSort(source, target, middle, toIndex);
+
+        int left = fromIndex;
+        int right = middle;
+        int index = fromIndex;
+
+        while (left < middle && right < toIndex) {
+            target[index++] = isLess(source[right], source[left]) ?
+                              source[right++] :
+                              source[left++];
+        }
+
+        while (left < middle) {
+            target[index++] = source[left++];
+        }
+
+        while (right < toIndex) {
+            target[index++] = source[right++];
+        }
     }
 }
@@ -0,0 +1,31 @@
+package net.coderodde.graph.center;
+
+/**
+ * This enumeration lists the notions of eccentricity a graph center finder can
+ * minimize. The distance {@code d(u, v)} is the length of a shortest directed
+ * path from {@code u} to {@code v}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public enum EccentricityObjective {
+    
+    /**
+     * The eccentricity of {@code u} is the maximum of {@code d(u, v)} over all
+     * nodes {@code v}, the farthest distance from {@code u}.
+     */
+    OUT,
+    
+    /**
+     * The eccentricity of {@code u} is the maximum of {@code d(v, u)} over all
+     * nodes {@code v}, the farthest distance to {@code u}.
+     */
+    IN,
+    
+    /**
+     * The eccentricity of {@code u} is the maximum of 
+     * {@code d(u, v) + d(v, u)} over all nodes {@code v}, the longest round 
+     * trip from {@code u}.
+     */
+    ROUND_TRIP
+}
@@ -0,0 +1,20 @@
+package net.coderodde.graph.center;
+
+/**
+ * This interface defines the API for computing exact eccentricities on demand.
+ * A {@link DirectedGraphNodeEccentricityMap} with a resolver uses it to replace
+ * bounds by exact values the first time they are queried.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public interface EccentricityResolver {
+    
+    /**
+     * Computes the exact eccentricity of the node with index {@code index}.
+     * 
+     * @param index the node index.
+     * @return the exact eccentricity.
+     */
+    double computeEccentricity(int index);
+}
@@ -0,0 +1,28 @@
+package net.coderodde.graph.center;
+
+/**
+ * This enumeration describes how an eccentricity value stored in a 
+ * {@link DirectedGraphNodeEccentricityMap} relates to the actual eccentricity
+ * of its node.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public enum EccentricityType {
+    
+    /**
+     * The value is the exact eccentricity.
+     */
+    EXACT,
+    
+    /**
+     * The value is a lower bound of the eccentricity, typically produced by a
+     * pruned search.
+     */
+    LOWER_BOUND,
+    
+    /**
+     * The value is an upper bound of the eccentricity.
+     */
+    UPPER_BOUND
+}
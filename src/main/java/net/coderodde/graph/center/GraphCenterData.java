@@ -16,6 +16,7 @@ public class GraphCenterData {
    
     private final DirectedGraphNodeEccentricityMap eccentricityMap;
     private final List<DirectedGraphNode> centerNodeList;
+    private volatile SearchStatistics statistics;
     
     public GraphCenterData(DirectedGraphNodeEccentricityMap eccentricityMap,
                            List<DirectedGraphNode> centerNodeList) {
@@ -36,4 +37,18 @@ public class GraphCenterData {
     public List<DirectedGraphNode> getCenterNodeList() {
         return centerNodeList;
     }
+    
+    /**
+     * Returns the statistics of the search that produced this data, or 
+     * {@code null} if the finder did not collect statistics.
+     * 
+     * @return the search statistics or {@code null}.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+    
+    void setStatistics(SearchStatistics statistics) {
+        this.statistics = statistics;
+    }
 }
@@ -0,0 +1,24 @@
+package net.coderodde.graph.center;
+
+/**
+ * This interface defines the API for receiving the progress of a long-running
+ * center search. The listener is called on the thread running the search, so
+ * it should return quickly.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public interface GraphCenterProgressListener {
+
+    /**
+     * Receives the progress of a center search.
+     *
+     * @param processedSourceCount the amount of source nodes processed so far.
+     * @param sourceCount          the total amount of source nodes.
+     * @param radiusUpperBound     the smallest eccentricity found so far, or
+     *                             {@link Double#POSITIVE_INFINITY} if none.
+     */
+    void progressMade(int processedSourceCount,
+                      int sourceCount,
+                      double radiusUpperBound);
+}
@@ -0,0 +1,129 @@
+package net.coderodde.graph.center;
+
+/**
+ * This class accumulates the work done by the searches of a single thread. A 
+ * search adds its counts once it finishes, so the counters cost nothing in the
+ * inner loops. Concurrent workers each fill their own instance, and the 
+ * instances are summed up with {@link #add(SearchCounters)} once the workers 
+ * are done. This class is not thread-safe.
+ * <p>
+ * {@link #NO_OP} ignores everything it is given. Finders use it while
+ * statistics are off; the recording calls happen once per search and are
+ * cheap either way.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class SearchCounters {
+    
+    /**
+     * The counters discarding all the counts.
+     */
+    public static final SearchCounters NO_OP = new NoOpSearchCounters();
+    
+    private long searchCount;
+    private long prunedSearchCount;
+    private long settledNodeCount;
+    private long prunedSettledNodeCount;
+    private long relaxedArcCount;
+    private long decreasePriorityCount;
+    
+    /**
+     * Records a single finished search.
+     * 
+     * @param settledNodeCount      the amount of settled nodes.
+     * @param relaxedArcCount       the amount of scanned arcs.
+     * @param decreasePriorityCount the amount of priority decreases.
+     * @param pruned                whether the search was cut short.
+     */
+    public void recordSearch(int settledNodeCount,
+                             int relaxedArcCount,
+                             int decreasePriorityCount,
+                             boolean pruned) {
+        ++this.searchCount;
+        this.settledNodeCount += settledNodeCount;
+        this.relaxedArcCount += relaxedArcCount;
+        this.decreasePriorityCount += decreasePriorityCount;
+        
+        if (pruned) {
+            ++this.prunedSearchCount;
+            this.prunedSettledNodeCount += settledNodeCount;
+        }
+    }
+    
+    /**
+     * Records {@code searchCount} unpruned searches run together, such as the
+     * sources of one bit-parallel breadth-first search.
+     * 
+     * @param searchCount      the amount of searches.
+     * @param settledNodeCount the total amount of settled nodes.
+     * @param relaxedArcCount  the total amount of scanned arcs.
+     */
+    public void recordSearches(int searchCount,
+                               long settledNodeCount,
+                               long relaxedArcCount) {
+        this.searchCount += searchCount;
+        this.settledNodeCount += settledNodeCount;
+        this.relaxedArcCount += relaxedArcCount;
+    }
+    
+    /**
+     * Adds the counts of {@code other} to these counters.
+     * 
+     * @param other the counters to add.
+     */
+    public void add(SearchCounters other) {
+        searchCount += other.searchCount;
+        prunedSearchCount += other.prunedSearchCount;
+        settledNodeCount += other.settledNodeCount;
+        prunedSettledNodeCount += other.prunedSettledNodeCount;
+        relaxedArcCount += other.relaxedArcCount;
+        decreasePriorityCount += other.decreasePriorityCount;
+    }
+    
+    public long getSearchCount() {
+        return searchCount;
+    }
+    
+    public long getPrunedSearchCount() {
+        return prunedSearchCount;
+    }
+    
+    public long getSettledNodeCount() {
+        return settledNodeCount;
+    }
+    
+    /**
+     * Returns the amount of nodes settled by the pruned searches alone.
+     * 
+     * @return the settled node count of the pruned searches.
+     */
+    public long getPrunedSettledNodeCount() {
+        return prunedSettledNodeCount;
+    }
+    
+    public long getRelaxedArcCount() {
+        return relaxedArcCount;
+    }
+    
+    public long getDecreasePriorityCount() {
+        return decreasePriorityCount;
+    }
+    
+    private static final class NoOpSearchCounters extends SearchCounters {
+
+        @Override
+        public void recordSearch(int settledNodeCount,
+                                 int relaxedArcCount,
+                                 int decreasePriorityCount,
+                                 boolean pruned) {}
+
+        @Override
+        public void recordSearches(int searchCount,
+                                   long settledNodeCount,
+                                   long relaxedArcCount) {}
+
+        @Override
+        public void add(SearchCounters other) {}
+    }
+}
@@ -0,0 +1,109 @@
+package net.coderodde.graph.center;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class is an immutable snapshot of the work done by a single
+ * {@code findCenterNodes} call: the totals of its {@link SearchCounters} and
+ * the time spent on building the component snapshot and on the searches. The
+ * component time is zero if the call was given a snapshot.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class SearchStatistics {
+    
+    private final long searchCount;
+    private final long prunedSearchCount;
+    private final long settledNodeCount;
+    private final long prunedSettledNodeCount;
+    private final long relaxedArcCount;
+    private final long decreasePriorityCount;
+    private final long componentNanos;
+    private final long searchNanos;
+    
+    public SearchStatistics(SearchCounters counters,
+                            long componentNanos,
+                            long searchNanos) {
+        Objects.requireNonNull(counters, "The input counters are null.");
+        this.searchCount = counters.getSearchCount();
+        this.prunedSearchCount = counters.getPrunedSearchCount();
+        this.settledNodeCount = counters.getSettledNodeCount();
+        this.prunedSettledNodeCount = counters.getPrunedSettledNodeCount();
+        this.relaxedArcCount = counters.getRelaxedArcCount();
+        this.decreasePriorityCount = counters.getDecreasePriorityCount();
+        this.componentNanos = componentNanos;
+        this.searchNanos = searchNanos;
+    }
+    
+    public long getSearchCount() {
+        return searchCount;
+    }
+    
+    public long getPrunedSearchCount() {
+        return prunedSearchCount;
+    }
+    
+    public long getSettledNodeCount() {
+        return settledNodeCount;
+    }
+    
+    public long getPrunedSettledNodeCount() {
+        return prunedSettledNodeCount;
+    }
+    
+    /**
+     * Returns the average amount of nodes a pruned search settled before it
+     * was cut short, or zero if no search was pruned.
+     * 
+     * @return the average settled node count per pruned search.
+     */
+    public double getAverageSettledNodesPerPrunedSearch() {
+        return prunedSearchCount == 0L ? 
+               0.0 : 
+               (double) prunedSettledNodeCount / prunedSearchCount;
+    }
+    
+    public long getRelaxedArcCount() {
+        return relaxedArcCount;
+    }
+    
+    public long getDecreasePriorityCount() {
+        return decreasePriorityCount;
+    }
+    
+    public long getComponentNanos() {
+        return componentNanos;
+    }
+    
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+    
+    /**
+     * Returns the statistics as an ordered map from metric names to values,
+     * suitable for exporting to a metrics registry.
+     * 
+     * @return the unmodifiable map of metrics.
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        map.put("searches", searchCount);
+        map.put("prunedSearches", prunedSearchCount);
+        map.put("settledNodes", settledNodeCount);
+        map.put("prunedSettledNodes", prunedSettledNodeCount);
+        map.put("relaxedArcs", relaxedArcCount);
+        map.put("decreasePriorityCalls", decreasePriorityCount);
+        map.put("componentNanos", componentNanos);
+        map.put("searchNanos", searchNanos);
+        return Collections.unmodifiableMap(map);
+    }
+    
+    @Override
+    public String toString() {
+        return "[SearchStatistics " + toMap() + "]";
+    }
+}
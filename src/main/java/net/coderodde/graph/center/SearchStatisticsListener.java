@@ -0,0 +1,19 @@
+package net.coderodde.graph.center;
+
+/**
+ * This interface defines the API for receiving the {@link SearchStatistics} of
+ * every {@code findCenterNodes} call of a finder. The listener is called on 
+ * the thread that made the call, right before the call returns.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public interface SearchStatisticsListener {
+    
+    /**
+     * Receives the statistics of a finished {@code findCenterNodes} call.
+     * 
+     * @param statistics the statistics of the call.
+     */
+    void statisticsCollected(SearchStatistics statistics);
+}
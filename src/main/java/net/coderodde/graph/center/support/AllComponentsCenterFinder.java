@@ -0,0 +1,231 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.GraphCenterData;
+
+/**
+ * This class finds the centers of all the weakly connected components of a
+ * graph at once. The whole graph is converted into a single
+ * {@link CompactDirectedGraph}, its components are labelled by one union-find
+ * pass over the arcs, and the snapshot is split into one snapshot per
+ * component by {@link CompactDirectedGraph#partition(int[], int)}. The
+ * components are then cut into batches: each component of at least
+ * {@value #BATCH_NODE_COUNT} nodes forms a batch of its own, and the smaller
+ * ones are grouped in batches of about {@value #BATCH_NODE_COUNT} nodes. At
+ * most {@code parallelism} workers on the executor take the batches one at a
+ * time and hand their components to the delegate finder; with a parallelism
+ * of one, the components are processed on the calling thread.
+ * <p>
+ * The results are listed in the order of the first node of each component in
+ * the input collection. The delegate finder is shared by the workers, so it
+ * must be thread-safe; with a bounded executor, it should not submit work to
+ * the same executor.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class AllComponentsCenterFinder {
+
+    /**
+     * The amount of nodes worth a task of its own.
+     */
+    private static final int BATCH_NODE_COUNT = 1024;
+
+    private final AbstractGraphCenterFinder delegate;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public AllComponentsCenterFinder(AbstractGraphCenterFinder delegate) {
+        this(delegate,
+             ForkJoinPool.commonPool(),
+             Runtime.getRuntime().availableProcessors());
+    }
+
+    public AllComponentsCenterFinder(AbstractGraphCenterFinder delegate,
+                                     ExecutorService executor,
+                                     int parallelism) {
+        Objects.requireNonNull(delegate, "The input delegate is null.");
+        Objects.requireNonNull(executor, "The input executor is null.");
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive: " + parallelism + ".");
+        }
+
+        this.delegate = delegate;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Finds the centers of every weakly connected component formed by
+     * {@code nodes}. Arcs leading outside of {@code nodes} are ignored.
+     *
+     * @param nodes          all the nodes of the graph.
+     * @param weightFunction the weight function.
+     * @return the graph center data of each component.
+     */
+    public List<GraphCenterData>
+        findAllCenterNodes(Collection<DirectedGraphNode> nodes,
+                           DirectedGraphWeightFunction weightFunction) {
+        return findAllCenterNodes(new CompactDirectedGraph(nodes,
+                                                           weightFunction));
+    }
+
+    public List<GraphCenterData>
+        findAllCenterNodes(CompactDirectedGraph graph) {
+        int[] labels = new int[graph.size()];
+        int componentCount = labelComponents(graph, labels);
+        final CompactDirectedGraph[] components =
+                graph.partition(labels, componentCount);
+        final GraphCenterData[] results =
+                new GraphCenterData[componentCount];
+
+        if (parallelism == 1) {
+            for (int i = 0; i < componentCount; ++i) {
+                results[i] = delegate.findCenterNodes(components[i]);
+            }
+
+            return Arrays.asList(results);
+        }
+
+        final int[] batchEnds = computeBatchEnds(components);
+        final AtomicInteger nextBatch = new AtomicInteger();
+        int workers = Math.min(parallelism, batchEnds.length);
+        List<Future<Void>> futures = new ArrayList<>(workers);
+
+        for (int i = 0; i < workers; ++i) {
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (;;) {
+                        int batch = nextBatch.getAndIncrement();
+
+                        if (batch >= batchEnds.length) {
+                            return null;
+                        }
+
+                        int begin = batch == 0 ? 0 : batchEnds[batch - 1];
+
+                        for (int j = begin; j < batchEnds[batch]; ++j) {
+                            results[j] =
+                                    delegate.findCenterNodes(components[j]);
+                        }
+                    }
+                }
+            }));
+        }
+
+        ParallelGraphCenterFinder.awaitAll(futures);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Cuts the components into batches and returns the exclusive end index of
+     * each batch. A component of at least {@code BATCH_NODE_COUNT} nodes ends
+     * the pending batch of smaller components and forms a batch of its own.
+     */
+    static int[] computeBatchEnds(CompactDirectedGraph[] components) {
+        int[] batchEnds = new int[components.length];
+        int batchCount = 0;
+        int batchNodeCount = 0;
+
+        for (int i = 0; i < components.length; ++i) {
+            if (components[i].size() >= BATCH_NODE_COUNT) {
+                if (batchNodeCount > 0) {
+                    batchEnds[batchCount++] = i;
+                    batchNodeCount = 0;
+                }
+
+                batchEnds[batchCount++] = i + 1;
+                continue;
+            }
+
+            batchNodeCount += components[i].size();
+
+            if (batchNodeCount >= BATCH_NODE_COUNT
+                    || i == components.length - 1) {
+                batchEnds[batchCount++] = i + 1;
+                batchNodeCount = 0;
+            }
+        }
+
+        return Arrays.copyOf(batchEnds, batchCount);
+    }
+
+    /**
+     * Labels the weakly connected components of {@code graph} with the
+     * integers {@code 0, 1, ...} in the order of their smallest node index,
+     * and returns the amount of components.
+     */
+    static int labelComponents(CompactDirectedGraph graph, int[] labels) {
+        int size = graph.size();
+        int[] parents = new int[size];
+        int[] ranks = new int[size];
+
+        for (int i = 0; i < size; ++i) {
+            parents[i] = i;
+        }
+
+        for (int tail = 0; tail < size; ++tail) {
+            for (int arc = graph.childrenBegin(tail);
+                    arc < graph.childrenEnd(tail);
+                    ++arc) {
+                int root1 = find(parents, tail);
+                int root2 = find(parents, graph.target(arc));
+
+                if (root1 == root2) {
+                    continue;
+                }
+
+                if (ranks[root1] < ranks[root2]) {
+                    parents[root1] = root2;
+                } else if (ranks[root1] > ranks[root2]) {
+                    parents[root2] = root1;
+                } else {
+                    parents[root2] = root1;
+                    ++ranks[root1];
+                }
+            }
+        }
+
+        // Reuse 'ranks' as the root to label map.
+        Arrays.fill(ranks, -1);
+        int componentCount = 0;
+
+        for (int i = 0; i < size; ++i) {
+            int root = find(parents, i);
+
+            if (ranks[root] == -1) {
+                ranks[root] = componentCount++;
+            }
+
+            labels[i] = ranks[root];
+        }
+
+        return componentCount;
+    }
+
+    private static int find(int[] parents, int node) {
+        while (parents[node] != node) {
+            // Path halving.
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+
+        return node;
+    }
+}
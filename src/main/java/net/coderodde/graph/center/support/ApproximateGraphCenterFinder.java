@@ -0,0 +1,310 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.ApproximateGraphCenterData;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.EccentricityType;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class implements a budgeted version of
+ * {@link BoundingGraphCenterFinder}: it probes nodes exactly like the exact
+ * finder, but stops as soon as the search budget (the amount of Dijkstra runs
+ * or the wall-clock time) is exhausted. The result reports the best candidate
+ * centers along with lower and upper bounds of the radius, so the caller knows
+ * how far from optimal the candidates may be. If the budget suffices to
+ * certify the center, the result is exact.
+ * <p>
+ * For components that are not strongly connected, the nodes are instead
+ * evaluated one by one in the manner of {@link GraphCenterFinderV2} until the
+ * budget is exhausted. The nodes whose eccentricity is infinite are not
+ * searched and count against no budget. The round trip objective is always
+ * evaluated one by one, since it admits no eccentricity bounds. If the budget
+ * runs out before every node is evaluated, the eccentricity of each remaining
+ * node {@code v} is bounded from below by {@code e(u) - d(u, v)} over the
+ * unpruned searches from the nodes {@code u}, and for the round trip objective
+ * also by the round trip between {@code v} and {@code u}. The smallest of
+ * these bounds bounds the radius.
+ * <p>
+ * The time budget runs from the call of {@code findCenterNodes}, so it
+ * includes building the component snapshot, its strongly connected
+ * components and its reverse graph. It is checked only before each probe, or
+ * before each search when evaluating one by one, and the first one always
+ * runs, so a call may overrun its budget by the preprocessing plus one probe,
+ * that is, two full Dijkstra runs.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class ApproximateGraphCenterFinder extends AbstractGraphCenterFinder {
+
+    private final int maximumSearchCount;
+    private final long timeBudgetNanos;
+
+    public ApproximateGraphCenterFinder(int maximumSearchCount) {
+        this(maximumSearchCount, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    public ApproximateGraphCenterFinder(long timeBudget, TimeUnit unit) {
+        this(Integer.MAX_VALUE, timeBudget, unit);
+    }
+
+    /**
+     * Constructs an approximate finder. Regardless of the budget, at least
+     * one node is always evaluated.
+     *
+     * @param maximumSearchCount the maximum amount of Dijkstra runs.
+     * @param timeBudget         the maximum running time.
+     * @param unit               the time unit of {@code timeBudget}.
+     */
+    public ApproximateGraphCenterFinder(int maximumSearchCount,
+                                        long timeBudget,
+                                        TimeUnit unit) {
+        if (maximumSearchCount < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum search count must be positive: " +
+                    maximumSearchCount + ".");
+        }
+
+        if (timeBudget < 0L) {
+            throw new IllegalArgumentException(
+                    "The time budget is negative: " + timeBudget + ".");
+        }
+
+        this.maximumSearchCount = maximumSearchCount;
+        this.timeBudgetNanos = unit.toNanos(timeBudget);
+    }
+
+    @Override
+    public String getResultSettings() {
+        return super.getResultSettings() +
+               " maximumSearchCount=" + maximumSearchCount +
+               " timeBudgetNanos=" + timeBudgetNanos;
+    }
+
+    @Override
+    public ApproximateGraphCenterData
+        findCenterNodes(DirectedGraphNode connectedComponentRepresentative,
+                        DirectedGraphWeightFunction weightFunction) {
+        long budgetStartTime = System.nanoTime();
+        return findCenterNodes(
+                createCompactGraph(connectedComponentRepresentative,
+                                   weightFunction),
+                budgetStartTime);
+    }
+
+    @Override
+    public ApproximateGraphCenterData
+        findCenterNodes(CompactDirectedGraph graph) {
+        return findCenterNodes(graph, System.nanoTime());
+    }
+
+    private ApproximateGraphCenterData
+        findCenterNodes(CompactDirectedGraph graph, long budgetStartTime) {
+        long startTime = System.nanoTime();
+        SearchCounters counters = createSearchCounters();
+        EccentricityObjective objective = getObjective();
+
+        if (objective == EccentricityObjective.ROUND_TRIP
+                || !graph.getStronglyConnectedComponents()
+                         .isStronglyConnected()) {
+            return publishStatistics(
+                    findCenterNodesOneByOne(graph, 
+                                            0, 
+                                            counters, 
+                                            budgetStartTime),
+                    counters,
+                    startTime);
+        }
+
+        EccentricityBounds bounds = 
+                new EccentricityBounds(objective == EccentricityObjective.IN ?
+                                       graph.reverse() :
+                                       graph);
+        bounds.setCounters(counters);
+
+        for (int probe = 0;; ++probe) {
+            if (probe > 0
+                    && isBudgetExhausted(bounds.getSearchCount() + 2,
+                                         budgetStartTime)) {
+                break;
+            }
+
+            int source = bounds.selectSource(probe % 2 == 0);
+
+            if (source == -1) {
+                break;
+            }
+
+            bounds.probe(source);
+        }
+
+        double radiusUpperBound = bounds.getRadiusUpperBound();
+        double radiusLowerBound = Math.min(radiusUpperBound,
+                                           bounds.getRadiusLowerBound());
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap lowerBoundMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+        DirectedGraphNodeEccentricityMap upperBoundMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+
+        for (int node = 0; node < graph.size(); ++node) {
+            lowerBoundMap.put(node,
+                              bounds.getLowerBound(node),
+                              bounds.isProbed(node) ?
+                                      EccentricityType.EXACT :
+                                      EccentricityType.LOWER_BOUND);
+            upperBoundMap.put(node,
+                              bounds.getUpperBound(node),
+                              bounds.isProbed(node) ?
+                                      EccentricityType.EXACT :
+                                      EccentricityType.UPPER_BOUND);
+
+            if (bounds.getUpperBound(node) == radiusUpperBound) {
+                centerNodeList.add(graph.getNode(node));
+            }
+        }
+
+        return publishStatistics(
+                new ApproximateGraphCenterData(lowerBoundMap,
+                                               upperBoundMap,
+                                               centerNodeList,
+                                               radiusLowerBound,
+                                               radiusUpperBound),
+                counters,
+                startTime);
+    }
+
+    private ApproximateGraphCenterData
+        findCenterNodesOneByOne(CompactDirectedGraph graph,
+                                int searchCount,
+                                SearchCounters counters,
+                                long budgetStartTime) {
+        EccentricitySearch search = 
+                new EccentricitySearch(graph, getObjective());
+        search.setCounters(counters);
+        int runsPerSearch = 
+                getObjective() == EccentricityObjective.ROUND_TRIP ? 2 : 1;
+
+        double minimumEccentricity = Double.POSITIVE_INFINITY;
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap lowerBoundMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+        DirectedGraphNodeEccentricityMap upperBoundMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+        // The lower bounds of the nodes not searched yet.
+        double[] lowerBounds = new double[graph.size()];
+
+        boolean searched = false;
+        int currentNode = 0;
+
+        for (; currentNode < graph.size(); ++currentNode) {
+            double currentNodeEccentricity;
+
+            if (!search.hasFiniteEccentricity(currentNode)) {
+                currentNodeEccentricity = Double.POSITIVE_INFINITY;
+                lowerBoundMap.put(currentNode, currentNodeEccentricity);
+                upperBoundMap.put(currentNode, currentNodeEccentricity);
+            } else {
+                if (searched
+                        && isBudgetExhausted(searchCount += runsPerSearch,
+                                             budgetStartTime)) {
+                    break;
+                }
+
+                searched = true;
+                currentNodeEccentricity =
+                        search.findEccentricityFrom(currentNode,
+                                                    minimumEccentricity);
+
+                if (search.wasPruned()) {
+                    lowerBoundMap.put(currentNode,
+                                      currentNodeEccentricity,
+                                      EccentricityType.LOWER_BOUND);
+                    upperBoundMap.put(currentNode,
+                                      Double.POSITIVE_INFINITY,
+                                      EccentricityType.UPPER_BOUND);
+                } else {
+                    lowerBoundMap.put(currentNode, currentNodeEccentricity);
+                    upperBoundMap.put(currentNode, currentNodeEccentricity);
+                    tightenLowerBounds(search,
+                                       currentNodeEccentricity,
+                                       currentNode + 1,
+                                       lowerBounds);
+                }
+            }
+
+            if (minimumEccentricity > currentNodeEccentricity) {
+                minimumEccentricity = currentNodeEccentricity;
+                centerNodeList.clear();
+                centerNodeList.add(graph.getNode(currentNode));
+            } else if (currentNodeEccentricity == minimumEccentricity) {
+                centerNodeList.add(graph.getNode(currentNode));
+            }
+        }
+
+        double radiusLowerBound = minimumEccentricity;
+
+        for (; currentNode < graph.size(); ++currentNode) {
+            if (!search.hasFiniteEccentricity(currentNode)) {
+                lowerBoundMap.put(currentNode, Double.POSITIVE_INFINITY);
+                upperBoundMap.put(currentNode, Double.POSITIVE_INFINITY);
+                continue;
+            }
+
+            lowerBoundMap.put(currentNode,
+                              lowerBounds[currentNode],
+                              EccentricityType.LOWER_BOUND);
+            upperBoundMap.put(currentNode,
+                              Double.POSITIVE_INFINITY,
+                              EccentricityType.UPPER_BOUND);
+            radiusLowerBound = Math.min(radiusLowerBound,
+                                        lowerBounds[currentNode]);
+        }
+
+        return new ApproximateGraphCenterData(lowerBoundMap,
+                                              upperBoundMap,
+                                              centerNodeList,
+                                              radiusLowerBound,
+                                              minimumEccentricity);
+    }
+
+    /**
+     * Raises the lower bounds of the nodes from {@code fromNode} on by the
+     * triangle inequality {@code e(v) >= e(u) - d(u, v)}, where {@code u} is
+     * the source of the last, unpruned search. The distance returned by the
+     * search follows the objective, so the inequality holds for each of them.
+     * A round trip between {@code v} and {@code u} is moreover one of the
+     * round trips of {@code v}.
+     */
+    private static void tightenLowerBounds(EccentricitySearch search,
+                                           double eccentricity,
+                                           int fromNode,
+                                           double[] lowerBounds) {
+        boolean roundTrip = 
+                search.getObjective() == EccentricityObjective.ROUND_TRIP;
+
+        for (int node = fromNode; node < lowerBounds.length; ++node) {
+            double distance = search.getDistance(node);
+            double lowerBound = eccentricity - distance;
+
+            if (roundTrip) {
+                lowerBound = Math.max(lowerBound, distance);
+            }
+
+            lowerBounds[node] = Math.max(lowerBounds[node], lowerBound);
+        }
+    }
+
+    private boolean isBudgetExhausted(int searchCount, long startTime) {
+        return searchCount > maximumSearchCount
+                || System.nanoTime() - startTime >= timeBudgetNanos;
+    }
+}
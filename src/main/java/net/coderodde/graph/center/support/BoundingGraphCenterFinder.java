@@ -0,0 +1,120 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.StronglyConnectedComponents;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.EccentricityType;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class implements an exact graph center algorithm in the spirit of
+ * Takes and Kosters: instead of running Dijkstra's algorithm from every node,
+ * it maintains a lower and an upper bound of the eccentricity of each node
+ * (see {@link EccentricityBounds}) and probes only a few nodes. The algorithm
+ * stops as soon as every node has either been probed or has a lower bound
+ * exceeding the smallest eccentricity found so far. The next node to probe is
+ * alternately the one with the smallest lower bound and the one with the
+ * largest upper bound.
+ * <p>
+ * The bounds are only valid when every node reaches every other node, so for
+ * components that are not strongly connected (see
+ * {@link CompactDirectedGraph#getStronglyConnectedComponents()}) this finder
+ * falls back to {@link GraphCenterFinderV2}. As with
+ * {@code GraphCenterFinderV2}, the eccentricities of the nodes that were never
+ * probed are reported as lower bounds exceeding the radius.
+ * <p>
+ * For the {@link EccentricityObjective#IN} objective the bounds are maintained
+ * over the reverse graph. The round trip objective admits no such bounds, so
+ * it always falls back to {@code GraphCenterFinderV2}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class BoundingGraphCenterFinder extends AbstractGraphCenterFinder {
+
+    private volatile int lastSearchCount;
+
+    /**
+     * Returns the amount of Dijkstra runs performed by the most recently
+     * completed {@code findCenterNodes} call, including the runs of the
+     * fallback finder. A round trip search counts as two runs unless its first
+     * half is pruned.
+     *
+     * @return the amount of searches.
+     */
+    public int getLastSearchCount() {
+        return lastSearchCount;
+    }
+
+    @Override
+    public GraphCenterData findCenterNodes(CompactDirectedGraph graph) {
+        EccentricityObjective objective = getObjective();
+        StronglyConnectedComponents components = 
+                graph.getStronglyConnectedComponents();
+        
+        if (objective == EccentricityObjective.ROUND_TRIP
+                || !components.isStronglyConnected()) {
+            GraphCenterFinderV2 fallbackFinder = new GraphCenterFinderV2();
+            copySettingsTo(fallbackFinder);
+            SearchCounters fallbackCounters = new SearchCounters();
+            GraphCenterData data = 
+                    fallbackFinder.findCenterNodes(graph, fallbackCounters);
+            lastSearchCount = (int) fallbackCounters.getSearchCount();
+            return data;
+        }
+        
+        long startTime = System.nanoTime();
+        SearchCounters counters = createSearchCounters();
+        EccentricityBounds bounds = 
+                new EccentricityBounds(objective == EccentricityObjective.IN ?
+                                       graph.reverse() :
+                                       graph);
+        bounds.setCounters(counters);
+
+        for (int probe = 0;; ++probe) {
+            int source = bounds.selectSource(probe % 2 == 0);
+
+            if (source == -1) {
+                break;
+            }
+
+            bounds.probe(source);
+        }
+
+        lastSearchCount = bounds.getSearchCount();
+
+        double minimumEccentricity = bounds.getMinimumEccentricity();
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap eccentricityMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+
+        for (int node = 0; node < graph.size(); ++node) {
+            eccentricityMap.put(node,
+                                bounds.getLowerBound(node),
+                                bounds.isProbed(node) ?
+                                        EccentricityType.EXACT :
+                                        EccentricityType.LOWER_BOUND);
+
+            if (bounds.isProbed(node)
+                    && bounds.getLowerBound(node) == minimumEccentricity) {
+                centerNodeList.add(graph.getNode(node));
+            }
+        }
+
+        if (isCompleteEccentricities()) {
+            eccentricityMap.setResolver(
+                    new SearchEccentricityResolver(graph, getObjective()));
+        }
+
+        return publishStatistics(
+                new GraphCenterData(eccentricityMap, centerNodeList),
+                counters,
+                startTime);
+    }
+}
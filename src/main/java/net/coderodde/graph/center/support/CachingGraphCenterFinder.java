@@ -0,0 +1,549 @@
+package net.coderodde.graph.center.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.GraphFingerprint;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.ApproximateGraphCenterData;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.EccentricityType;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class caches the results of another finder by the
+ * {@link GraphFingerprint} of the queried component. The results are kept in
+ * an in-memory LRU cache bounded by the total amount of cached nodes and,
+ * optionally, in one file per component under a cache directory, so that they
+ * survive a restart. A query on a component whose fingerprint is cached
+ * returns the stored eccentricities and centers without running any search.
+ * <p>
+ * The stored eccentricities are the ones the delegate finder produced, bounds
+ * included. If {@link #isCompleteEccentricities()} is set, the returned maps
+ * compute the missing exact values on demand as usual; these are not written
+ * back to the cache.
+ * <p>
+ * The results are cached separately for each configuration of the delegate
+ * finder, as described by {@link #getResultSettings()}: its class, its
+ * {@link EccentricityObjective} and any setting such as a search budget, so
+ * that finders sharing a cache directory never see each other's results. The
+ * upper bounds and radius bounds of an {@link ApproximateGraphCenterData} are
+ * cached along with the rest, and a hit returns the same type as the miss.
+ * Unreadable or corrupt cache files count as misses and are overwritten.
+ * <p>
+ * A hit skips the searches only: the component search, the snapshot and its
+ * fingerprint are each linear in the size of the component and are computed
+ * on every query, since the fingerprint is what identifies the component.
+ * <p>
+ * A miss returns the {@link net.coderodde.graph.center.SearchStatistics} of
+ * the delegate finder, if it collects any. A hit runs no search, so if this 
+ * finder collects statistics, they report the lookup time alone.
+ * This class is thread-safe if the delegate finder is.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class CachingGraphCenterFinder extends AbstractGraphCenterFinder {
+
+    private static final int FILE_MAGIC = 0x47435243;
+    private static final int FILE_VERSION = 2;
+    private static final String FILE_SUFFIX = ".gcr";
+    private static final EccentricityType[] TYPES = EccentricityType.values();
+
+    private final AbstractGraphCenterFinder delegate;
+    private final long maximumCachedNodeCount;
+    private final Path directory;
+    private final LinkedHashMap<String, Entry> memoryCache =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedNodeCount;
+    private long memoryHitCount;
+    private long fileHitCount;
+    private long missCount;
+
+    public CachingGraphCenterFinder(AbstractGraphCenterFinder delegate,
+                                    long maximumCachedNodeCount) {
+        this(delegate, maximumCachedNodeCount, null);
+    }
+
+    /**
+     * Constructs a caching finder.
+     *
+     * @param delegate               the finder computing the results.
+     * @param maximumCachedNodeCount the maximum total amount of nodes of the
+     *                               components cached in memory.
+     * @param directory              the directory of the cache files, or
+     *                               {@code null} for no persistence.
+     */
+    public CachingGraphCenterFinder(AbstractGraphCenterFinder delegate,
+                                    long maximumCachedNodeCount,
+                                    Path directory) {
+        this.delegate = Objects.requireNonNull(delegate,
+                                               "The input delegate is null.");
+
+        if (maximumCachedNodeCount < 0L) {
+            throw new IllegalArgumentException(
+                    "The maximum cached node count is negative: " +
+                    maximumCachedNodeCount + ".");
+        }
+
+        this.maximumCachedNodeCount = maximumCachedNodeCount;
+        this.directory = directory;
+    }
+
+    @Override
+    public GraphCenterData findCenterNodes(CompactDirectedGraph graph) {
+        long startTime = System.nanoTime();
+        GraphFingerprint fingerprint = graph.getFingerprint();
+        EccentricityObjective objective = delegate.getObjective();
+        String settings = delegate.getResultSettings();
+        String key = getKey(fingerprint, settings);
+        Entry entry = getFromMemory(key, settings);
+
+        if (entry == null && directory != null) {
+            entry = readFile(fingerprint, key, settings);
+
+            if (entry != null) {
+                synchronized (this) {
+                    ++fileHitCount;
+                }
+
+                putToMemory(key, entry);
+            }
+        }
+
+        if (entry != null) {
+            GraphCenterData data = entry.toGraphCenterData(graph);
+
+            if (data != null) {
+                if (isCompleteEccentricities()) {
+                    data.getEccentricityMap().setResolver(
+                            new SearchEccentricityResolver(graph, objective));
+                }
+
+                return publishStatistics(data, 
+                                         createSearchCounters(), 
+                                         startTime);
+            }
+        }
+
+        synchronized (this) {
+            ++missCount;
+        }
+
+        GraphCenterData data = delegate.findCenterNodes(graph);
+        entry = new Entry(graph, data, settings);
+        putToMemory(key, entry);
+
+        if (directory != null) {
+            writeFile(fingerprint, key, entry);
+        }
+
+        if (isCompleteEccentricities()) {
+            data.getEccentricityMap().setResolver(
+                    new SearchEccentricityResolver(graph, objective));
+        }
+
+        return data;
+    }
+
+    /**
+     * Returns the result settings of the delegate finder, whose results this
+     * finder returns.
+     *
+     * @return the description of the settings affecting the results.
+     */
+    @Override
+    public String getResultSettings() {
+        return delegate.getResultSettings();
+    }
+
+    public synchronized long getMemoryHitCount() {
+        return memoryHitCount;
+    }
+
+    public synchronized long getFileHitCount() {
+        return fileHitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Empties the in-memory cache. The cache files are kept.
+     */
+    public synchronized void clearMemoryCache() {
+        memoryCache.clear();
+        cachedNodeCount = 0L;
+    }
+
+    private synchronized Entry getFromMemory(String key, String settings) {
+        Entry entry = memoryCache.get(key);
+
+        // The settings are compared in full, since the key only hashes them.
+        if (entry != null && !entry.settings.equals(settings)) {
+            return null;
+        }
+
+        if (entry != null) {
+            ++memoryHitCount;
+        }
+
+        return entry;
+    }
+
+    private synchronized void putToMemory(String key, Entry entry) {
+        if (entry.ids.length > maximumCachedNodeCount) {
+            return;
+        }
+
+        Entry previous = memoryCache.put(key, entry);
+
+        if (previous != null) {
+            cachedNodeCount -= previous.ids.length;
+        }
+
+        cachedNodeCount += entry.ids.length;
+        Iterator<Entry> iterator = memoryCache.values().iterator();
+
+        // Evict in least recently used order.
+        while (cachedNodeCount > maximumCachedNodeCount) {
+            cachedNodeCount -= iterator.next().ids.length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the cache key of a component, which is also the base name of its
+     * cache file: the fingerprint followed by a 64-bit FNV-1a hash of the
+     * result settings of the delegate finder.
+     */
+    private static String getKey(GraphFingerprint fingerprint,
+                                 String settings) {
+        long hash = 0xCBF29CE484222325L;
+
+        for (int i = 0; i < settings.length(); ++i) {
+            hash ^= settings.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+
+        return fingerprint + "-" + String.format("%016x", hash);
+    }
+
+    private Path getFile(String key) {
+        return directory.resolve(key + FILE_SUFFIX);
+    }
+
+    private Entry readFile(GraphFingerprint fingerprint,
+                           String key,
+                           String settings) {
+        try (InputStream inputStream =
+                Files.newInputStream(getFile(key))) {
+            DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(inputStream));
+
+            if (in.readInt() != FILE_MAGIC
+                    || in.readInt() != FILE_VERSION
+                    || in.readInt() != fingerprint.getNodeCount()
+                    || in.readInt() != fingerprint.getArcCount()
+                    || in.readLong() != fingerprint.getHash1()
+                    || in.readLong() != fingerprint.getHash2()
+                    || !in.readUTF().equals(settings)) {
+                return null;
+            }
+
+            int nodeCount = fingerprint.getNodeCount();
+            boolean approximate = in.readBoolean();
+            double radiusLowerBound = in.readDouble();
+            double radiusUpperBound = in.readDouble();
+            int centerCount = in.readInt();
+
+            if (centerCount < 0 || centerCount > nodeCount) {
+                return null;
+            }
+
+            Entry entry = new Entry(nodeCount,
+                                    centerCount,
+                                    settings,
+                                    approximate);
+            entry.radiusLowerBound = radiusLowerBound;
+            entry.radiusUpperBound = radiusUpperBound;
+
+            for (int i = 0; i < nodeCount; ++i) {
+                entry.ids[i] = in.readInt();
+                entry.eccentricities[i] = in.readDouble();
+                entry.types[i] = in.readByte();
+
+                if (approximate) {
+                    entry.upperBounds[i] = in.readDouble();
+                    entry.upperBoundTypes[i] = in.readByte();
+                }
+            }
+
+            for (int i = 0; i < entry.centerIndices.length; ++i) {
+                entry.centerIndices[i] = in.readInt();
+            }
+
+            return entry.isValid() ? entry : null;
+        } catch (IOException ex) {
+            // A missing or corrupt file is a miss.
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cache file of {@code entry}. Like an unreadable file, a file
+     * that cannot be written only costs a later miss, so the computed result
+     * is returned regardless.
+     */
+    private void writeFile(GraphFingerprint fingerprint,
+                           String key,
+                           Entry entry) {
+        Path temporaryFile = null;
+
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, key, ".tmp");
+
+            try (OutputStream outputStream =
+                    Files.newOutputStream(temporaryFile)) {
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(outputStream));
+
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(fingerprint.getNodeCount());
+                out.writeInt(fingerprint.getArcCount());
+                out.writeLong(fingerprint.getHash1());
+                out.writeLong(fingerprint.getHash2());
+                out.writeUTF(entry.settings);
+                out.writeBoolean(entry.isApproximate());
+                out.writeDouble(entry.radiusLowerBound);
+                out.writeDouble(entry.radiusUpperBound);
+                out.writeInt(entry.centerIndices.length);
+
+                for (int i = 0; i < entry.ids.length; ++i) {
+                    out.writeInt(entry.ids[i]);
+                    out.writeDouble(entry.eccentricities[i]);
+                    out.writeByte(entry.types[i]);
+
+                    if (entry.isApproximate()) {
+                        out.writeDouble(entry.upperBounds[i]);
+                        out.writeByte(entry.upperBoundTypes[i]);
+                    }
+                }
+
+                for (int centerIndex : entry.centerIndices) {
+                    out.writeInt(centerIndex);
+                }
+
+                out.flush();
+            }
+
+            // Readers see either the old or the new complete file.
+            Files.move(temporaryFile,
+                       getFile(key),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // The file stays missing or keeps its old content.
+        } finally {
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    /**
+     * Deletes the temporary file left behind by a failed write, if any.
+     */
+    private static void deleteQuietly(Path temporaryFile) {
+        if (temporaryFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException ex) {
+            // Nothing more to do.
+        }
+    }
+
+    /**
+     * A cached result. The eccentricities are stored by node ID, since the
+     * node indices depend on the representative the component was found
+     * from. An approximate result also keeps its upper bounds and radius
+     * bounds.
+     */
+    private static final class Entry {
+
+        final String settings;
+        final int[] ids;
+        final double[] eccentricities;
+        final byte[] types;
+        final double[] upperBounds;
+        final byte[] upperBoundTypes;
+        final int[] centerIndices;
+        double radiusLowerBound;
+        double radiusUpperBound;
+
+        Entry(int nodeCount,
+              int centerCount,
+              String settings,
+              boolean approximate) {
+            this.settings = settings;
+            this.ids = new int[nodeCount];
+            this.eccentricities = new double[nodeCount];
+            this.types = new byte[nodeCount];
+            this.upperBounds = approximate ? new double[nodeCount] : null;
+            this.upperBoundTypes = approximate ? new byte[nodeCount] : null;
+            this.centerIndices = new int[centerCount];
+        }
+
+        Entry(CompactDirectedGraph graph,
+              GraphCenterData data,
+              String settings) {
+            this(graph.size(),
+                 data.getCenterNodeList().size(),
+                 settings,
+                 data instanceof ApproximateGraphCenterData);
+            store(data.getEccentricityMap(), eccentricities, types);
+
+            if (isApproximate()) {
+                ApproximateGraphCenterData approximateData =
+                        (ApproximateGraphCenterData) data;
+                store(approximateData.getEccentricityUpperBoundMap(),
+                      upperBounds,
+                      upperBoundTypes);
+                radiusLowerBound = approximateData.getRadiusLowerBound();
+                radiusUpperBound = approximateData.getRadiusUpperBound();
+            }
+
+            for (int i = 0; i < ids.length; ++i) {
+                ids[i] = graph.getNodeId(i);
+            }
+
+            List<DirectedGraphNode> centerNodeList = data.getCenterNodeList();
+
+            for (int i = 0; i < centerIndices.length; ++i) {
+                centerIndices[i] = graph.getIndex(centerNodeList.get(i));
+            }
+        }
+
+        boolean isApproximate() {
+            return upperBounds != null;
+        }
+
+        boolean isValid() {
+            if (!areValidTypes(types)) {
+                return false;
+            }
+
+            if (isApproximate()
+                    && (!areValidTypes(upperBoundTypes)
+                        || !(radiusLowerBound <= radiusUpperBound))) {
+                return false;
+            }
+
+            for (int centerIndex : centerIndices) {
+                if (centerIndex < 0 || centerIndex >= ids.length) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Maps this entry onto {@code graph}, or returns {@code null} if
+         * some node is missing from it, which only happens on a fingerprint
+         * collision.
+         */
+        GraphCenterData toGraphCenterData(CompactDirectedGraph graph) {
+            int[] indices = new int[ids.length];
+
+            for (int i = 0; i < ids.length; ++i) {
+                indices[i] = graph.getIndex(new DirectedGraphNode(ids[i]));
+
+                if (indices[i] == -1) {
+                    return null;
+                }
+            }
+
+            DirectedGraphNodeEccentricityMap eccentricityMap =
+                    load(graph, indices, eccentricities, types);
+            List<DirectedGraphNode> centerNodeList =
+                    new ArrayList<>(centerIndices.length);
+
+            for (int centerIndex : centerIndices) {
+                centerNodeList.add(graph.getNode(indices[centerIndex]));
+            }
+
+            if (!isApproximate()) {
+                return new GraphCenterData(eccentricityMap, centerNodeList);
+            }
+
+            return new ApproximateGraphCenterData(
+                    eccentricityMap,
+                    load(graph, indices, upperBounds, upperBoundTypes),
+                    centerNodeList,
+                    radiusLowerBound,
+                    radiusUpperBound);
+        }
+
+        private static void store(
+                DirectedGraphNodeEccentricityMap eccentricityMap,
+                double[] values,
+                byte[] valueTypes) {
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = eccentricityMap.peek(i);
+                EccentricityType type = eccentricityMap.peekType(i);
+                valueTypes[i] = type == null ? 0 : (byte) type.ordinal();
+            }
+        }
+
+        private static DirectedGraphNodeEccentricityMap
+            load(CompactDirectedGraph graph,
+                 int[] indices,
+                 double[] values,
+                 byte[] valueTypes) {
+            DirectedGraphNodeEccentricityMap eccentricityMap =
+                    new DirectedGraphNodeEccentricityMap(graph);
+
+            for (int i = 0; i < values.length; ++i) {
+                if (!Double.isNaN(values[i])) {
+                    eccentricityMap.put(indices[i],
+                                        values[i],
+                                        TYPES[valueTypes[i]]);
+                }
+            }
+
+            return eccentricityMap;
+        }
+
+        private static boolean areValidTypes(byte[] valueTypes) {
+            for (byte type : valueTypes) {
+                if (type < 0 || type >= TYPES.length) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package net.coderodde.graph.center.support;
+
+import java.util.Arrays;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class maintains a lower and an upper eccentricity bound for every node
+ * of a strongly connected {@link CompactDirectedGraph}. Probing a node
+ * {@code u} runs one forward and one backward search from it, yielding the
+ * exact eccentricity {@code e(u)} and, by the triangle inequality, for every
+ * node {@code v}:
+ * <pre>
+ *     max(d(v, u), e(u) - d(u, v)) &lt;= e(v) &lt;= d(v, u) + e(u).
+ * </pre>
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+final class EccentricityBounds {
+
+    /**
+     * The relative slack applied when discarding a node by its lower bound, so
+     * that rounding errors in the bounds never discard a tied center.
+     */
+    private static final double EPSILON = 1e-12;
+
+    private final CompactDirectedGraph graph;
+    private final EccentricitySearch forwardSearch;
+    private final EccentricitySearch backwardSearch;
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final boolean[] probed;
+    private double minimumEccentricity = Double.POSITIVE_INFINITY;
+    private int searchCount;
+
+    EccentricityBounds(CompactDirectedGraph graph) {
+        this.graph = graph;
+        this.forwardSearch = new EccentricitySearch(graph);
+        this.backwardSearch = new EccentricitySearch(graph.reverse());
+        this.lowerBounds = new double[graph.size()];
+        this.upperBounds = new double[graph.size()];
+        this.probed = new boolean[graph.size()];
+        Arrays.fill(upperBounds, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Makes both searches of the probes record their runs in 
+     * {@code counters}.
+     *
+     * @param counters the counters to record in.
+     */
+    void setCounters(SearchCounters counters) {
+        forwardSearch.setCounters(counters);
+        backwardSearch.setCounters(counters);
+    }
+
+    /**
+     * Probes {@code source} and tightens all bounds. The graph must be
+     * strongly connected.
+     *
+     * @param source the node to probe.
+     */
+    void probe(int source) {
+        int nodes = graph.size();
+        double eccentricity = forwardSearch.findEccentricityFrom(source);
+        backwardSearch.findEccentricityFrom(source);
+        searchCount += 2;
+
+        for (int node = 0; node < nodes; ++node) {
+            double distanceTo = backwardSearch.getDistance(node);
+            double distanceFrom = forwardSearch.getDistance(node);
+
+            lowerBounds[node] = Math.max(lowerBounds[node],
+                                         Math.max(distanceTo,
+                                                  eccentricity -
+                                                  distanceFrom));
+            upperBounds[node] = Math.min(upperBounds[node],
+                                         distanceTo + eccentricity);
+        }
+
+        probed[source] = true;
+        lowerBounds[source] = eccentricity;
+        upperBounds[source] = eccentricity;
+        minimumEccentricity = Math.min(minimumEccentricity, eccentricity);
+    }
+
+    /**
+     * Selects the next node to probe among the nodes that are not yet probed
+     * and may still be centers: either the one with the smallest lower bound,
+     * or the one with the largest upper bound.
+     *
+     * @param smallestLowerBound selects the criterion.
+     * @return the next node to probe, or {@code -1} if the center is certified.
+     */
+    int selectSource(boolean smallestLowerBound) {
+        double threshold = minimumEccentricity * (1.0 + EPSILON);
+        int best = -1;
+
+        for (int node = 0; node < lowerBounds.length; ++node) {
+            if (probed[node] || lowerBounds[node] > threshold) {
+                continue;
+            }
+
+            if (best == -1) {
+                best = node;
+            } else if (smallestLowerBound) {
+                if (lowerBounds[node] < lowerBounds[best]
+                        || (lowerBounds[node] == lowerBounds[best]
+                            && upperBounds[node] < upperBounds[best])) {
+                    best = node;
+                }
+            } else if (upperBounds[node] > upperBounds[best]) {
+                best = node;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Returns the smallest lower bound over all nodes, which is a lower bound
+     * of the radius.
+     *
+     * @return a lower bound of the radius.
+     */
+    double getRadiusLowerBound() {
+        double radiusLowerBound = Double.POSITIVE_INFINITY;
+
+        for (double lowerBound : lowerBounds) {
+            radiusLowerBound = Math.min(radiusLowerBound, lowerBound);
+        }
+
+        return radiusLowerBound;
+    }
+
+    /**
+     * Returns the smallest upper bound over all nodes, which is an upper bound
+     * of the radius.
+     *
+     * @return an upper bound of the radius.
+     */
+    double getRadiusUpperBound() {
+        double radiusUpperBound = Double.POSITIVE_INFINITY;
+
+        for (double upperBound : upperBounds) {
+            radiusUpperBound = Math.min(radiusUpperBound, upperBound);
+        }
+
+        return radiusUpperBound;
+    }
+
+    double getLowerBound(int node) {
+        return lowerBounds[node];
+    }
+
+    double getUpperBound(int node) {
+        return upperBounds[node];
+    }
+
+    boolean isProbed(int node) {
+        return probed[node];
+    }
+
+    double getMinimumEccentricity() {
+        return minimumEccentricity;
+    }
+
+    int getSearchCount() {
+        return searchCount;
+    }
+}
@@ -0,0 +1,451 @@
+package net.coderodde.graph.center.support;
+
+import java.util.Objects;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.SearchCounters;
+import net.coderodde.util.BucketQueue;
+import net.coderodde.util.IndexedMinHeap;
+
+/**
+ * This class implements Dijkstra's algorithm computing the eccentricity of a
+ * source node over a {@link CompactDirectedGraph}. An instance owns its search
+ * buffers and reuses them between runs, so it must be confined to a single
+ * thread.
+ * <p>
+ * The {@link EccentricityObjective} given at construction selects what is
+ * computed. For {@code IN}, the search runs over
+ * {@link CompactDirectedGraph#reverse()}, so the distances are the ones
+ * <em>to</em> the source. For {@code ROUND_TRIP}, a second search over the
+ * reverse graph runs after the forward one and the two distances of each node
+ * are summed up. The reverse graph is built once per snapshot and cached by
+ * it.
+ * <p>
+ * The eccentricity of a source that does not reach every node of the graph is
+ * {@link Double#POSITIVE_INFINITY}. The search still runs to completion in
+ * that case, so that {@link #getDistance(int)} reports the distances of the
+ * reached nodes; finders skip such sources up front by consulting
+ * {@link #hasFiniteEccentricity(int)}.
+ * <p>
+ * If every arc weight is a non-negative integer of at most
+ * {@value #MAXIMUM_BUCKET_WEIGHT} (see
+ * {@link CompactDirectedGraph#getMaximumIntegerWeight()}), the search uses a
+ * {@link BucketQueue} with {@code int} distances instead of the binary heap,
+ * unless the bucket queue is disabled at construction.
+ * <p>
+ * Every Dijkstra run, including the backward run of a round trip, is recorded
+ * in the {@link SearchCounters} set by {@link #setCounters(SearchCounters)}
+ * once it finishes.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class EccentricitySearch {
+
+    /**
+     * The largest arc weight for which the bucket queue is used. Beyond it,
+     * the scan over the empty buckets starts to dominate the running time.
+     */
+    public static final int MAXIMUM_BUCKET_WEIGHT = 1024;
+
+    private final boolean bucketQueueEnabled;
+    private final EccentricityObjective objective;
+    private CompactDirectedGraph graph;
+    private CompactDirectedGraph searchGraph;
+    private EccentricitySearch backwardSearch;
+    private boolean backwardSearched;
+    private IndexedMinHeap OPEN;
+    private BucketQueue BUCKETS;
+    private boolean useBuckets;
+    private int settledNodeCount;
+    private boolean pruned;
+    private SearchCounters counters = SearchCounters.NO_OP;
+
+    public EccentricitySearch(CompactDirectedGraph graph) {
+        this(graph, true, EccentricityObjective.OUT);
+    }
+
+    public EccentricitySearch(CompactDirectedGraph graph,
+                              boolean bucketQueueEnabled) {
+        this(graph, bucketQueueEnabled, EccentricityObjective.OUT);
+    }
+
+    public EccentricitySearch(CompactDirectedGraph graph,
+                              EccentricityObjective objective) {
+        this(graph, true, objective);
+    }
+
+    /**
+     * Constructs a search over {@code graph}.
+     *
+     * @param graph              the graph to search.
+     * @param bucketQueueEnabled whether the bucket queue may be used for 
+     *                           graphs with small integer weights.
+     * @param objective          the eccentricity objective.
+     */
+    public EccentricitySearch(CompactDirectedGraph graph,
+                              boolean bucketQueueEnabled,
+                              EccentricityObjective objective) {
+        this.graph = Objects.requireNonNull(graph, "The input graph is null.");
+        this.bucketQueueEnabled = bucketQueueEnabled;
+        this.objective = Objects.requireNonNull(objective,
+                                                "The input objective is null.");
+        initialize();
+    }
+
+    public CompactDirectedGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Makes this search run over {@code graph}. The search buffers are
+     * reallocated only if {@code graph} is larger than any graph seen so far.
+     *
+     * @param graph the new graph.
+     */
+    public void setGraph(CompactDirectedGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        this.graph = graph;
+        initialize();
+    }
+
+    public EccentricityObjective getObjective() {
+        return objective;
+    }
+
+    public SearchCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * Makes this search record its runs in {@code counters}.
+     *
+     * @param counters the counters to record in.
+     */
+    public void setCounters(SearchCounters counters) {
+        this.counters = Objects.requireNonNull(counters,
+                                               "The input counters are null.");
+
+        if (backwardSearch != null) {
+            backwardSearch.setCounters(counters);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the eccentricity of {@code source} under the
+     * objective of this search is finite, judging by the strongly connected
+     * components of the graph alone.
+     *
+     * @param source the source node index.
+     * @return {@code true} if the eccentricity of the source is finite.
+     */
+    public boolean hasFiniteEccentricity(int source) {
+        if (objective == EccentricityObjective.ROUND_TRIP) {
+            return graph.getStronglyConnectedComponents()
+                        .isStronglyConnected();
+        }
+
+        return searchGraph.getStronglyConnectedComponents()
+                          .canReachAll(source);
+    }
+
+    /**
+     * Returns {@code true} if this search runs on the bucket queue.
+     *
+     * @return {@code true} if the bucket queue is in use.
+     */
+    public boolean usesBucketQueue() {
+        return useBuckets;
+    }
+
+    public double findEccentricityFrom(int source) {
+        return findEccentricityFrom(source, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Computes the eccentricity of {@code source}, but gives up as soon as
+     * some node is settled at a distance larger than {@code bound}. In that
+     * case the returned value is a lower bound of the actual eccentricity that
+     * is itself larger than {@code bound}.
+     *
+     * @param source the source node index.
+     * @param bound  the pruning bound.
+     * @return the eccentricity or a lower bound exceeding {@code bound}.
+     */
+    public double findEccentricityFrom(int source, double bound) {
+        return findEccentricityFrom(source, bound, null);
+    }
+
+    /**
+     * Works like {@link #findEccentricityFrom(int, double)}, but additionally
+     * rereads {@code sharedBound} whenever a node is settled, so that bounds
+     * published by concurrent searches take effect immediately.
+     *
+     * @param source      the source node index.
+     * @param sharedBound the shared pruning bound.
+     * @return the eccentricity or a lower bound exceeding the bound.
+     */
+    public double findEccentricityFrom(int source,
+                                       SharedPruningBound sharedBound) {
+        Objects.requireNonNull(sharedBound, "The input shared bound is null.");
+        return findEccentricityFrom(source, Double.POSITIVE_INFINITY,
+                                    sharedBound);
+    }
+
+    /**
+     * Returns the distance of {@code node} computed by the most recent search,
+     * or {@link Double#POSITIVE_INFINITY} if the node was not reached. Only
+     * settled nodes are guaranteed to have their final distance, so after a
+     * pruned search the values of the other nodes are upper bounds. For the
+     * round trip objective, the distance is the sum of the distances from and
+     * to the source.
+     *
+     * @param node the node index.
+     * @return the distance of the node.
+     */
+    public double getDistance(int node) {
+        if (backwardSearch == null) {
+            return getSearchDistance(node);
+        }
+
+        return getSearchDistance(node) + (backwardSearched ?
+                                          backwardSearch.getDistance(node) :
+                                          Double.POSITIVE_INFINITY);
+    }
+
+    private double getSearchDistance(int node) {
+        if (useBuckets) {
+            return BUCKETS.hasBeenAdded(node) ?
+                   BUCKETS.getPriority(node) :
+                   Double.POSITIVE_INFINITY;
+        }
+
+        return OPEN.hasBeenAdded(node) ? 
+               OPEN.getPriority(node) : 
+               Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the amount of nodes settled by the most recent search.
+     *
+     * @return the amount of settled nodes.
+     */
+    public int getSettledNodeCount() {
+        return settledNodeCount;
+    }
+
+    /**
+     * Returns {@code true} if the most recent search was cut short by its
+     * pruning bound.
+     *
+     * @return {@code true} if the last search was pruned.
+     */
+    public boolean wasPruned() {
+        return pruned;
+    }
+
+    private void initialize() {
+        searchGraph = objective == EccentricityObjective.IN ?
+                      graph.reverse() :
+                      graph;
+
+        if (objective == EccentricityObjective.ROUND_TRIP) {
+            if (backwardSearch == null) {
+                backwardSearch = new EccentricitySearch(graph.reverse(),
+                                                        bucketQueueEnabled);
+                backwardSearch.setCounters(counters);
+            } else {
+                backwardSearch.setGraph(graph.reverse());
+            }
+        }
+
+        selectQueue();
+    }
+
+    private void selectQueue() {
+        int maximumWeight = graph.getMaximumIntegerWeight();
+
+        // The distances must fit in an int.
+        useBuckets = bucketQueueEnabled
+                && maximumWeight >= 0
+                && maximumWeight <= MAXIMUM_BUCKET_WEIGHT
+                && (long) maximumWeight * graph.size() <= Integer.MAX_VALUE;
+
+        if (useBuckets) {
+            if (BUCKETS == null
+                    || BUCKETS.capacity() < graph.size()
+                    || BUCKETS.getMaximumPriorityRange() < maximumWeight) {
+                BUCKETS = new BucketQueue(
+                        graph.size(),
+                        BUCKETS == null ?
+                                maximumWeight :
+                                Math.max(maximumWeight,
+                                         BUCKETS.getMaximumPriorityRange()));
+            }
+        } else if (OPEN == null || OPEN.capacity() < graph.size()) {
+            OPEN = new IndexedMinHeap(graph.size());
+        }
+    }
+
+    private double findEccentricityFrom(int source,
+                                        double bound,
+                                        SharedPruningBound sharedBound) {
+        double eccentricity = 
+                useBuckets ?
+                findEccentricityWithBuckets(source, bound, sharedBound) :
+                findEccentricityWithHeap(source, bound, sharedBound);
+
+        if (backwardSearch == null) {
+            return eccentricity;
+        }
+
+        backwardSearched = false;
+
+        if (pruned || eccentricity == Double.POSITIVE_INFINITY) {
+            return eccentricity;
+        }
+
+        double backwardEccentricity = 
+                backwardSearch.findEccentricityFrom(source,
+                                                    bound,
+                                                    sharedBound);
+        backwardSearched = true;
+        settledNodeCount += backwardSearch.settledNodeCount;
+        pruned = backwardSearch.pruned;
+
+        if (pruned || backwardEccentricity == Double.POSITIVE_INFINITY) {
+            return Math.max(eccentricity, backwardEccentricity);
+        }
+
+        // Both searches are complete, so every round trip is exact.
+        double maximumRoundTrip = 0.0;
+
+        for (int node = 0; node < graph.size(); ++node) {
+            maximumRoundTrip = Math.max(maximumRoundTrip, getDistance(node));
+        }
+
+        return maximumRoundTrip;
+    }
+
+    private double findEccentricityWithHeap(int source,
+                                            double bound,
+                                            SharedPruningBound sharedBound) {
+        OPEN.clear();
+        OPEN.add(source, 0.0);
+
+        double maximumDistance = 0.0;
+        int relaxedArcCount = 0;
+        int decreasePriorityCount = 0;
+        settledNodeCount = 0;
+        pruned = false;
+
+        while (!OPEN.isEmpty()) {
+            double currentDistance = OPEN.minPriority();
+            int current = OPEN.extractMinimum();
+            ++settledNodeCount;
+
+            if (maximumDistance < currentDistance) {
+                maximumDistance = currentDistance;
+
+                if (maximumDistance > bound
+                        || (sharedBound != null
+                            && maximumDistance > sharedBound.get())) {
+                    pruned = true;
+                    counters.recordSearch(settledNodeCount,
+                                          relaxedArcCount,
+                                          decreasePriorityCount,
+                                          true);
+                    return maximumDistance;
+                }
+            }
+
+            relaxedArcCount += searchGraph.childrenEnd(current) - 
+                               searchGraph.childrenBegin(current);
+
+            for (int arc = searchGraph.childrenBegin(current);
+                    arc < searchGraph.childrenEnd(current);
+                    ++arc) {
+                int child = searchGraph.target(arc);
+                double tentativeDistance = 
+                        currentDistance + searchGraph.weight(arc);
+
+                if (!OPEN.hasBeenAdded(child)) {
+                    OPEN.add(child, tentativeDistance);
+                } else if (OPEN.contains(child)
+                        && tentativeDistance < OPEN.getPriority(child)) {
+                    OPEN.decreasePriority(child, tentativeDistance);
+                    ++decreasePriorityCount;
+                }
+            }
+        }
+
+        counters.recordSearch(settledNodeCount,
+                              relaxedArcCount,
+                              decreasePriorityCount,
+                              false);
+        return settledNodeCount < graph.size() ?
+               Double.POSITIVE_INFINITY :
+               maximumDistance;
+    }
+
+    private double findEccentricityWithBuckets(int source,
+                                               double bound,
+                                               SharedPruningBound sharedBound) {
+        BUCKETS.clear();
+        BUCKETS.add(source, 0);
+
+        int maximumDistance = 0;
+        int relaxedArcCount = 0;
+        int decreasePriorityCount = 0;
+        settledNodeCount = 0;
+        pruned = false;
+
+        while (!BUCKETS.isEmpty()) {
+            int currentDistance = BUCKETS.minPriority();
+            int current = BUCKETS.extractMinimum();
+            ++settledNodeCount;
+
+            if (maximumDistance < currentDistance) {
+                maximumDistance = currentDistance;
+
+                if (maximumDistance > bound
+                        || (sharedBound != null
+                            && maximumDistance > sharedBound.get())) {
+                    pruned = true;
+                    counters.recordSearch(settledNodeCount,
+                                          relaxedArcCount,
+                                          decreasePriorityCount,
+                                          true);
+                    return maximumDistance;
+                }
+            }
+
+            relaxedArcCount += searchGraph.childrenEnd(current) - 
+                               searchGraph.childrenBegin(current);
+
+            for (int arc = searchGraph.childrenBegin(current);
+                    arc < searchGraph.childrenEnd(current);
+                    ++arc) {
+                int child = searchGraph.target(arc);
+                int tentativeDistance = 
+                        currentDistance + (int) searchGraph.weight(arc);
+
+                if (!BUCKETS.hasBeenAdded(child)) {
+                    BUCKETS.add(child, tentativeDistance);
+                } else if (BUCKETS.contains(child)
+                        && tentativeDistance < BUCKETS.getPriority(child)) {
+                    BUCKETS.decreasePriority(child, tentativeDistance);
+                    ++decreasePriorityCount;
+                }
+            }
+        }
+
+        counters.recordSearch(settledNodeCount,
+                              relaxedArcCount,
+                              decreasePriorityCount,
+                              false);
+        return settledNodeCount < graph.size() ?
+               Double.POSITIVE_INFINITY :
+               maximumDistance;
+    }
+}
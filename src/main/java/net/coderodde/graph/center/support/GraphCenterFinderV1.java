@@ -1,17 +1,14 @@
 package net.coderodde.graph.center.support;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import net.coderodde.graph.CompactDirectedGraph;
 import net.coderodde.graph.center.AbstractGraphCenterFinder;
 import net.coderodde.graph.DirectedGraphNode;
-import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
 import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
 import net.coderodde.graph.center.GraphCenterData;
-import net.coderodde.util.BinaryHeap;
+import net.coderodde.graph.center.SearchCounters;
 
 /**
  * This class implements the most naive graph center algorithm: it runs 
@@ -22,106 +19,63 @@ import net.coderodde.util.BinaryHeap;
  */
 public class GraphCenterFinderV1 extends AbstractGraphCenterFinder {
 
-    private BinaryHeap<DirectedGraphNode> OPEN;
-    private Set<DirectedGraphNode> CLOSED;
-    private Map<DirectedGraphNode, Double> DISTANCES;
-    private List<DirectedGraphNode> connectedComponent;
-    private DirectedGraphWeightFunction weightFunction;
-    
-    public GraphCenterFinderV1() {
-        
+    /**
+     * Finds the center nodes reusing the component snapshot and the search
+     * buffers held by {@code context}.
+     * 
+     * @param context                          the thread-confined context.
+     * @param connectedComponentRepresentative any node of the component.
+     * @param weightFunction                   the weight function.
+     * @return the graph center data.
+     */
+    public GraphCenterData 
+        findCenterNodes(GraphCenterSearchContext context,
+                        DirectedGraphNode connectedComponentRepresentative,
+                        DirectedGraphWeightFunction weightFunction) {
+        CompactDirectedGraph graph = 
+                context.getGraph(connectedComponentRepresentative,
+                                 weightFunction,
+                                 this);
+        return findCenterNodes(graph, context.getSearch(graph, getObjective()));
     }
     
-    private GraphCenterFinderV1
-        (DirectedGraphNode connectedComponentRepresentative,
-         DirectedGraphWeightFunction weightFunction) {
-        connectedComponent = 
-                findConnectedComponent(connectedComponentRepresentative);
-        
-        int connectedComponentSize = connectedComponent.size();
-        
-        OPEN = new BinaryHeap<>(connectedComponentSize);
-        CLOSED = new HashSet<>(connectedComponentSize);
-        DISTANCES = new HashMap<>(connectedComponentSize);
-        
-        this.weightFunction = weightFunction;
+    @Override
+    public GraphCenterData findCenterNodes(CompactDirectedGraph graph) {
+        return findCenterNodes(graph,
+                               new EccentricitySearch(graph, getObjective()));
     }
     
-    @Override
-    public GraphCenterData 
-        findCenterNodes(DirectedGraphNode connectedComponentRepresentative,
-                        DirectedGraphWeightFunction weightFunction) {
-            
-        GraphCenterFinderV1 finderState = 
-                new GraphCenterFinderV1(connectedComponentRepresentative,
-                                        weightFunction);
-        
+    private GraphCenterData findCenterNodes(CompactDirectedGraph graph,
+                                            EccentricitySearch search) {
+        long startTime = System.nanoTime();
+        SearchCounters counters = createSearchCounters();
+        search.setCounters(counters);
         double minimumEccentricity = Double.POSITIVE_INFINITY;
         List<DirectedGraphNode> centerNodeList = new ArrayList<>();
         DirectedGraphNodeEccentricityMap eccentricityMap =
-                new DirectedGraphNodeEccentricityMap();
+                new DirectedGraphNodeEccentricityMap(graph);
         
-        for (DirectedGraphNode currentNode : finderState.connectedComponent) {
+        for (int currentNode = 0; currentNode < graph.size(); ++currentNode) {
             double currentNodeEccentricity = 
-                    finderState.findEccentricityFrom(currentNode);
+                    search.hasFiniteEccentricity(currentNode) ?
+                            search.findEccentricityFrom(currentNode) :
+                            Double.POSITIVE_INFINITY;
             
             eccentricityMap.put(currentNode, currentNodeEccentricity);
             
             if (minimumEccentricity > currentNodeEccentricity) {
                 minimumEccentricity = currentNodeEccentricity;
                 centerNodeList.clear();
-                centerNodeList.add(currentNode);
+                centerNodeList.add(graph.getNode(currentNode));
             } else if (currentNodeEccentricity == minimumEccentricity) {
-                centerNodeList.add(currentNode);
-            }
-        }
-        
-        return new GraphCenterData(eccentricityMap, centerNodeList);
-    }
-        
-    private double weight(DirectedGraphNode tail, DirectedGraphNode head) {
-        return weightFunction.get(tail, head);
-    }
-        
-    private double findEccentricityFrom(DirectedGraphNode node) {
-        OPEN.clear();
-        CLOSED.clear();
-        DISTANCES.clear();
-            
-        OPEN.add(node, 0.0);
-        DISTANCES.put(node, 0.0);
-        
-        double maximumDistance = 0.0;
-        
-        while (!OPEN.isEmpty()) {
-            DirectedGraphNode current = OPEN.extractMinimum();
-            
-            CLOSED.add(current);
-            
-            for (DirectedGraphNode child : current.children()) {
-                if (!CLOSED.contains(child)) {
-                    double tentativeDistance = 
-                            DISTANCES.get(current) + weight(current, child);
-                    
-                    if (!OPEN.contains(child)) {
-                        OPEN.add(child, tentativeDistance);
-                        DISTANCES.put(child, tentativeDistance);
-                        
-                        if (maximumDistance < tentativeDistance) {
-                            maximumDistance = tentativeDistance;
-                        }
-                    } else if (DISTANCES.get(child) > tentativeDistance) {
-                        DISTANCES.put(child, tentativeDistance);
-                        OPEN.decreasePriority(child, tentativeDistance);
-                        
-                        if (maximumDistance < tentativeDistance) {
-                            maximumDistance = tentativeDistance;
-                        }
-                    }
-                }
+                centerNodeList.add(graph.getNode(currentNode));
             }
         }
         
-        return maximumDistance;
+        search.setCounters(SearchCounters.NO_OP);
+        return publishStatistics(
+                new GraphCenterData(eccentricityMap, centerNodeList),
+                counters,
+                startTime);
     }
 }
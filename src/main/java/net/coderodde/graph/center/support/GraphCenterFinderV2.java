@@ -1,137 +1,145 @@
 package net.coderodde.graph.center.support;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
+import net.coderodde.graph.CompactDirectedGraph;
 import net.coderodde.graph.center.AbstractGraphCenterFinder;
 import net.coderodde.graph.DirectedGraphNode;
-import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
 import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityType;
 import net.coderodde.graph.center.GraphCenterData;
-import net.coderodde.util.BinaryHeap;
+import net.coderodde.graph.center.SearchCounters;
 
 /**
- * This class implements the most naive graph center algorithm: it runs 
- * Dijkstra's algorithm from each node with any heuristics or pruning.
+ * This class implements a pruned graph center algorithm: it runs Dijkstra's
+ * algorithm from each node, but gives up on a source as soon as it settles a
+ * node farther than the smallest eccentricity found so far. The sources are
+ * visited in the order selected by {@link #setSourceOrdering(SourceOrdering)}.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Nov 27, 2015)
  */
 public class GraphCenterFinderV2 extends AbstractGraphCenterFinder {
 
-    private BinaryHeap<DirectedGraphNode> OPEN;
-    private Set<DirectedGraphNode> CLOSED;
-    private Map<DirectedGraphNode, Double> DISTANCES;
-    private List<DirectedGraphNode> connectedComponent;
-    private DirectedGraphWeightFunction weightFunction;
+    private volatile SourceOrdering sourceOrdering = SourceOrdering.NATURAL;
     
-    public GraphCenterFinderV2() {
-        
+    public SourceOrdering getSourceOrdering() {
+        return sourceOrdering;
     }
     
-    private GraphCenterFinderV2
-        (DirectedGraphNode connectedComponentRepresentative,
-         DirectedGraphWeightFunction weightFunction) {
-        connectedComponent = 
-                findConnectedComponent(connectedComponentRepresentative);
-        
-        int connectedComponentSize = connectedComponent.size();
-        
-        OPEN = new BinaryHeap<>(connectedComponentSize);
-        CLOSED = new HashSet<>(connectedComponentSize);
-        DISTANCES = new HashMap<>(connectedComponentSize);
-        
-        this.weightFunction = weightFunction;
+    /**
+     * Selects the order in which the sources are searched. The center node 
+     * list is in node index order regardless. The default is 
+     * {@link SourceOrdering#NATURAL}.
+     * 
+     * @param sourceOrdering the source ordering.
+     */
+    public void setSourceOrdering(SourceOrdering sourceOrdering) {
+        this.sourceOrdering = 
+                Objects.requireNonNull(sourceOrdering, 
+                                       "The input source ordering is null.");
     }
-    
-    @Override
+
+    /**
+     * Finds the center nodes reusing the component snapshot and the search
+     * buffers held by {@code context}.
+     * 
+     * @param context                          the thread-confined context.
+     * @param connectedComponentRepresentative any node of the component.
+     * @param weightFunction                   the weight function.
+     * @return the graph center data.
+     */
     public GraphCenterData 
-        findCenterNodes(DirectedGraphNode connectedComponentRepresentative,
+        findCenterNodes(GraphCenterSearchContext context,
+                        DirectedGraphNode connectedComponentRepresentative,
                         DirectedGraphWeightFunction weightFunction) {
-            
-        GraphCenterFinderV2 finderState = 
-                new GraphCenterFinderV2(connectedComponentRepresentative,
-                                        weightFunction);
-        
+        CompactDirectedGraph graph = 
+                context.getGraph(connectedComponentRepresentative,
+                                 weightFunction,
+                                 this);
+        return findCenterNodes(graph, 
+                               context.getSearch(graph, getObjective()),
+                               createSearchCounters());
+    }
+    
+    @Override
+    public GraphCenterData findCenterNodes(CompactDirectedGraph graph) {
+        return findCenterNodes(graph, createSearchCounters());
+    }
+    
+    /**
+     * Works like {@link #findCenterNodes(CompactDirectedGraph)}, but records
+     * the searches in {@code counters} even while statistics are off. The
+     * result carries statistics only if they are on.
+     */
+    GraphCenterData findCenterNodes(CompactDirectedGraph graph,
+                                    SearchCounters counters) {
+        return findCenterNodes(graph, 
+                               new EccentricitySearch(graph, getObjective()),
+                               counters);
+    }
+    
+    private GraphCenterData findCenterNodes(CompactDirectedGraph graph,
+                                            EccentricitySearch search,
+                                            SearchCounters counters) {
+        long startTime = System.nanoTime();
+        search.setCounters(counters);
+        SourceOrdering sourceOrdering = this.sourceOrdering;
+        int[] order = sourceOrdering == SourceOrdering.NATURAL ?
+                      null :
+                      sourceOrdering.computeOrder(graph, getObjective());
         double minimumEccentricity = Double.POSITIVE_INFINITY;
         List<DirectedGraphNode> centerNodeList = new ArrayList<>();
         DirectedGraphNodeEccentricityMap eccentricityMap =
-                new DirectedGraphNodeEccentricityMap();
+                new DirectedGraphNodeEccentricityMap(graph);
         
-        for (DirectedGraphNode currentNode : finderState.connectedComponent) {
+        for (int i = 0; i < graph.size(); ++i) {
+            int currentNode = order == null ? i : order[i];
+            boolean searched = search.hasFiniteEccentricity(currentNode);
             double currentNodeEccentricity = 
-                    finderState.findEccentricityFrom(currentNode, 
-                                                     minimumEccentricity);
+                    searched ?
+                            search.findEccentricityFrom(currentNode, 
+                                                        minimumEccentricity) :
+                            Double.POSITIVE_INFINITY;
             
-            eccentricityMap.put(currentNode, currentNodeEccentricity);
+            eccentricityMap.put(currentNode, 
+                                currentNodeEccentricity,
+                                searched && search.wasPruned() ? 
+                                        EccentricityType.LOWER_BOUND :
+                                        EccentricityType.EXACT);
             
             if (minimumEccentricity > currentNodeEccentricity) {
                 minimumEccentricity = currentNodeEccentricity;
                 centerNodeList.clear();
-                centerNodeList.add(currentNode);
+                centerNodeList.add(graph.getNode(currentNode));
             } else if (currentNodeEccentricity == minimumEccentricity) {
-                centerNodeList.add(currentNode);
+                centerNodeList.add(graph.getNode(currentNode));
             }
         }
         
-        return new GraphCenterData(eccentricityMap, centerNodeList);
-    }
-        
-    private double weight(DirectedGraphNode tail, DirectedGraphNode head) {
-        return weightFunction.get(tail, head);
-    }
-        
-    private double findEccentricityFrom(DirectedGraphNode node,
-                                        double minimumEccentricity) {
-        OPEN.clear();
-        CLOSED.clear();
-        DISTANCES.clear();
-            
-        OPEN.add(node, 0.0);
-        DISTANCES.put(node, 0.0);
-        
-        double maximumDistance = 0.0;
-        
-        while (!OPEN.isEmpty()) {
-            DirectedGraphNode current = OPEN.extractMinimum();
+        if (order != null) {
+            // The pruned nodes are never tied with the centers.
+            centerNodeList.clear();
             
-            CLOSED.add(current);
-            
-            for (DirectedGraphNode child : current.children()) {
-                if (!CLOSED.contains(child)) {
-                    double tentativeDistance = 
-                            DISTANCES.get(current) + weight(current, child);
-                     
-                    if (!OPEN.contains(child)) {
-                        OPEN.add(child, tentativeDistance);
-                        DISTANCES.put(child, tentativeDistance);
-                        
-                        if (maximumDistance < tentativeDistance) {
-                            maximumDistance = tentativeDistance;
-                            
-                            if (maximumDistance > minimumEccentricity) {
-                                return maximumDistance;
-                            }
-                        }
-                    } else if (DISTANCES.get(child) > tentativeDistance) {
-                        DISTANCES.put(child, tentativeDistance);
-                        OPEN.decreasePriority(child, tentativeDistance);
-                        
-                        if (maximumDistance < tentativeDistance) {
-                            maximumDistance = tentativeDistance;
-                            
-                            if (maximumDistance > minimumEccentricity) {
-                                return maximumDistance;
-                            }
-                        }
-                    }
+            for (int node = 0; node < graph.size(); ++node) {
+                if (eccentricityMap.peekType(node) == EccentricityType.EXACT
+                        && eccentricityMap.peek(node) == minimumEccentricity) {
+                    centerNodeList.add(graph.getNode(node));
                 }
             }
         }
         
-        return maximumDistance;
+        if (isCompleteEccentricities()) {
+            eccentricityMap.setResolver(
+                    new SearchEccentricityResolver(graph, getObjective()));
+        }
+        
+        search.setCounters(SearchCounters.NO_OP);
+        return publishStatistics(
+                new GraphCenterData(eccentricityMap, centerNodeList),
+                isStatisticsEnabled() ? counters : SearchCounters.NO_OP,
+                startTime);
     }
 }
@@ -0,0 +1,167 @@
+package net.coderodde.graph.center.support;
+
+import java.util.Objects;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.NodeOrdering;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.EccentricityObjective;
+
+/**
+ * This class holds the state that repeated center searches on the same thread
+ * can share: the search buffers, sized to the largest component seen so far,
+ * and the {@link CompactDirectedGraph} snapshot of the most recently queried
+ * component. The snapshot is reused for as long as neither the arcs of its
+ * nodes (see {@link DirectedGraphNode#getModificationCount()}) nor the weight
+ * function change, so steady-state queries on an unchanged graph skip the
+ * component search and the snapshot construction altogether. Validating the
+ * snapshot reads the modification count of each of its nodes, which is linear
+ * in the node count, but edits to other graphs do not invalidate it.
+ * <p>
+ * The snapshot is built by the finder passed to
+ * {@link #getGraph(DirectedGraphNode, DirectedGraphWeightFunction,
+ * AbstractGraphCenterFinder)}, so its {@link NodeOrdering} applies; a query
+ * under another ordering rebuilds the snapshot.
+ * <p>
+ * A context is confined to the thread that created it; using it from any
+ * other thread throws an {@link IllegalStateException}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class GraphCenterSearchContext {
+
+    private final Thread ownerThread = Thread.currentThread();
+    private final AbstractGraphCenterFinder componentFinder =
+            new GraphCenterFinderV1();
+
+    private CompactDirectedGraph graph;
+    private DirectedGraphWeightFunction weightFunction;
+    private NodeOrdering nodeOrdering;
+    private long graphModificationCount;
+    private long weightFunctionModificationCount;
+    private EccentricitySearch search;
+
+    /**
+     * Returns the snapshot of the connected component containing
+     * {@code connectedComponentRepresentative} in the order of its nodes as
+     * found, as built by a finder with the default settings.
+     *
+     * @param connectedComponentRepresentative any node of the component.
+     * @param weightFunction                   the weight function.
+     * @return the component snapshot.
+     */
+    public CompactDirectedGraph
+        getGraph(DirectedGraphNode connectedComponentRepresentative,
+                 DirectedGraphWeightFunction weightFunction) {
+        return getGraph(connectedComponentRepresentative,
+                        weightFunction,
+                        componentFinder);
+    }
+
+    /**
+     * Returns the snapshot of the connected component containing
+     * {@code connectedComponentRepresentative} as built by
+     * {@code finder}, reusing the cached snapshot if it contains the
+     * representative, was built under the node ordering of {@code finder}
+     * and the graph has not been modified since.
+     *
+     * @param connectedComponentRepresentative any node of the component.
+     * @param weightFunction                   the weight function.
+     * @param finder                           the finder whose settings
+     *                                         apply to the snapshot.
+     * @return the component snapshot.
+     */
+    public CompactDirectedGraph
+        getGraph(DirectedGraphNode connectedComponentRepresentative,
+                 DirectedGraphWeightFunction weightFunction,
+                 AbstractGraphCenterFinder finder) {
+        checkThread();
+        Objects.requireNonNull(connectedComponentRepresentative,
+                               "The input representative is null.");
+        Objects.requireNonNull(weightFunction,
+                               "The input weight function is null.");
+        Objects.requireNonNull(finder, "The input finder is null.");
+
+        NodeOrdering currentNodeOrdering = finder.getNodeOrdering();
+
+        if (graph == null
+                || this.weightFunction != weightFunction
+                || nodeOrdering != currentNodeOrdering
+                || weightFunctionModificationCount !=
+                   weightFunction.getModificationCount()
+                || graph.getIndex(connectedComponentRepresentative) == -1
+                || graphModificationCount != sumModificationCounts(graph)) {
+            graph = finder.createCompactGraph(
+                    connectedComponentRepresentative, weightFunction);
+            this.weightFunction = weightFunction;
+            this.nodeOrdering = currentNodeOrdering;
+            this.graphModificationCount = sumModificationCounts(graph);
+            this.weightFunctionModificationCount =
+                    weightFunction.getModificationCount();
+        }
+
+        return graph;
+    }
+
+    public EccentricitySearch getSearch(CompactDirectedGraph graph) {
+        return getSearch(graph, EccentricityObjective.OUT);
+    }
+
+    /**
+     * Returns the search of this context set up to run over {@code graph}
+     * under {@code objective}.
+     *
+     * @param graph     the graph to search.
+     * @param objective the eccentricity objective.
+     * @return the eccentricity search.
+     */
+    public EccentricitySearch getSearch(CompactDirectedGraph graph,
+                                        EccentricityObjective objective) {
+        checkThread();
+
+        if (search == null || search.getObjective() != objective) {
+            search = new EccentricitySearch(graph, objective);
+        } else if (search.getGraph() != graph) {
+            search.setGraph(graph);
+        }
+
+        return search;
+    }
+
+    /**
+     * Forgets the cached snapshot, releasing its memory.
+     */
+    public void invalidate() {
+        checkThread();
+        graph = null;
+        weightFunction = null;
+    }
+
+    /**
+     * Sums the modification counts of the nodes of {@code graph}. The counts
+     * only grow, so the sum changes whenever any of them does.
+     *
+     * @param graph the snapshot.
+     * @return the sum of the modification counts.
+     */
+    private static long sumModificationCounts(CompactDirectedGraph graph) {
+        long sum = 0L;
+
+        for (DirectedGraphNode node : graph.getNodeList()) {
+            sum += node.getModificationCount();
+        }
+
+        return sum;
+    }
+
+    private void checkThread() {
+        if (Thread.currentThread() != ownerThread) {
+            throw new IllegalStateException(
+                    "The search context is confined to " + ownerThread +
+                    ", but was accessed from " + Thread.currentThread() +
+                    ".");
+        }
+    }
+}
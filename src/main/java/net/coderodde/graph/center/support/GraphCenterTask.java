@@ -0,0 +1,181 @@
+package net.coderodde.graph.center.support;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import net.coderodde.graph.center.ApproximateGraphCenterData;
+
+/**
+ * This class is the handle of a center search submitted to an
+ * {@link InterruptibleGraphCenterFinder}. Unlike a plain {@link Future}, a
+ * task that is cancelled or runs past its deadline still completes normally:
+ * {@link #get()} then returns the best partial result with its bounds.
+ * <p>
+ * Cancelling lowers the pruning bound shared with the running search to
+ * {@link Double#NEGATIVE_INFINITY}, so the search in flight gives up as soon
+ * as it settles a node farther than the ones before, and no further source is
+ * searched. The deadline is checked before each source and enforced in the
+ * same way by any thread waiting in {@link #get()}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class GraphCenterTask {
+
+    private final int sourceCount;
+    private final long startTime = System.nanoTime();
+    private final long timeoutNanos;
+    private final SharedPruningBound bound = new SharedPruningBound();
+    private volatile Future<ApproximateGraphCenterData> future;
+    private volatile boolean cancelled;
+    private volatile boolean deadlineExceeded;
+    private volatile int processedSourceCount;
+    private volatile double radiusUpperBound = Double.POSITIVE_INFINITY;
+
+    GraphCenterTask(int sourceCount, long timeoutNanos) {
+        this.sourceCount = sourceCount;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Asks the search to stop and to return its best partial result.
+     *
+     * @return {@code false} if the search had already completed.
+     */
+    public boolean cancel() {
+        if (isDone()) {
+            return false;
+        }
+
+        cancelled = true;
+        bound.lowerTo(Double.NEGATIVE_INFINITY);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns {@code true} if the search was stopped by its deadline.
+     *
+     * @return {@code true} if the deadline was exceeded.
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    public boolean isDone() {
+        return future != null && future.isDone();
+    }
+
+    public int getProcessedSourceCount() {
+        return processedSourceCount;
+    }
+
+    public int getSourceCount() {
+        return sourceCount;
+    }
+
+    /**
+     * Returns the smallest eccentricity found so far.
+     *
+     * @return the current radius upper bound.
+     */
+    public double getRadiusUpperBound() {
+        return radiusUpperBound;
+    }
+
+    /**
+     * Waits for the search to finish and returns its result, which is exact
+     * unless the search was cancelled or exceeded its deadline.
+     *
+     * @return the result of the search.
+     * @throws InterruptedException if the current thread is interrupted while
+     *                              waiting.
+     */
+    public ApproximateGraphCenterData get() throws InterruptedException {
+        if (timeoutNanos != Long.MAX_VALUE) {
+            long remainingNanos =
+                    timeoutNanos - (System.nanoTime() - startTime);
+
+            try {
+                return get(Math.max(remainingNanos, 0L),
+                           TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                expire();
+            }
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    /**
+     * Waits at most {@code timeout} for the search to finish and returns its
+     * result. The search keeps running if the wait times out.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the time unit of {@code timeout}.
+     * @return the result of the search.
+     * @throws InterruptedException if the current thread is interrupted while
+     *                              waiting.
+     * @throws TimeoutException     if the wait timed out.
+     */
+    public ApproximateGraphCenterData get(long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        try {
+            return future.get(timeout, unit);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    void setFuture(Future<ApproximateGraphCenterData> future) {
+        this.future = future;
+    }
+
+    SharedPruningBound getBound() {
+        return bound;
+    }
+
+    /**
+     * Returns {@code true} if the search should stop before its next source,
+     * marking the deadline as exceeded if it has passed.
+     */
+    boolean shouldStop() {
+        if (cancelled || deadlineExceeded) {
+            return true;
+        }
+
+        if (timeoutNanos != Long.MAX_VALUE
+                && System.nanoTime() - startTime >= timeoutNanos) {
+            expire();
+            return true;
+        }
+
+        return false;
+    }
+
+    void reportProgress(int processedSourceCount, double radiusUpperBound) {
+        this.processedSourceCount = processedSourceCount;
+        this.radiusUpperBound = radiusUpperBound;
+    }
+
+    private void expire() {
+        deadlineExceeded = true;
+        bound.lowerTo(Double.NEGATIVE_INFINITY);
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException) {
+            return (RuntimeException) ex.getCause();
+        }
+
+        return new IllegalStateException(ex.getCause());
+    }
+}
@@ -0,0 +1,357 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.GraphCenterData;
+
+/**
+ * This class maintains the exact eccentricities and the center of a connected
+ * component while its arcs change. All mutations must go through
+ * {@link #addArc}, {@link #removeArc} and {@link #setWeight}; they are applied
+ * to the graph immediately and collected into a batch that is processed by the
+ * next call to {@link #getGraphCenterData()}.
+ * <p>
+ * Processing a batch runs two backward searches over the graph as it was
+ * before the batch for each changed arc {@code (u, v)}, giving
+ * {@code d(s, u)} and {@code d(s, v)} for every source {@code s}. The
+ * distances from {@code s} can only change if the old arc was on a shortest
+ * path from {@code s} or if the new arc shortens the path to {@code v}; only
+ * such sources get their eccentricities recomputed. For the in-eccentricity
+ * the same test runs over the reverse graph, and for the round trip over both.
+ * If the batch changes the node set of the component, all eccentricities are
+ * recomputed.
+ * <p>
+ * The snapshots are built by the finder given at construction, so they follow
+ * its node ordering, and the eccentricities follow its objective as of the
+ * construction.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class IncrementalGraphCenterTracker {
+
+    /**
+     * The relative slack used when testing whether an arc lies on a shortest
+     * path, so that rounding errors only ever cause extra recomputations.
+     */
+    private static final double EPSILON = 1e-12;
+
+    private final DirectedGraphNode connectedComponentRepresentative;
+    private final DirectedGraphWeightFunction weightFunction;
+    private final AbstractGraphCenterFinder componentFinder;
+    private final EccentricityObjective objective;
+    private final List<DirectedGraphNode[]> changedArcs = new ArrayList<>();
+
+    private CompactDirectedGraph graph;
+    private double[] eccentricities;
+    private GraphCenterData graphCenterData;
+    private int lastRecomputedSourceCount;
+
+    public IncrementalGraphCenterTracker(
+            DirectedGraphNode connectedComponentRepresentative,
+            DirectedGraphWeightFunction weightFunction) {
+        this(connectedComponentRepresentative,
+             weightFunction,
+             new GraphCenterFinderV1());
+    }
+
+    /**
+     * Constructs a tracker taking the objective and the node ordering from
+     * {@code finder}.
+     *
+     * @param connectedComponentRepresentative any node of the component.
+     * @param weightFunction                   the weight function.
+     * @param finder                           the finder to take the 
+     *                                         settings from.
+     */
+    public IncrementalGraphCenterTracker(
+            DirectedGraphNode connectedComponentRepresentative,
+            DirectedGraphWeightFunction weightFunction,
+            AbstractGraphCenterFinder finder) {
+        this.componentFinder = 
+                Objects.requireNonNull(finder, "The input finder is null.");
+        this.objective = finder.getObjective();
+        this.connectedComponentRepresentative =
+                Objects.requireNonNull(connectedComponentRepresentative,
+                                       "The input representative is null.");
+        this.weightFunction =
+                Objects.requireNonNull(weightFunction,
+                                       "The input weight function is null.");
+        this.graph = componentFinder.createCompactGraph(
+                connectedComponentRepresentative, weightFunction);
+        this.eccentricities = new double[graph.size()];
+        recomputeAll();
+    }
+
+    /**
+     * Adds the arc {@code (tail, head)} with the given weight, or changes the
+     * weight of the arc if it is already present.
+     *
+     * @param tail   the tail node.
+     * @param head   the head node.
+     * @param weight the arc weight.
+     */
+    public void addArc(DirectedGraphNode tail,
+                       DirectedGraphNode head,
+                       double weight) {
+        Objects.requireNonNull(tail, "The tail node is null.");
+        tail.addChild(head);
+        weightFunction.put(tail, head, weight);
+        changedArcs.add(new DirectedGraphNode[]{ tail, head });
+    }
+
+    public void removeArc(DirectedGraphNode tail, DirectedGraphNode head) {
+        Objects.requireNonNull(tail, "The tail node is null.");
+        Objects.requireNonNull(head, "The head node is null.");
+        tail.removeChild(head);
+        changedArcs.add(new DirectedGraphNode[]{ tail, head });
+    }
+
+    public void setWeight(DirectedGraphNode tail,
+                          DirectedGraphNode head,
+                          double weight) {
+        if (!tail.hasChild(head)) {
+            throw new IllegalArgumentException(
+                    "There is no arc from " + tail + " to " + head + ".");
+        }
+
+        weightFunction.put(tail, head, weight);
+        changedArcs.add(new DirectedGraphNode[]{ tail, head });
+    }
+
+    /**
+     * Processes the pending changes, if any, and returns the current center
+     * data.
+     *
+     * @return the up-to-date graph center data.
+     */
+    public GraphCenterData getGraphCenterData() {
+        if (!changedArcs.isEmpty()) {
+            processChanges();
+        }
+
+        return graphCenterData;
+    }
+
+    public double getRadius() {
+        GraphCenterData data = getGraphCenterData();
+        return data.getEccentricityMap()
+                   .get(data.getCenterNodeList().get(0));
+    }
+
+    /**
+     * Returns the amount of sources whose eccentricity was recomputed while
+     * processing the most recent batch of changes.
+     *
+     * @return the amount of recomputed sources.
+     */
+    public int getLastRecomputedSourceCount() {
+        return lastRecomputedSourceCount;
+    }
+
+    private void processChanges() {
+        CompactDirectedGraph oldGraph = graph;
+
+        if (!hasSameComponent(oldGraph)) {
+            changedArcs.clear();
+            graph = componentFinder.createCompactGraph(
+                    connectedComponentRepresentative, weightFunction);
+            eccentricities = new double[graph.size()];
+            recomputeAll();
+            return;
+        }
+
+        // Keep the node indices stable.
+        CompactDirectedGraph newGraph = 
+                new CompactDirectedGraph(oldGraph.getNodeList(), 
+                                         weightFunction);
+
+        boolean[] dirty = new boolean[oldGraph.size()];
+
+        if (objective != EccentricityObjective.IN) {
+            markAffectedSources(oldGraph, newGraph, false, dirty);
+        }
+
+        if (objective != EccentricityObjective.OUT) {
+            markAffectedSources(oldGraph.reverse(), 
+                                newGraph.reverse(), 
+                                true, 
+                                dirty);
+        }
+
+        changedArcs.clear();
+        graph = newGraph;
+
+        EccentricitySearch search = new EccentricitySearch(graph, objective);
+        int recomputedSourceCount = 0;
+
+        for (int source = 0; source < graph.size(); ++source) {
+            if (dirty[source]) {
+                eccentricities[source] = findEccentricityFrom(search, source);
+                ++recomputedSourceCount;
+            }
+        }
+
+        lastRecomputedSourceCount = recomputedSourceCount;
+        graphCenterData = buildGraphCenterData();
+    }
+
+    /**
+     * Marks the sources whose distances in {@code oldGraph} may differ from
+     * those in {@code newGraph}. If {@code reversed} is set, the graphs are 
+     * reverse graphs and so are the changed arcs.
+     */
+    private void markAffectedSources(CompactDirectedGraph oldGraph,
+                                     CompactDirectedGraph newGraph,
+                                     boolean reversed,
+                                     boolean[] dirty) {
+        EccentricitySearch toTail =
+                new EccentricitySearch(oldGraph.reverse());
+        EccentricitySearch toHead =
+                new EccentricitySearch(oldGraph.reverse());
+
+        for (DirectedGraphNode[] arc : changedArcs) {
+            int tail = oldGraph.getIndex(arc[reversed ? 1 : 0]);
+            int head = oldGraph.getIndex(arc[reversed ? 0 : 1]);
+
+            if (tail == -1 || head == -1) {
+                // Both endpoints are outside of the component.
+                continue;
+            }
+
+            int oldArc = oldGraph.findArc(tail, head);
+            int newArc = newGraph.findArc(tail, head);
+
+            toTail.findEccentricityFrom(tail);
+            toHead.findEccentricityFrom(head);
+
+            for (int source = 0; source < dirty.length; ++source) {
+                double distanceToTail = toTail.getDistance(source);
+
+                if (dirty[source]
+                        || distanceToTail == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                double distanceToHead = toHead.getDistance(source);
+                double slack = distanceToHead * (1.0 + EPSILON);
+
+                if (oldArc != -1
+                        && distanceToTail + oldGraph.weight(oldArc) <= slack) {
+                    dirty[source] = true;
+                } else if (newArc != -1
+                        && distanceToTail + newGraph.weight(newArc) <= slack) {
+                    dirty[source] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the component of the representative still
+     * consists of exactly the nodes of {@code graph}. The component is 
+     * traversed without a snapshot, and the traversal stops at the first node
+     * outside of {@code graph}.
+     */
+    private boolean hasSameComponent(CompactDirectedGraph graph) {
+        int representativeIndex = 
+                graph.getIndex(connectedComponentRepresentative);
+
+        if (representativeIndex == -1) {
+            return false;
+        }
+
+        boolean[] visited = new boolean[graph.size()];
+        Deque<DirectedGraphNode> queue = new ArrayDeque<>();
+
+        visited[representativeIndex] = true;
+        queue.addLast(connectedComponentRepresentative);
+        int visitedCount = 1;
+
+        while (!queue.isEmpty()) {
+            DirectedGraphNode current = queue.removeFirst();
+
+            for (DirectedGraphNode child : current.children()) {
+                int index = graph.getIndex(child);
+
+                if (index == -1) {
+                    return false;
+                }
+
+                if (!visited[index]) {
+                    visited[index] = true;
+                    queue.addLast(child);
+                    ++visitedCount;
+                }
+            }
+
+            for (DirectedGraphNode parent : current.parents()) {
+                int index = graph.getIndex(parent);
+
+                if (index == -1) {
+                    return false;
+                }
+
+                if (!visited[index]) {
+                    visited[index] = true;
+                    queue.addLast(parent);
+                    ++visitedCount;
+                }
+            }
+        }
+
+        return visitedCount == graph.size();
+    }
+
+    private void recomputeAll() {
+        EccentricitySearch search = new EccentricitySearch(graph, objective);
+
+        for (int source = 0; source < graph.size(); ++source) {
+            eccentricities[source] = findEccentricityFrom(search, source);
+        }
+
+        lastRecomputedSourceCount = graph.size();
+        graphCenterData = buildGraphCenterData();
+    }
+
+    private static double findEccentricityFrom(EccentricitySearch search,
+                                               int source) {
+        return search.hasFiniteEccentricity(source) ?
+               search.findEccentricityFrom(source) :
+               Double.POSITIVE_INFINITY;
+    }
+
+    private GraphCenterData buildGraphCenterData() {
+        double minimumEccentricity = Double.POSITIVE_INFINITY;
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap eccentricityMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+
+        for (int currentNode = 0; currentNode < graph.size(); ++currentNode) {
+            double currentNodeEccentricity = eccentricities[currentNode];
+
+            eccentricityMap.put(currentNode, currentNodeEccentricity);
+
+            if (minimumEccentricity > currentNodeEccentricity) {
+                minimumEccentricity = currentNodeEccentricity;
+                centerNodeList.clear();
+                centerNodeList.add(graph.getNode(currentNode));
+            } else if (currentNodeEccentricity == minimumEccentricity) {
+                centerNodeList.add(graph.getNode(currentNode));
+            }
+        }
+
+        return new GraphCenterData(eccentricityMap, centerNodeList);
+    }
+}
@@ -0,0 +1,230 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.ApproximateGraphCenterData;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityType;
+import net.coderodde.graph.center.GraphCenterProgressListener;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class runs the pruned search of {@link GraphCenterFinderV2} as an
+ * asynchronous {@link GraphCenterTask} that can be cancelled, given a deadline
+ * and observed through a {@link GraphCenterProgressListener}. A task that is
+ * stopped early still completes with an {@link ApproximateGraphCenterData}:
+ * the searched nodes carry their exact eccentricities or lower bounds, the
+ * other ones the trivial bounds {@code [0, +inf]}, and the candidate centers
+ * are the searched nodes with the smallest eccentricity.
+ * <p>
+ * The progress listener is called on the thread running the search after
+ * every {@value #PROGRESS_INTERVAL} sources and once at the end, and so are
+ * the statistics listeners of asynchronous tasks.
+ * {@link #findCenterNodes(CompactDirectedGraph)} runs the search on the
+ * calling thread without any deadline.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class InterruptibleGraphCenterFinder extends AbstractGraphCenterFinder {
+
+    /**
+     * The amount of sources between two progress reports.
+     */
+    private static final int PROGRESS_INTERVAL = 64;
+
+    private final ExecutorService executor;
+
+    public InterruptibleGraphCenterFinder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public InterruptibleGraphCenterFinder(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor,
+                                               "The input executor is null.");
+    }
+
+    public GraphCenterTask submit(CompactDirectedGraph graph) {
+        return submit(graph, Long.MAX_VALUE, TimeUnit.NANOSECONDS, null);
+    }
+
+    public GraphCenterTask submit(CompactDirectedGraph graph,
+                                  GraphCenterProgressListener listener) {
+        return submit(graph, Long.MAX_VALUE, TimeUnit.NANOSECONDS, listener);
+    }
+
+    /**
+     * Starts a center search over {@code graph} on the executor of this
+     * finder.
+     *
+     * @param graph    the graph snapshot.
+     * @param timeout  the time after which the search stops, counted from
+     *                 now.
+     * @param unit     the time unit of {@code timeout}.
+     * @param listener the progress listener, or {@code null} for none.
+     * @return the handle of the search.
+     */
+    public GraphCenterTask submit(final CompactDirectedGraph graph,
+                                  long timeout,
+                                  TimeUnit unit,
+                                  final GraphCenterProgressListener listener) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(unit, "The input time unit is null.");
+
+        if (timeout < 0L) {
+            throw new IllegalArgumentException(
+                    "The timeout is negative: " + timeout + ".");
+        }
+
+        final GraphCenterTask task =
+                new GraphCenterTask(graph.size(), unit.toNanos(timeout));
+
+        task.setFuture(executor.submit(
+                new Callable<ApproximateGraphCenterData>() {
+            @Override
+            public ApproximateGraphCenterData call() {
+                return findCenterNodes(graph, task, listener);
+            }
+        }));
+
+        return task;
+    }
+
+    @Override
+    public ApproximateGraphCenterData
+        findCenterNodes(DirectedGraphNode connectedComponentRepresentative,
+                        DirectedGraphWeightFunction weightFunction) {
+        return findCenterNodes(
+                createCompactGraph(connectedComponentRepresentative,
+                                   weightFunction));
+    }
+
+    @Override
+    public ApproximateGraphCenterData
+        findCenterNodes(CompactDirectedGraph graph) {
+        return findCenterNodes(graph,
+                               new GraphCenterTask(graph.size(),
+                                                   Long.MAX_VALUE),
+                               null);
+    }
+
+    private ApproximateGraphCenterData
+        findCenterNodes(CompactDirectedGraph graph,
+                        GraphCenterTask task,
+                        GraphCenterProgressListener listener) {
+        long startTime = System.nanoTime();
+        SearchCounters counters = createSearchCounters();
+        EccentricitySearch search =
+                new EccentricitySearch(graph, getObjective());
+        search.setCounters(counters);
+        SharedPruningBound bound = task.getBound();
+
+        double minimumEccentricity = Double.POSITIVE_INFINITY;
+        double radiusLowerBound = Double.POSITIVE_INFINITY;
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap lowerBoundMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+        DirectedGraphNodeEccentricityMap upperBoundMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+
+        int currentNode = 0;
+
+        for (; currentNode < graph.size(); ++currentNode) {
+            if (currentNode > 0 && currentNode % PROGRESS_INTERVAL == 0) {
+                reportProgress(task, listener, currentNode,
+                               minimumEccentricity);
+            }
+
+            if (task.shouldStop()) {
+                break;
+            }
+
+            double currentNodeEccentricity;
+
+            if (!search.hasFiniteEccentricity(currentNode)) {
+                currentNodeEccentricity = Double.POSITIVE_INFINITY;
+            } else {
+                currentNodeEccentricity =
+                        search.findEccentricityFrom(currentNode, bound);
+
+                if (search.wasPruned()) {
+                    // Either the node is no center or the search was stopped.
+                    lowerBoundMap.put(currentNode,
+                                      currentNodeEccentricity,
+                                      EccentricityType.LOWER_BOUND);
+                    upperBoundMap.put(currentNode,
+                                      Double.POSITIVE_INFINITY,
+                                      EccentricityType.UPPER_BOUND);
+                    radiusLowerBound = Math.min(radiusLowerBound,
+                                                currentNodeEccentricity);
+                    continue;
+                }
+
+                bound.lowerTo(currentNodeEccentricity);
+            }
+
+            lowerBoundMap.put(currentNode, currentNodeEccentricity);
+            upperBoundMap.put(currentNode, currentNodeEccentricity);
+            radiusLowerBound = Math.min(radiusLowerBound,
+                                        currentNodeEccentricity);
+
+            if (minimumEccentricity > currentNodeEccentricity) {
+                minimumEccentricity = currentNodeEccentricity;
+                centerNodeList.clear();
+                centerNodeList.add(graph.getNode(currentNode));
+            } else if (currentNodeEccentricity == minimumEccentricity) {
+                centerNodeList.add(graph.getNode(currentNode));
+            }
+        }
+
+        if (currentNode < graph.size()) {
+            radiusLowerBound = 0.0;
+        }
+
+        for (int node = currentNode; node < graph.size(); ++node) {
+            lowerBoundMap.put(node, 0.0, EccentricityType.LOWER_BOUND);
+            upperBoundMap.put(node,
+                              Double.POSITIVE_INFINITY,
+                              EccentricityType.UPPER_BOUND);
+        }
+
+        reportProgress(task, listener, currentNode, minimumEccentricity);
+
+        if (isCompleteEccentricities()) {
+            lowerBoundMap.setResolver(
+                    new SearchEccentricityResolver(graph, getObjective()));
+        }
+
+        return publishStatistics(
+                new ApproximateGraphCenterData(lowerBoundMap,
+                                               upperBoundMap,
+                                               centerNodeList,
+                                               Math.min(radiusLowerBound,
+                                                        minimumEccentricity),
+                                               minimumEccentricity),
+                counters,
+                startTime);
+    }
+
+    private static void reportProgress(GraphCenterTask task,
+                                       GraphCenterProgressListener listener,
+                                       int processedSourceCount,
+                                       double radiusUpperBound) {
+        task.reportProgress(processedSourceCount, radiusUpperBound);
+
+        if (listener != null) {
+            listener.progressMade(processedSourceCount,
+                                  task.getSourceCount(),
+                                  radiusUpperBound);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class implements a parallel version of {@link GraphCenterFinderV1}: the
+ * source nodes are handed out in small blocks to a number of workers, each
+ * running Dijkstra's algorithm with its own {@link EccentricitySearch}. The
+ * eccentricities are merged in node index order, so the center node list does
+ * not depend on the amount of workers.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class ParallelGraphCenterFinder extends AbstractGraphCenterFinder {
+
+    /**
+     * The amount of consecutive sources a worker claims at a time.
+     */
+    private static final int BLOCK_SIZE = 16;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public ParallelGraphCenterFinder() {
+        this(ForkJoinPool.commonPool(),
+             Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelGraphCenterFinder(ExecutorService executor,
+                                     int parallelism) {
+        Objects.requireNonNull(executor, "The input executor is null.");
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive: " + parallelism + ".");
+        }
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public GraphCenterData findCenterNodes(CompactDirectedGraph graph) {
+        long startTime = System.nanoTime();
+        SearchCounters counters = createSearchCounters();
+        double[] eccentricities = computeEccentricities(graph, counters);
+
+        double minimumEccentricity = Double.POSITIVE_INFINITY;
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap eccentricityMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+
+        for (int currentNode = 0; currentNode < graph.size(); ++currentNode) {
+            double currentNodeEccentricity = eccentricities[currentNode];
+
+            eccentricityMap.put(currentNode, currentNodeEccentricity);
+
+            if (minimumEccentricity > currentNodeEccentricity) {
+                minimumEccentricity = currentNodeEccentricity;
+                centerNodeList.clear();
+                centerNodeList.add(graph.getNode(currentNode));
+            } else if (currentNodeEccentricity == minimumEccentricity) {
+                centerNodeList.add(graph.getNode(currentNode));
+            }
+        }
+
+        return publishStatistics(
+                new GraphCenterData(eccentricityMap, centerNodeList),
+                counters,
+                startTime);
+    }
+
+    private double[] computeEccentricities(final CompactDirectedGraph graph,
+                                           SearchCounters counters) {
+        final double[] eccentricities = new double[graph.size()];
+        final AtomicInteger nextSource = new AtomicInteger();
+        final EccentricityObjective objective = getObjective();
+        int workers = Math.min(parallelism,
+                               (graph.size() + BLOCK_SIZE - 1) / BLOCK_SIZE);
+
+        List<Future<Void>> futures = new ArrayList<>(workers);
+        SearchCounters[] workerCounters = new SearchCounters[workers];
+
+        for (int i = 0; i < workers; ++i) {
+            final SearchCounters searchCounters = 
+                    workerCounters[i] = createSearchCounters();
+            
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    EccentricitySearch search = 
+                            new EccentricitySearch(graph, objective);
+                    search.setCounters(searchCounters);
+
+                    for (;;) {
+                        int begin = nextSource.getAndAdd(BLOCK_SIZE);
+
+                        if (begin >= eccentricities.length) {
+                            return null;
+                        }
+
+                        int end = Math.min(begin + BLOCK_SIZE,
+                                           eccentricities.length);
+
+                        for (int source = begin; source < end; ++source) {
+                            eccentricities[source] =
+                                    search.hasFiniteEccentricity(source) ?
+                                    search.findEccentricityFrom(source) :
+                                    Double.POSITIVE_INFINITY;
+                        }
+                    }
+                }
+            }));
+        }
+
+        awaitAll(futures);
+        
+        for (SearchCounters searchCounters : workerCounters) {
+            counters.add(searchCounters);
+        }
+        
+        return eccentricities;
+    }
+
+    static <T> List<T> awaitAll(List<Future<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            
+            return results;
+        } catch (InterruptedException ex) {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for the workers.", ex);
+        } catch (ExecutionException ex) {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
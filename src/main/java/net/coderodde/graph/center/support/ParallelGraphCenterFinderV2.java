@@ -0,0 +1,189 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.EccentricityType;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class implements a parallel version of {@link GraphCenterFinderV2}. All
+ * workers share a single {@link SharedPruningBound} holding the smallest 
+ * eccentricity found so far by any of them, so that pruning gets stronger as
+ * soon as some worker finds a better center candidate.
+ * <p>
+ * The center node list is merged in node index order and does not depend on 
+ * the amount of workers. The eccentricities of pruned nodes are lower bounds
+ * whose exact values depend on the scheduling.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class ParallelGraphCenterFinderV2 extends AbstractGraphCenterFinder {
+
+    /**
+     * The amount of consecutive sources a worker claims at a time.
+     */
+    private static final int BLOCK_SIZE = 16;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private volatile SourceOrdering sourceOrdering = SourceOrdering.NATURAL;
+
+    public ParallelGraphCenterFinderV2() {
+        this(ForkJoinPool.commonPool(),
+             Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelGraphCenterFinderV2(ExecutorService executor,
+                                       int parallelism) {
+        Objects.requireNonNull(executor, "The input executor is null.");
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive: " + parallelism + ".");
+        }
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public SourceOrdering getSourceOrdering() {
+        return sourceOrdering;
+    }
+
+    /**
+     * Selects the order in which the workers claim the sources. The default 
+     * is {@link SourceOrdering#NATURAL}.
+     * 
+     * @param sourceOrdering the source ordering.
+     */
+    public void setSourceOrdering(SourceOrdering sourceOrdering) {
+        this.sourceOrdering = 
+                Objects.requireNonNull(sourceOrdering, 
+                                       "The input source ordering is null.");
+    }
+
+    @Override
+    public GraphCenterData findCenterNodes(CompactDirectedGraph graph) {
+        long startTime = System.nanoTime();
+        SearchCounters counters = createSearchCounters();
+        boolean[] pruned = new boolean[graph.size()];
+        double[] eccentricities = 
+                computeEccentricities(graph, pruned, counters);
+
+        double minimumEccentricity = Double.POSITIVE_INFINITY;
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap eccentricityMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+
+        for (int currentNode = 0; currentNode < graph.size(); ++currentNode) {
+            double currentNodeEccentricity = eccentricities[currentNode];
+
+            eccentricityMap.put(currentNode, 
+                                currentNodeEccentricity,
+                                pruned[currentNode] ? 
+                                        EccentricityType.LOWER_BOUND :
+                                        EccentricityType.EXACT);
+
+            if (minimumEccentricity > currentNodeEccentricity) {
+                minimumEccentricity = currentNodeEccentricity;
+                centerNodeList.clear();
+                centerNodeList.add(graph.getNode(currentNode));
+            } else if (currentNodeEccentricity == minimumEccentricity) {
+                centerNodeList.add(graph.getNode(currentNode));
+            }
+        }
+
+        if (isCompleteEccentricities()) {
+            eccentricityMap.setResolver(
+                    new SearchEccentricityResolver(graph, getObjective()));
+        }
+
+        return publishStatistics(
+                new GraphCenterData(eccentricityMap, centerNodeList),
+                counters,
+                startTime);
+    }
+
+    private double[] computeEccentricities(final CompactDirectedGraph graph,
+                                           final boolean[] pruned,
+                                           SearchCounters counters) {
+        final double[] eccentricities = new double[graph.size()];
+        final AtomicInteger nextSource = new AtomicInteger();
+        final EccentricityObjective objective = getObjective();
+        final SharedPruningBound bound = new SharedPruningBound();
+        final int[] order = 
+                sourceOrdering.computeOrder(graph, getObjective());
+        int workers = Math.min(parallelism,
+                               (graph.size() + BLOCK_SIZE - 1) / BLOCK_SIZE);
+
+        List<Future<Void>> futures = new ArrayList<>(workers);
+        SearchCounters[] workerCounters = new SearchCounters[workers];
+
+        for (int i = 0; i < workers; ++i) {
+            final SearchCounters searchCounters = 
+                    workerCounters[i] = createSearchCounters();
+            
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    EccentricitySearch search = 
+                            new EccentricitySearch(graph, objective);
+                    search.setCounters(searchCounters);
+
+                    for (;;) {
+                        int begin = nextSource.getAndAdd(BLOCK_SIZE);
+
+                        if (begin >= eccentricities.length) {
+                            return null;
+                        }
+
+                        int end = Math.min(begin + BLOCK_SIZE,
+                                           eccentricities.length);
+
+                        for (int i = begin; i < end; ++i) {
+                            int source = order[i];
+                            
+                            if (!search.hasFiniteEccentricity(source)) {
+                                eccentricities[source] = 
+                                        Double.POSITIVE_INFINITY;
+                                continue;
+                            }
+                            
+                            double eccentricity = 
+                                    search.findEccentricityFrom(source, bound);
+                            
+                            eccentricities[source] = eccentricity;
+                            
+                            if (search.wasPruned()) {
+                                pruned[source] = true;
+                            } else {
+                                bound.lowerTo(eccentricity);
+                            }
+                        }
+                    }
+                }
+            }));
+        }
+
+        ParallelGraphCenterFinder.awaitAll(futures);
+        
+        for (SearchCounters searchCounters : workerCounters) {
+            counters.add(searchCounters);
+        }
+        
+        return eccentricities;
+    }
+}
@@ -0,0 +1,35 @@
+package net.coderodde.graph.center.support;
+
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.EccentricityResolver;
+
+/**
+ * This class implements an {@link EccentricityResolver} running a full 
+ * {@link EccentricitySearch} over the graph snapshot. The search buffers are
+ * allocated on the first call.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+final class SearchEccentricityResolver implements EccentricityResolver {
+   
+    private final CompactDirectedGraph graph;
+    private final EccentricityObjective objective;
+    private EccentricitySearch search;
+    
+    SearchEccentricityResolver(CompactDirectedGraph graph,
+                               EccentricityObjective objective) {
+        this.graph = graph;
+        this.objective = objective;
+    }
+    
+    @Override
+    public synchronized double computeEccentricity(int index) {
+        if (search == null) {
+            search = new EccentricitySearch(graph, objective);
+        }
+        
+        return search.findEccentricityFrom(index);
+    }
+}
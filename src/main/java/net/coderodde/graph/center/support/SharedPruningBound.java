@@ -0,0 +1,51 @@
+package net.coderodde.graph.center.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a lock-free, monotonically decreasing {@code double}
+ * that concurrent searches use as a common pruning bound. The value is kept as
+ * raw {@code long} bits in an {@link AtomicLong} and lowered by a
+ * compare-and-set loop.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class SharedPruningBound {
+
+    private final AtomicLong bits;
+
+    public SharedPruningBound() {
+        this(Double.POSITIVE_INFINITY);
+    }
+
+    public SharedPruningBound(double initialBound) {
+        this.bits = new AtomicLong(Double.doubleToLongBits(initialBound));
+    }
+
+    public double get() {
+        return Double.longBitsToDouble(bits.get());
+    }
+
+    /**
+     * Lowers this bound to {@code value} unless it is already at most
+     * {@code value}.
+     *
+     * @param value the candidate bound.
+     * @return {@code true} if this bound was lowered.
+     */
+    public boolean lowerTo(double value) {
+        for (;;) {
+            long currentBits = bits.get();
+
+            if (Double.longBitsToDouble(currentBits) <= value) {
+                return false;
+            }
+
+            if (bits.compareAndSet(currentBits,
+                                   Double.doubleToLongBits(value))) {
+                return true;
+            }
+        }
+    }
+}
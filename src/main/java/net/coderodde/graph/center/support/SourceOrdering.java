@@ -0,0 +1,194 @@
+package net.coderodde.graph.center.support;
+
+import java.util.Arrays;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.NodeOrdering;
+import net.coderodde.graph.center.EccentricityObjective;
+
+/**
+ * This enumeration lists the orders in which {@link GraphCenterFinderV2} and
+ * {@link ParallelGraphCenterFinderV2} may visit their sources. Their searches
+ * are pruned by the smallest eccentricity found so far, so the sooner a node
+ * close to the center is searched, the fewer nodes the remaining searches
+ * settle. The orders other than {@link #NATURAL} spend a few searches of their
+ * own on finding such nodes; these are not included in the search statistics
+ * of the finder.
+ * <p>
+ * The distance based orders use the distances <em>to</em> a few reference
+ * nodes under the objective of the finder: for every reference node
+ * {@code r}, {@code d(v, r)} is a lower bound of the out-eccentricity of
+ * {@code v}, and likewise for the other objectives.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public enum SourceOrdering {
+
+    /**
+     * Visits the sources in node index order.
+     */
+    NATURAL {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph,
+                                  EccentricityObjective objective) {
+            return NodeOrdering.NONE.computeOrder(graph);
+        }
+    },
+
+    /**
+     * Visits the sources by descending amount of children plus parents.
+     */
+    HIGHEST_DEGREE {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph,
+                                  EccentricityObjective objective) {
+            return NodeOrdering.HUB_FIRST.computeOrder(graph);
+        }
+    },
+
+    /**
+     * Visits the sources by ascending sum of their distances to
+     * {@value #SAMPLE_COUNT} evenly spread sample nodes, that is, by
+     * descending estimated closeness.
+     */
+    SAMPLED_CLOSENESS {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph,
+                                  EccentricityObjective objective) {
+            EccentricitySearch search = createReverseSearch(graph, objective);
+            int sampleCount = Math.min(SAMPLE_COUNT, graph.size());
+            double[] keys = new double[graph.size()];
+
+            for (int sample = 0; sample < sampleCount; ++sample) {
+                search.findEccentricityFrom(
+                        (int) ((long) sample * graph.size() / sampleCount));
+
+                for (int node = 0; node < keys.length; ++node) {
+                    keys[node] += search.getDistance(node);
+                }
+            }
+
+            return sortByKey(keys);
+        }
+    },
+
+    /**
+     * Finds two far apart nodes {@code a} and {@code b} by a double sweep:
+     * {@code a} is the farthest node from the node of highest degree, and
+     * {@code b} the farthest node from {@code a}. The sources are then
+     * visited by ascending {@code max(d(v, a), d(v, b))}, starting from the
+     * midpoints of the path between the two.
+     */
+    DOUBLE_SWEEP {
+        @Override
+        public int[] computeOrder(CompactDirectedGraph graph,
+                                  EccentricityObjective objective) {
+            if (graph.size() == 0) {
+                return new int[0];
+            }
+
+            EccentricitySearch search = createReverseSearch(graph, objective);
+            int start = NodeOrdering.HUB_FIRST.computeOrder(graph)[0];
+            search.findEccentricityFrom(start);
+            int a = findFarthestNode(search);
+            double[] keys = new double[graph.size()];
+
+            search.findEccentricityFrom(a);
+
+            for (int node = 0; node < keys.length; ++node) {
+                keys[node] = search.getDistance(node);
+            }
+
+            search.findEccentricityFrom(findFarthestNode(search));
+
+            for (int node = 0; node < keys.length; ++node) {
+                keys[node] = Math.max(keys[node], search.getDistance(node));
+            }
+
+            return sortByKey(keys);
+        }
+    };
+
+    /**
+     * The amount of sample searches of {@link #SAMPLED_CLOSENESS}.
+     */
+    private static final int SAMPLE_COUNT = 16;
+
+    /**
+     * Computes the order in which to visit the nodes of {@code graph} as
+     * sources.
+     *
+     * @param graph     the graph to search.
+     * @param objective the eccentricity objective.
+     * @return the node indices in visiting order.
+     */
+    public abstract int[] computeOrder(CompactDirectedGraph graph,
+                                       EccentricityObjective objective);
+
+    /**
+     * Returns a search whose distances from a node {@code r} are the
+     * distances of the other nodes to {@code r} under {@code objective}.
+     */
+    private static EccentricitySearch
+        createReverseSearch(CompactDirectedGraph graph,
+                            EccentricityObjective objective) {
+        switch (objective) {
+            case IN:
+                return new EccentricitySearch(graph,
+                                              EccentricityObjective.OUT);
+
+            case ROUND_TRIP:
+                return new EccentricitySearch(graph,
+                                              EccentricityObjective.ROUND_TRIP);
+
+            default:
+                return new EccentricitySearch(graph,
+                                              EccentricityObjective.IN);
+        }
+    }
+
+    /**
+     * Returns the node farthest from the source of the last search among the
+     * reached ones.
+     */
+    private static int findFarthestNode(EccentricitySearch search) {
+        int farthestNode = 0;
+        double farthestDistance = -1.0;
+
+        for (int node = 0; node < search.getGraph().size(); ++node) {
+            double distance = search.getDistance(node);
+
+            if (distance != Double.POSITIVE_INFINITY
+                    && distance > farthestDistance) {
+                farthestNode = node;
+                farthestDistance = distance;
+            }
+        }
+
+        return farthestNode;
+    }
+
+    /**
+     * Returns the node indices by ascending key, breaking ties by index. The
+     * keys are rounded to {@code float}, which is precise enough for a
+     * heuristic order and lets each key share a {@code long} with its index.
+     */
+    private static int[] sortByKey(double[] keys) {
+        long[] packed = new long[keys.length];
+
+        for (int node = 0; node < keys.length; ++node) {
+            // The bits of a non-negative float are ordered like its value.
+            packed[node] = (long) Float.floatToIntBits((float) keys[node])
+                           << 32 | node;
+        }
+
+        Arrays.sort(packed);
+        int[] order = new int[keys.length];
+
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = (int) packed[i];
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,230 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.StronglyConnectedComponents;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.SearchCounters;
+
+/**
+ * This class implements a graph center algorithm for unweighted graphs, in
+ * which the cost of a path is the amount of its arcs. Instead of running
+ * Dijkstra's algorithm from every node, it runs a bit-parallel breadth-first
+ * search that processes 64 sources at once: each node holds a {@code long}
+ * whose bit {@code k} tells whether the {@code k}th source of the batch has
+ * reached it, and a whole level of the 64 searches is expanded with a single
+ * pass over the arcs of the frontier nodes. The last level at which a source
+ * reaches a new node is its eccentricity. Only the nodes that reach every
+ * other node are used as sources.
+ * <p>
+ * By default the finder checks that every arc weight equals {@code 1.0} and
+ * falls back to {@link GraphCenterFinderV2} otherwise. A finder constructed
+ * with {@code ignoreWeights} set treats every arc as a unit arc without
+ * looking at the weights.
+ * <p>
+ * The {@link EccentricityObjective#IN} objective runs the same search over the
+ * reverse graph. The round trip objective always falls back to
+ * {@code GraphCenterFinderV2}, which uses the actual weights.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public class UnweightedGraphCenterFinder extends AbstractGraphCenterFinder {
+
+    private static final int BATCH_SIZE = Long.SIZE;
+
+    /**
+     * The eccentricity reported by {@link #findEccentricities} for the nodes
+     * that do not reach every other node.
+     */
+    static final int INFINITE_ECCENTRICITY = Integer.MAX_VALUE;
+
+    private final boolean ignoreWeights;
+
+    public UnweightedGraphCenterFinder() {
+        this(false);
+    }
+
+    public UnweightedGraphCenterFinder(boolean ignoreWeights) {
+        this.ignoreWeights = ignoreWeights;
+    }
+
+    /**
+     * Returns {@code true} if every arc of {@code graph} has the weight
+     * {@code 1.0}.
+     *
+     * @param graph the graph to check.
+     * @return {@code true} if the graph is unweighted.
+     */
+    public static boolean isUnweighted(CompactDirectedGraph graph) {
+        for (int arc = 0; arc < graph.arcCount(); ++arc) {
+            if (graph.weight(arc) != 1.0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public GraphCenterData findCenterNodes(CompactDirectedGraph graph) {
+        EccentricityObjective objective = getObjective();
+
+        if (objective == EccentricityObjective.ROUND_TRIP
+                || (!ignoreWeights && !isUnweighted(graph))) {
+            GraphCenterFinderV2 fallbackFinder = new GraphCenterFinderV2();
+            copySettingsTo(fallbackFinder);
+            return fallbackFinder.findCenterNodes(graph);
+        }
+
+        long startTime = System.nanoTime();
+        SearchCounters counters = createSearchCounters();
+        int[] eccentricities = 
+                findEccentricities(objective == EccentricityObjective.IN ?
+                                   graph.reverse() :
+                                   graph,
+                                   counters);
+        double minimumEccentricity = Double.POSITIVE_INFINITY;
+        List<DirectedGraphNode> centerNodeList = new ArrayList<>();
+        DirectedGraphNodeEccentricityMap eccentricityMap =
+                new DirectedGraphNodeEccentricityMap(graph);
+
+        for (int currentNode = 0; currentNode < graph.size(); ++currentNode) {
+            double currentNodeEccentricity = 
+                    eccentricities[currentNode] == INFINITE_ECCENTRICITY ?
+                            Double.POSITIVE_INFINITY :
+                            eccentricities[currentNode];
+
+            eccentricityMap.put(currentNode, currentNodeEccentricity);
+
+            if (minimumEccentricity > currentNodeEccentricity) {
+                minimumEccentricity = currentNodeEccentricity;
+                centerNodeList.clear();
+                centerNodeList.add(graph.getNode(currentNode));
+            } else if (currentNodeEccentricity == minimumEccentricity) {
+                centerNodeList.add(graph.getNode(currentNode));
+            }
+        }
+
+        return publishStatistics(
+                new GraphCenterData(eccentricityMap, centerNodeList),
+                counters,
+                startTime);
+    }
+
+    /**
+     * Computes the hop eccentricities of all the nodes of {@code graph}. Only
+     * the nodes reaching every other node are searched; the others get
+     * {@link #INFINITE_ECCENTRICITY}. Each batch is recorded in 
+     * {@code counters} as one search per source, all of them sharing the arc
+     * scans of the batch.
+     *
+     * @param graph    the graph to process.
+     * @param counters the counters to record the batches in.
+     * @return the eccentricities indexed by node index.
+     */
+    static int[] findEccentricities(CompactDirectedGraph graph,
+                                    SearchCounters counters) {
+        int size = graph.size();
+        int[] eccentricities = new int[size];
+        long[] visited = new long[size];
+        long[] frontier = new long[size];
+        long[] next = new long[size];
+        int[] frontierNodes = new int[size];
+        int[] nextNodes = new int[size];
+        StronglyConnectedComponents components =
+                graph.getStronglyConnectedComponents();
+        int[] sources = new int[components.getReachingAllCount()];
+        int sourceCount = 0;
+
+        for (int node = 0; node < size; ++node) {
+            if (components.canReachAll(node)) {
+                sources[sourceCount++] = node;
+            } else {
+                eccentricities[node] = INFINITE_ECCENTRICITY;
+            }
+        }
+
+        for (int batchBegin = 0;
+                batchBegin < sourceCount;
+                batchBegin += BATCH_SIZE) {
+            int batchEnd = Math.min(sourceCount, batchBegin + BATCH_SIZE);
+            int frontierSize = 0;
+            long relaxedArcCount = 0L;
+
+            Arrays.fill(visited, 0L);
+
+            for (int i = batchBegin; i < batchEnd; ++i) {
+                int source = sources[i];
+                long bit = 1L << (i - batchBegin);
+                visited[source] = bit;
+                frontier[source] = bit;
+                frontierNodes[frontierSize++] = source;
+            }
+
+            for (int level = 1; frontierSize > 0; ++level) {
+                int nextSize = 0;
+
+                for (int i = 0; i < frontierSize; ++i) {
+                    int node = frontierNodes[i];
+                    long bits = frontier[node];
+                    frontier[node] = 0L;
+                    relaxedArcCount += graph.childrenEnd(node) - 
+                                       graph.childrenBegin(node);
+
+                    for (int arc = graph.childrenBegin(node),
+                             end = graph.childrenEnd(node);
+                             arc < end;
+                             ++arc) {
+                        int child = graph.target(arc);
+                        long fresh = bits & ~visited[child];
+
+                        if (fresh != 0L) {
+                            if (next[child] == 0L) {
+                                nextNodes[nextSize++] = child;
+                            }
+
+                            next[child] |= fresh;
+                        }
+                    }
+                }
+
+                for (int i = 0; i < nextSize; ++i) {
+                    int node = nextNodes[i];
+                    long fresh = next[node];
+                    next[node] = 0L;
+                    visited[node] |= fresh;
+                    frontier[node] = fresh;
+
+                    // Every source reaching a node for the first time on this
+                    // level has an eccentricity of at least 'level'.
+                    while (fresh != 0L) {
+                        int source = 
+                                sources[batchBegin + 
+                                        Long.numberOfTrailingZeros(fresh)];
+                        eccentricities[source] = level;
+                        fresh &= fresh - 1L;
+                    }
+                }
+
+                int[] tmp = frontierNodes;
+                frontierNodes = nextNodes;
+                nextNodes = tmp;
+                frontierSize = nextSize;
+            }
+
+            // Every source of the batch reaches, that is, settles every node.
+            counters.recordSearches(batchEnd - batchBegin,
+                                    (long) (batchEnd - batchBegin) * size,
+                                    relaxedArcCount);
+        }
+
+        return eccentricities;
+    }
+}
@@ -0,0 +1,242 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements Dial's bucket queue over the integer elements
+ * {@code 0, 1, ..., capacity - 1} with non-negative integer priorities. The
+ * queue keeps {@code maximumPriorityRange + 1} buckets in a circular array,
+ * each holding a doubly-linked list of the elements of one priority, and a
+ * cursor at the smallest priority that may be present. All operations but
+ * {@link #extractMinimum()} run in constant time; extraction advances the
+ * cursor over the empty buckets, so a shortest-path search with the maximum
+ * arc weight {@code C} spends {@code O(m + D)} time in total on the queue,
+ * where {@code D} is the largest distance.
+ * <p>
+ * The queue is correct only if, at any time, all of its priorities lie within
+ * {@code maximumPriorityRange} of the priority most recently extracted, which
+ * holds for a Dijkstra search whose arc weights do not exceed
+ * {@code maximumPriorityRange}. Like {@link IndexedMinHeap}, it is cleared in
+ * O(1) amortized time by advancing a generation, and the final priority of an
+ * extracted element remains readable until the next {@link #clear()}.
+ *
+ * @author  Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class BucketQueue {
+
+    private static final int NONE = -1;
+
+    /**
+     * Maps each bucket to the first element in it, or to {@code NONE}.
+     */
+    private final int[] head;
+
+    private final int[] next;
+    private final int[] prev;
+    private final int[] key;
+
+    /**
+     * Maps each element to twice the generation in which it was last added,
+     * plus one if it has been extracted since.
+     */
+    private final int[] stamp;
+
+    private int generation = 1;
+    private int size;
+
+    /**
+     * The smallest priority that may be present in this queue.
+     */
+    private int cursor;
+
+    /**
+     * Constructs a bucket queue.
+     *
+     * @param capacity             the amount of distinct elements.
+     * @param maximumPriorityRange the largest allowed difference between the
+     *                             priorities in this queue.
+     */
+    public BucketQueue(int capacity, int maximumPriorityRange) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "The capacity is negative: " + capacity + ".");
+        }
+
+        if (maximumPriorityRange < 0
+                || maximumPriorityRange == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Bad maximum priority range: " + maximumPriorityRange +
+                    ".");
+        }
+
+        this.head = new int[maximumPriorityRange + 1];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.key = new int[capacity];
+        this.stamp = new int[capacity];
+        Arrays.fill(head, NONE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return key.length;
+    }
+
+    public int getMaximumPriorityRange() {
+        return head.length - 1;
+    }
+
+    /**
+     * Adds an element if it has not been added since the last
+     * {@link #clear()}.
+     *
+     * @param e        the element to insert.
+     * @param priority the priority of the element.
+     */
+    public void add(int e, int priority) {
+        if (hasBeenAdded(e)) {
+            return;
+        }
+
+        if (priority < cursor) {
+            throw new IllegalArgumentException(
+                    "The priority " + priority + " is below the current " +
+                    "minimum " + cursor + ".");
+        }
+
+        stamp[e] = generation << 1;
+        key[e] = priority;
+        link(e);
+        ++size;
+    }
+
+    public void decreasePriority(int e, int newPriority) {
+        if (!contains(e) || key[e] <= newPriority) {
+            return;
+        }
+
+        unlink(e);
+        key[e] = newPriority;
+        link(e);
+    }
+
+    public int min() {
+        return head[findMinimumBucket()];
+    }
+
+    public int minPriority() {
+        findMinimumBucket();
+        return cursor;
+    }
+
+    public int extractMinimum() {
+        int element = head[findMinimumBucket()];
+        unlink(element);
+        stamp[element] |= 1;
+        --size;
+        return element;
+    }
+
+    /**
+     * Removes all elements from this queue and forgets which elements were
+     * added.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(head, NONE);
+            size = 0;
+        }
+
+        cursor = 0;
+
+        if (++generation == (Integer.MAX_VALUE >>> 1)) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Returns {@code true} if {@code e} is currently in this queue.
+     *
+     * @param e the element to query.
+     * @return {@code true} if the element is in this queue.
+     */
+    public boolean contains(int e) {
+        return stamp[e] == generation << 1;
+    }
+
+    /**
+     * Returns {@code true} if {@code e} has been added since the last
+     * {@link #clear()}, regardless of whether it was extracted since.
+     *
+     * @param e the element to query.
+     * @return {@code true} if the element has been added.
+     */
+    public boolean hasBeenAdded(int e) {
+        return stamp[e] >>> 1 == generation;
+    }
+
+    /**
+     * Returns the current (or, for an extracted element, the final) priority
+     * of {@code e}. The result is meaningful only if
+     * {@link #hasBeenAdded(int)} returns {@code true}.
+     *
+     * @param e the element to query.
+     * @return the priority of the element.
+     */
+    public int getPriority(int e) {
+        return key[e];
+    }
+
+    private int findMinimumBucket() {
+        if (size == 0) {
+            throw new NoSuchElementException("Reading from an empty queue.");
+        }
+
+        int bucket = cursor % head.length;
+
+        while (head[bucket] == NONE) {
+            ++cursor;
+
+            if (++bucket == head.length) {
+                bucket = 0;
+            }
+        }
+
+        return bucket;
+    }
+
+    private void link(int e) {
+        int bucket = key[e] % head.length;
+        int first = head[bucket];
+        next[e] = first;
+        prev[e] = NONE;
+
+        if (first != NONE) {
+            prev[first] = e;
+        }
+
+        head[bucket] = e;
+    }
+
+    private void unlink(int e) {
+        if (prev[e] == NONE) {
+            head[key[e] % head.length] = next[e];
+        } else {
+            next[prev[e]] = next[e];
+        }
+
+        if (next[e] != NONE) {
+            prev[next[e]] = prev[e];
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed binary minimum heap over the integer
+ * elements {@code 0, 1, ..., capacity - 1}. All the state lives in parallel
+ * primitive arrays, so no objects are allocated after construction.
+ * <p>
+ * Clearing the heap is O(1) amortized: each element is stamped with the
+ * generation in which it was added, and {@link #clear()} merely advances the
+ * generation. As a consequence, the priority of an element added since the
+ * last {@code clear()} remains readable via {@link #getPriority(int)} even
+ * after it has been extracted, which lets shortest-path searches use this heap
+ * as their distance map as well.
+ *
+ * @author  Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class IndexedMinHeap {
+
+    /**
+     * The amount of elements currently in this heap.
+     */
+    private int size;
+
+    /**
+     * Maps each heap slot to the element occupying it.
+     */
+    private final int[] heap;
+
+    /**
+     * Maps each element to its heap slot, or to {@code -1} if the element has
+     * been extracted.
+     */
+    private final int[] pos;
+
+    /**
+     * Maps each element to its priority.
+     */
+    private final double[] key;
+
+    /**
+     * Maps each element to the generation in which it was last added.
+     */
+    private final int[] stamp;
+
+    /**
+     * The current generation.
+     */
+    private int generation = 1;
+
+    /**
+     * Constructs an indexed heap accepting the elements
+     * {@code 0, 1, ..., capacity - 1}.
+     *
+     * @param capacity the amount of distinct elements.
+     */
+    public IndexedMinHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "The capacity is negative: " + capacity + ".");
+        }
+
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.key = new double[capacity];
+        this.stamp = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Adds an element if it has not been added since the last
+     * {@link #clear()}.
+     *
+     * @param e        the element to insert.
+     * @param priority the priority of the element.
+     */
+    public void add(int e, double priority) {
+        if (stamp[e] == generation) {
+            return;
+        }
+
+        stamp[e] = generation;
+        key[e] = priority;
+        siftUp(e, size++);
+    }
+
+    public void decreasePriority(int e, double newPriority) {
+        if (!contains(e) || key[e] <= newPriority) {
+            return;
+        }
+
+        key[e] = newPriority;
+        siftUp(e, pos[e]);
+    }
+
+    public int min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Reading from an empty heap.");
+        }
+
+        return heap[0];
+    }
+
+    public double minPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException("Reading from an empty heap.");
+        }
+
+        return key[heap[0]];
+    }
+
+    public int extractMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException("Extracting from an empty heap.");
+        }
+
+        int element = heap[0];
+        pos[element] = -1;
+
+        if (--size > 0) {
+            siftDown(heap[size], 0);
+        }
+
+        return element;
+    }
+
+    /**
+     * Removes all elements from this heap and forgets which elements were
+     * added.
+     */
+    public void clear() {
+        size = 0;
+
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Returns {@code true} if {@code e} is currently in this heap.
+     *
+     * @param e the element to query.
+     * @return {@code true} if the element is in this heap.
+     */
+    public boolean contains(int e) {
+        return stamp[e] == generation && pos[e] >= 0;
+    }
+
+    /**
+     * Returns {@code true} if {@code e} has been added since the last
+     * {@link #clear()}, regardless of whether it was extracted since.
+     *
+     * @param e the element to query.
+     * @return {@code true} if the element has been added.
+     */
+    public boolean hasBeenAdded(int e) {
+        return stamp[e] == generation;
+    }
+
+    /**
+     * Returns the current (or, for an extracted element, the final) priority
+     * of {@code e}. The result is meaningful only if
+     * {@link #hasBeenAdded(int)} returns {@code true}.
+     *
+     * @param e the element to query.
+     * @return the priority of the element.
+     */
+    public double getPriority(int e) {
+        return key[e];
+    }
+
+    private void siftUp(int e, int index) {
+        double priority = key[e];
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int p = heap[parent];
+
+            if (priority >= key[p]) {
+                break;
+            }
+
+            heap[index] = p;
+            pos[p] = index;
+            index = parent;
+        }
+
+        heap[index] = e;
+        pos[e] = index;
+    }
+
+    private void siftDown(int e, int index) {
+        double priority = key[e];
+
+        for (;;) {
+            int minChildIndex = (index << 1) + 1;
+
+            if (minChildIndex >= size) {
+                break;
+            }
+
+            int rightChildIndex = minChildIndex + 1;
+
+            if (rightChildIndex < size
+                    && key[heap[rightChildIndex]] < key[heap[minChildIndex]]) {
+                minChildIndex = rightChildIndex;
+            }
+
+            int child = heap[minChildIndex];
+
+            if (priority <= key[child]) {
+                break;
+            }
+
+            heap[index] = child;
+            pos[child] = index;
+            index = minChildIndex;
+        }
+
+        heap[index] = e;
+        pos[e] = index;
+    }
+}
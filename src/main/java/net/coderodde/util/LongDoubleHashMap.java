@@ -0,0 +1,153 @@
+package net.coderodde.util;
+
+/**
+ * This class implements an open-addressing hash map from primitive
+ * {@code long} keys to primitive {@code double} values. The keys and the values
+ * live in two parallel arrays probed linearly, so a lookup touches a single
+ * cache line in the common case and neither boxes nor allocates. The map does
+ * not support removal.
+ *
+ * @author  Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class LongDoubleHashMap {
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /**
+     * The golden ratio multiplier scattering the keys over the table.
+     */
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private double[] values;
+    private boolean[] used;
+    private int size;
+    private int shift;
+
+    public LongDoubleHashMap() {
+        this(0);
+    }
+
+    /**
+     * Constructs a map that holds {@code expectedSize} entries without
+     * rehashing.
+     *
+     * @param expectedSize the expected amount of entries.
+     */
+    public LongDoubleHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "The expected size is negative: " + expectedSize + ".");
+        }
+
+        allocate(tableCapacity(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Makes sure that {@code expectedSize} entries fit in this map without
+     * rehashing.
+     *
+     * @param expectedSize the expected amount of entries.
+     */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = tableCapacity(expectedSize);
+
+        if (capacity > keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    public void put(long key, double value) {
+        int slot = findSlot(key);
+
+        if (used[slot]) {
+            values[slot] = value;
+            return;
+        }
+
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+
+        // Keep the load factor at most 1/2.
+        if (++size > keys.length >>> 1) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return used[findSlot(key)];
+    }
+
+    /**
+     * Returns the value mapped to {@code key}, or {@code defaultValue} if
+     * there is no such key.
+     *
+     * @param key          the key to look up.
+     * @param defaultValue the value to return for a missing key.
+     * @return the mapped value or {@code defaultValue}.
+     */
+    public double get(long key, double defaultValue) {
+        int slot = findSlot(key);
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * PHI) >>> shift);
+
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldUsed[i]) {
+                int slot = findSlot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private static int tableCapacity(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+
+        while (capacity >>> 1 < expectedSize) {
+            if (capacity == 1 << 30) {
+                throw new IllegalArgumentException(
+                        "Too many entries: " + expectedSize + ".");
+            }
+
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+}
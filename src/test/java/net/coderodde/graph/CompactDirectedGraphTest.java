@@ -0,0 +1,82 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CompactDirectedGraphTest {
+
+    private final DirectedGraphNode n1 = new DirectedGraphNode(1);
+    private final DirectedGraphNode n2 = new DirectedGraphNode(2);
+    private final DirectedGraphNode n3 = new DirectedGraphNode(3);
+    private final DirectedGraphNode n4 = new DirectedGraphNode(4);
+    
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+    
+    @Test
+    public void testSnapshot() {
+        n1.addChild(n2); wf.put(n1, n2, 1.0);
+        n1.addChild(n3); wf.put(n1, n3, 2.5);
+        n3.addChild(n1); wf.put(n3, n1, 4.0);
+        n3.addChild(n4); wf.put(n3, n4, 7.0);
+        
+        CompactDirectedGraph graph = 
+                new CompactDirectedGraph(Arrays.asList(n1, n2, n3), wf);
+        
+        assertEquals(3, graph.size());
+        assertEquals(3, graph.arcCount());
+        assertEquals(0, graph.getIndex(n1));
+        assertEquals(2, graph.getIndex(n3));
+        assertEquals(-1, graph.getIndex(n4));
+        assertEquals(n2, graph.getNode(1));
+        
+        assertEquals(0, graph.childrenBegin(0));
+        assertEquals(2, graph.childrenEnd(0));
+        assertEquals(1, graph.target(0));
+        assertEquals(1.0, graph.weight(0), 0.001);
+        assertEquals(2, graph.target(1));
+        assertEquals(2.5, graph.weight(1), 0.001);
+        
+        assertEquals(graph.childrenBegin(1), graph.childrenEnd(1));
+        
+        // The arc (n3, n4) leaves the snapshot and must be dropped.
+        assertEquals(1, graph.childrenEnd(2) - graph.childrenBegin(2));
+        assertEquals(0, graph.target(graph.childrenBegin(2)));
+        assertEquals(4.0, graph.weight(graph.childrenBegin(2)), 0.001);
+    }
+    
+    @Test
+    public void testMaximumIntegerWeight() {
+        n1.addChild(n2); wf.put(n1, n2, 3.0);
+        n2.addChild(n3); wf.put(n2, n3, 0.0);
+        
+        assertEquals(3, new CompactDirectedGraph(Arrays.asList(n1, n2, n3), wf)
+                                .getMaximumIntegerWeight());
+        
+        n3.addChild(n1); wf.put(n3, n1, 2.5);
+        
+        assertEquals(-1, new CompactDirectedGraph(Arrays.asList(n1, n2, n3), wf)
+                                 .getMaximumIntegerWeight());
+    }
+    
+    @Test
+    public void testPartition() {
+        n1.addChild(n2); wf.put(n1, n2, 1.0);
+        n2.addChild(n3); wf.put(n2, n3, 2.0);
+        n3.addChild(n4); wf.put(n3, n4, 3.0);
+        n4.addChild(n2); wf.put(n4, n2, 4.0);
+        
+        CompactDirectedGraph graph = 
+                new CompactDirectedGraph(Arrays.asList(n1, n2, n3, n4), wf);
+        CompactDirectedGraph[] parts = 
+                graph.partition(new int[]{ 1, 0, 1, 0 }, 2);
+        
+        assertEquals(Arrays.asList(n2, n4), parts[0].getNodeList());
+        assertEquals(Arrays.asList(n1, n3), parts[1].getNodeList());
+        assertEquals(1, parts[0].arcCount());
+        assertEquals(0, parts[1].arcCount());
+        assertEquals(4.0, parts[0].weight(parts[0].findArc(1, 0)), 0.0);
+        assertEquals(1, parts[0].getIndex(n4));
+    }
+}
@@ -0,0 +1,35 @@
+package net.coderodde.graph;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DirectedGraphWeightFunctionTest {
+
+    private final DirectedGraphNode n1 = new DirectedGraphNode(1);
+    private final DirectedGraphNode n2 = new DirectedGraphNode(2);
+    private final DirectedGraphNode n3 = new DirectedGraphNode(3);
+    
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+    
+    @Test
+    public void testPutAll() {
+        wf.put(n1, n2, 1.0);
+        wf.putAll(new DirectedGraphNode[]{ n1, n2, n3 },
+                  new DirectedGraphNode[]{ n2, n3, n1 },
+                  new double[]{ 4.0, 5.0, Double.NaN });
+        
+        assertEquals(4L, wf.getModificationCount());
+        assertEquals(4.0, wf.get(n1, n2), 0.0);
+        assertEquals(5.0, wf.get(n2, n3), 0.0);
+        assertTrue(Double.isNaN(wf.get(n3, n1)));
+        assertTrue(wf.hasWeight(n3, n1));
+        assertFalse(wf.hasWeight(n1, n3));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingWeight() {
+        wf.put(n1, n2, 1.0);
+        wf.get(n2, n1);
+    }
+}
@@ -0,0 +1,141 @@
+package net.coderodde.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.coderodde.graph.EdgeListLoader.Format;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class EdgeListLoaderTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLoadText() throws IOException {
+        Path file = write("# tail head weight\n" +
+                          "3 1 2.5\n" +
+                          "1\t-4   0.125\r\n" +
+                          "\n" +
+                          "-4 3\n" +
+                          "% another comment\n" +
+                          "1 3 1e2");
+
+        DirectedGraphWeightFunction wf = new DirectedGraphWeightFunction();
+        List<DirectedGraphNode> nodes =
+                new EdgeListLoader().loadNodes(file, Format.TEXT, wf);
+
+        assertEquals(3, nodes.size());
+        assertEquals(-4, nodes.get(0).getId());
+        assertEquals(1, nodes.get(1).getId());
+        assertEquals(3, nodes.get(2).getId());
+        assertEquals(2.5, wf.get(nodes.get(2), nodes.get(1)), 0.0);
+        assertEquals(0.125, wf.get(nodes.get(1), nodes.get(0)), 0.0);
+        assertEquals(1.0, wf.get(nodes.get(0), nodes.get(2)), 0.0);
+        assertEquals(100.0, wf.get(nodes.get(1), nodes.get(2)), 0.0);
+        assertEquals(2, nodes.get(1).children().size());
+
+        CompactDirectedGraph graph =
+                new EdgeListLoader().loadCompactGraph(file, Format.TEXT);
+
+        assertFalse(graph.hasNodeObjects());
+        assertEquals(3, graph.size());
+        assertEquals(4, graph.arcCount());
+        assertEquals(0, graph.getIndex(nodes.get(0)));
+        assertEquals(100.0, graph.weight(graph.findArc(1, 2)), 0.0);
+        assertEquals(0.125, graph.weight(graph.findArc(1, 0)), 0.0);
+    }
+
+    @Test
+    public void testParallelChunksAgreeWithBinary() throws IOException {
+        Random random = new Random(3L);
+        StringBuilder text = new StringBuilder();
+        ByteBuffer binary =
+                ByteBuffer.allocate(20000 * EdgeListLoader.BINARY_RECORD_SIZE)
+                          .order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = 0; i < 20000; ++i) {
+            int tail = random.nextInt(3000);
+            int head = random.nextInt(3000);
+            int weight = random.nextInt(1000);
+            text.append(tail).append(' ').append(head).append(' ')
+                .append(weight / 8.0).append('\n');
+            binary.putInt(tail).putInt(head).putDouble(weight / 8.0);
+        }
+
+        Path textFile = write(text.toString());
+        Path binaryFile = folder.newFile().toPath();
+        Files.write(binaryFile, binary.array());
+
+        CompactDirectedGraph expected =
+                new EdgeListLoader(executor, 1)
+                        .loadCompactGraph(textFile, Format.TEXT);
+        CompactDirectedGraph fromText =
+                new EdgeListLoader(executor, 4)
+                        .loadCompactGraph(textFile, Format.TEXT);
+        CompactDirectedGraph fromBinary =
+                new EdgeListLoader(executor, 4)
+                        .loadCompactGraph(binaryFile, Format.BINARY);
+
+        for (CompactDirectedGraph graph : new CompactDirectedGraph[]{
+                fromText, fromBinary }) {
+            assertEquals(expected.size(), graph.size());
+            assertEquals(expected.arcCount(), graph.arcCount());
+
+            for (int node = 0; node < expected.size(); ++node) {
+                assertEquals(expected.getNode(node), graph.getNode(node));
+                assertEquals(expected.childrenBegin(node),
+                             graph.childrenBegin(node));
+            }
+
+            for (int arc = 0; arc < expected.arcCount(); ++arc) {
+                assertEquals(expected.target(arc), graph.target(arc));
+                assertEquals(expected.weight(arc), graph.weight(arc), 0.0);
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformedLine() throws IOException {
+        new EdgeListLoader().loadCompactGraph(write("1 2 3\n1 x 2\n"),
+                                              Format.TEXT);
+    }
+
+    @Test
+    public void testWeightWithoutDigits() throws IOException {
+        for (String weight : new String[]{ ".", "-", "+.", "-." }) {
+            try {
+                new EdgeListLoader().loadCompactGraph(
+                        write("1 2 " + weight + "\n"), Format.TEXT);
+                fail("Accepted the weight \"" + weight + "\".");
+            } catch (IOException ex) {
+                // Expected.
+            }
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return file.toPath();
+    }
+}
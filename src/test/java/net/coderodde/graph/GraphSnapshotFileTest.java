@@ -0,0 +1,116 @@
+package net.coderodde.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.support.GraphCenterFinderV2;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class GraphSnapshotFileTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndOpen() throws IOException {
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+        DirectedGraphWeightFunction wf = new DirectedGraphWeightFunction();
+
+        for (int i = 0; i < 301; ++i) {
+            nodes.add(new DirectedGraphNode(1000 - 7 * i));
+        }
+
+        TestGraphs.connectRandomly(new Random(19L), nodes, 0, 9, wf);
+
+        CompactDirectedGraph expected = new CompactDirectedGraph(nodes, wf);
+        Path file = folder.newFile().toPath();
+        GraphSnapshotFile.write(nodes, wf, file);
+        CompactDirectedGraph graph = GraphSnapshotFile.open(file);
+
+        assertEquals(expected.size(), graph.size());
+        assertEquals(expected.arcCount(), graph.arcCount());
+        assertEquals(expected.getNodeList(), graph.getNodeList());
+        assertEquals(-1, graph.getIndex(new DirectedGraphNode(1001)));
+
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(i, graph.getIndex(nodes.get(i)));
+            assertEquals(expected.childrenBegin(i), graph.childrenBegin(i));
+            assertEquals(expected.childrenEnd(i), graph.childrenEnd(i));
+        }
+
+        for (int arc = 0; arc < expected.arcCount(); ++arc) {
+            assertEquals(expected.target(arc), graph.target(arc));
+            assertEquals(expected.weight(arc), graph.weight(arc), 0.0);
+            assertEquals(expected.reverse().target(arc),
+                         graph.reverse().target(arc));
+        }
+
+        GraphCenterData expectedData =
+                new GraphCenterFinderV2().findCenterNodes(expected);
+        GraphCenterData data = new GraphCenterFinderV2().findCenterNodes(graph);
+
+        assertEquals(expectedData.getCenterNodeList(),
+                     data.getCenterNodeList());
+    }
+
+    @Test
+    public void testRejectsCorruptBody() throws IOException {
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+        DirectedGraphWeightFunction wf = new DirectedGraphWeightFunction();
+
+        for (int i = 0; i < 3; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        nodes.get(0).addChild(nodes.get(1)); wf.put(0, 1, 1.0);
+        nodes.get(1).addChild(nodes.get(2)); wf.put(1, 2, 1.0);
+        Path file = folder.newFile().toPath();
+        GraphSnapshotFile.write(nodes, wf, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        // The sections start at 24 (IDs), 40 (sorted indices), 56 (offsets),
+        // 72 (targets) and 80 (weights).
+        int[][] corruptions = {
+            { 40, 2 },  // An index repeats.
+            { 44, 7 },  // An index is out of range.
+            { 64, 0 },  // The offsets descend.
+            { 68, 1 },  // The last offset is not the arc count.
+            { 76, 3 },  // A target is out of range.
+            { 72, -1 }, // A target is negative.
+        };
+
+        for (int[] corruption : corruptions) {
+            byte[] corrupt = bytes.clone();
+            ByteBuffer.wrap(corrupt)
+                      .order(ByteOrder.LITTLE_ENDIAN)
+                      .putInt(corruption[0], corruption[1]);
+            Files.write(file, corrupt);
+
+            try {
+                GraphSnapshotFile.open(file);
+                fail("Accepted a corrupt int at " + corruption[0] + ".");
+            } catch (IOException ex) {
+                // Expected.
+            }
+        }
+
+        Files.write(file, bytes);
+        assertEquals(2, GraphSnapshotFile.open(file).arcCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsForeignFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[64]);
+        GraphSnapshotFile.open(file);
+    }
+}
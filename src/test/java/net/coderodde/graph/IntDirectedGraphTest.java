@@ -0,0 +1,138 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.support.GraphCenterFinderV1;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IntDirectedGraphTest {
+
+    @Test
+    public void testAgainstDirectedGraphNode() {
+        Random random = new Random(43L);
+        IntDirectedGraph graph = new IntDirectedGraph();
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(i, graph.addNode());
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        for (int i = 0; i < 5000; ++i) {
+            int tail = random.nextInt(50);
+            int head = random.nextInt(50);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(nodes.get(tail).hasChild(nodes.get(head)),
+                             graph.removeChild(tail, head));
+                nodes.get(tail).removeChild(nodes.get(head));
+            } else {
+                assertEquals(!nodes.get(tail).hasChild(nodes.get(head)),
+                             graph.addChild(tail, head));
+                nodes.get(tail).addChild(nodes.get(head));
+            }
+        }
+
+        graph.trimToSize();
+        long arcCount = 0L;
+
+        for (int node = 0; node < 50; ++node) {
+            assertEquals(toIds(nodes.get(node).children()),
+                         toList(graph, node, true));
+            assertEquals(toIds(nodes.get(node).parents()),
+                         toList(graph, node, false));
+            arcCount += graph.getChildCount(node);
+
+            for (int other = 0; other < 50; ++other) {
+                assertEquals(nodes.get(node).hasChild(nodes.get(other)),
+                             graph.hasChild(node, other));
+            }
+        }
+
+        assertEquals(arcCount, graph.arcCount());
+        assertEquals(graph.size(), graph.addNode());
+    }
+
+    @Test
+    public void testComponentSnapshot() {
+        Random random = new Random(47L);
+        IntDirectedGraph graph = new IntDirectedGraph(200);
+        DirectedGraphWeightFunction wf = new DirectedGraphWeightFunction();
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+
+        for (int i = 0; i < 200; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        // The even nodes and the odd nodes form two components.
+        for (int i = 2; i < 200; ++i) {
+            int other = i % 2 + 2 * random.nextInt(i / 2);
+            double weight = 1 + random.nextInt(9);
+
+            graph.addChild(i, other);
+            graph.addChild(other, i);
+            wf.put(i, other, weight);
+            wf.put(other, i, weight);
+            nodes.get(i).addChild(nodes.get(other));
+            nodes.get(other).addChild(nodes.get(i));
+        }
+
+        int[] component = graph.findConnectedComponent(7);
+
+        assertEquals(100, component.length);
+        assertEquals(1, component[0]);
+
+        CompactDirectedGraph snapshot = graph.toCompactGraph(component, wf);
+        GraphCenterData expected =
+                new GraphCenterFinderV1().findCenterNodes(nodes.get(7), wf);
+        GraphCenterData data = new GraphCenterFinderV1()
+                .findCenterNodes(snapshot);
+
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+        assertEquals(4, snapshot.getIndex(new DirectedGraphNode(9)));
+        assertEquals(-1, snapshot.getIndex(new DirectedGraphNode(8)));
+        assertEquals(2 * 99, snapshot.arcCount());
+        assertEquals(2 * 198, graph.toCompactGraph(wf).arcCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedSnapshotNodes() {
+        new IntDirectedGraph(3).toCompactGraph(
+                new int[]{ 2, 1 }, new DirectedGraphWeightFunction());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBadIndex() {
+        new IntDirectedGraph(3).addChild(0, 3);
+    }
+
+    private static List<Integer> toIds(Iterable<DirectedGraphNode> nodes) {
+        List<Integer> ids = new ArrayList<>();
+
+        for (DirectedGraphNode node : nodes) {
+            ids.add(node.getId());
+        }
+
+        return ids;
+    }
+
+    private static List<Integer> toList(IntDirectedGraph graph,
+                                        int node,
+                                        boolean children) {
+        Integer[] list = new Integer[children ?
+                                     graph.getChildCount(node) :
+                                     graph.getParentCount(node)];
+
+        for (int i = 0; i < list.length; ++i) {
+            list[i] = children ?
+                      graph.getChild(node, i) :
+                      graph.getParent(node, i);
+        }
+
+        return Arrays.asList(list);
+    }
+}
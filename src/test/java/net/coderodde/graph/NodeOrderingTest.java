@@ -0,0 +1,178 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.support.GraphCenterFinderV1;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NodeOrderingTest {
+
+    private static final int WIDTH = 30;
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+
+    @Test
+    public void testPermutationPreservesArcs() {
+        CompactDirectedGraph graph = buildShuffledGrid();
+
+        for (NodeOrdering ordering : NodeOrdering.values()) {
+            CompactDirectedGraph reordered = graph.reorder(ordering);
+
+            assertEquals(graph.size(), reordered.size());
+            assertEquals(graph.arcCount(), reordered.arcCount());
+
+            for (int tail = 0; tail < graph.size(); ++tail) {
+                int newTail = reordered.getIndex(graph.getNode(tail));
+
+                for (int arc = graph.childrenBegin(tail);
+                        arc < graph.childrenEnd(tail);
+                        ++arc) {
+                    int newArc = reordered.findArc(
+                            newTail,
+                            reordered.getIndex(
+                                    graph.getNode(graph.target(arc))));
+
+                    assertTrue(newArc != -1);
+                    assertEquals(graph.weight(arc),
+                                 reordered.weight(newArc),
+                                 0.0);
+                }
+            }
+        }
+
+        assertSame(graph, graph.reorder(NodeOrdering.NONE));
+    }
+
+    @Test
+    public void testReverseCuthillMcKeeNarrowsBandwidth() {
+        CompactDirectedGraph graph = buildShuffledGrid();
+        int bandwidth =
+                findBandwidth(graph.reorder(
+                        NodeOrdering.REVERSE_CUTHILL_MCKEE));
+
+        assertTrue(bandwidth <= 2 * WIDTH);
+        assertTrue(findBandwidth(graph) > 4 * WIDTH);
+        assertTrue(findBandwidth(graph.reorder(NodeOrdering.BFS))
+                   <= 2 * WIDTH);
+    }
+
+    @Test
+    public void testHubFirst() {
+        CompactDirectedGraph graph =
+                buildShuffledGrid().reorder(NodeOrdering.HUB_FIRST);
+        CompactDirectedGraph reverse = graph.reverse();
+
+        for (int node = 1; node < graph.size(); ++node) {
+            assertTrue(degree(graph, reverse, node - 1) >=
+                       degree(graph, reverse, node));
+        }
+    }
+
+    @Test
+    public void testFinderResultsAreUnaffected() {
+        buildShuffledGrid();
+        GraphCenterData expected =
+                new GraphCenterFinderV1().findCenterNodes(nodes.get(0), wf);
+
+        for (NodeOrdering ordering : NodeOrdering.values()) {
+            GraphCenterFinderV1 finder = new GraphCenterFinderV1();
+            finder.setNodeOrdering(ordering);
+            GraphCenterData data = finder.findCenterNodes(nodes.get(0), wf);
+
+            assertEquals(new HashSet<>(expected.getCenterNodeList()),
+                         new HashSet<>(data.getCenterNodeList()));
+
+            for (DirectedGraphNode node : nodes) {
+                assertEquals(expected.getEccentricityMap().get(node),
+                             data.getEccentricityMap().get(node),
+                             0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testIntDirectedGraphSnapshot() {
+        IntDirectedGraph intGraph = new IntDirectedGraph(4);
+        DirectedGraphWeightFunction intWf = new DirectedGraphWeightFunction();
+
+        for (int i = 0; i < 3; ++i) {
+            intGraph.addChild(i, i + 1);
+            intWf.put(i, i + 1, i + 1.0);
+        }
+
+        CompactDirectedGraph graph = intGraph.toCompactGraph(intWf)
+                                             .permute(new int[]{ 2, 0, 3, 1 });
+
+        assertEquals(0, graph.getIndex(new DirectedGraphNode(2)));
+        assertEquals(3, graph.getIndex(new DirectedGraphNode(1)));
+        assertEquals(new DirectedGraphNode(3), graph.getNode(2));
+        assertEquals(3.0, graph.weight(graph.findArc(0, 2)), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotPermutation() {
+        buildShuffledGrid().permute(new int[WIDTH * WIDTH]);
+    }
+
+    /**
+     * Builds a grid whose nodes are listed in random order.
+     */
+    private CompactDirectedGraph buildShuffledGrid() {
+        Random random = new Random(53L);
+
+        for (int i = 0; i < WIDTH * WIDTH; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        for (int i = 0; i < WIDTH * WIDTH; ++i) {
+            if ((i + 1) % WIDTH != 0) {
+                connect(i, i + 1, 1 + random.nextInt(9));
+            }
+
+            if (i + WIDTH < WIDTH * WIDTH) {
+                connect(i, i + WIDTH, 1 + random.nextInt(9));
+            }
+        }
+
+        List<DirectedGraphNode> shuffled = new ArrayList<>(nodes);
+        Collections.shuffle(shuffled, random);
+        return new CompactDirectedGraph(shuffled, wf);
+    }
+
+    private void connect(int a, int b, double weight) {
+        nodes.get(a).addChild(nodes.get(b));
+        nodes.get(b).addChild(nodes.get(a));
+        wf.put(nodes.get(a), nodes.get(b), weight);
+        wf.put(nodes.get(b), nodes.get(a), weight);
+    }
+
+    private static int findBandwidth(CompactDirectedGraph graph) {
+        int bandwidth = 0;
+
+        for (int tail = 0; tail < graph.size(); ++tail) {
+            for (int arc = graph.childrenBegin(tail);
+                    arc < graph.childrenEnd(tail);
+                    ++arc) {
+                bandwidth = Math.max(bandwidth,
+                                     Math.abs(tail - graph.target(arc)));
+            }
+        }
+
+        return bandwidth;
+    }
+
+    private static int degree(CompactDirectedGraph graph,
+                              CompactDirectedGraph reverse,
+                              int node) {
+        return graph.childrenEnd(node) - graph.childrenBegin(node) +
+               reverse.childrenEnd(node) - reverse.childrenBegin(node);
+    }
+}
@@ -0,0 +1,149 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class StronglyConnectedComponentsTest {
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    @Test
+    public void testCondensation() {
+        List<DirectedGraphNode> nodes = createNodes(6);
+
+        // {0, 1} -> {2, 3, 4} -> {5}.
+        addArc(nodes, 0, 1); addArc(nodes, 1, 0);
+        addArc(nodes, 1, 2);
+        addArc(nodes, 2, 3); addArc(nodes, 3, 4); addArc(nodes, 4, 2);
+        addArc(nodes, 4, 5);
+
+        StronglyConnectedComponents components =
+                new CompactDirectedGraph(nodes, wf)
+                        .getStronglyConnectedComponents();
+
+        assertEquals(3, components.getComponentCount());
+        assertFalse(components.isStronglyConnected());
+        assertEquals(1, components.getSourceComponentCount());
+        assertEquals(2, components.getReachingAllCount());
+        assertEquals(components.getComponent(2), components.getComponent(4));
+        assertTrue(components.getComponent(0) > components.getComponent(2));
+        assertTrue(components.getComponent(2) > components.getComponent(5));
+        assertTrue(components.canReachAll(0));
+        assertTrue(components.canReachAll(1));
+        assertFalse(components.canReachAll(3));
+        assertFalse(components.canReachAll(5));
+
+        // A second source component: nobody reaches everything.
+        addArc(nodes, 5, 5);
+        nodes.add(new DirectedGraphNode(6));
+        addArc(nodes, 6, 3);
+        components = new CompactDirectedGraph(nodes, wf)
+                             .getStronglyConnectedComponents();
+
+        assertEquals(2, components.getSourceComponentCount());
+        assertEquals(0, components.getReachingAllCount());
+        assertFalse(components.canReachAll(0));
+    }
+
+    @Test
+    public void testAgainstReachability() {
+        Random random = new Random(31L);
+
+        for (int iteration = 0; iteration < 30; ++iteration) {
+            List<DirectedGraphNode> nodes = createNodes(40);
+            int arcCount = random.nextInt(120);
+
+            for (int i = 0; i < arcCount; ++i) {
+                addArc(nodes, random.nextInt(40), random.nextInt(40));
+            }
+
+            CompactDirectedGraph graph = new CompactDirectedGraph(nodes, wf);
+            StronglyConnectedComponents components =
+                    graph.getStronglyConnectedComponents();
+            boolean[][] reaches = new boolean[40][];
+
+            for (int i = 0; i < 40; ++i) {
+                reaches[i] = findReachable(graph, i);
+            }
+
+            for (int i = 0; i < 40; ++i) {
+                boolean reachesAll = true;
+
+                for (int j = 0; j < 40; ++j) {
+                    reachesAll &= reaches[i][j];
+                    assertEquals(reaches[i][j] && reaches[j][i],
+                                 components.getComponent(i) ==
+                                 components.getComponent(j));
+                }
+
+                assertEquals(reachesAll, components.canReachAll(i));
+            }
+        }
+    }
+
+    @Test
+    public void testLongPath() {
+        // Deep enough to overflow a recursive implementation.
+        List<DirectedGraphNode> nodes = createNodes(200000);
+
+        for (int i = 1; i < nodes.size(); ++i) {
+            addArc(nodes, i - 1, i);
+        }
+
+        addArc(nodes, nodes.size() - 1, 1);
+
+        StronglyConnectedComponents components =
+                new CompactDirectedGraph(nodes, wf)
+                        .getStronglyConnectedComponents();
+
+        assertEquals(2, components.getComponentCount());
+        assertEquals(nodes.size() - 1, components.getComponentSize(
+                components.getComponent(1)));
+        assertEquals(1, components.getReachingAllCount());
+        assertTrue(components.canReachAll(0));
+    }
+
+    private static List<DirectedGraphNode> createNodes(int count) {
+        List<DirectedGraphNode> nodes = new ArrayList<>(count);
+
+        for (int i = 0; i < count; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        return nodes;
+    }
+
+    private void addArc(List<DirectedGraphNode> nodes, int tail, int head) {
+        nodes.get(tail).addChild(nodes.get(head));
+        wf.put(nodes.get(tail), nodes.get(head), 1.0);
+    }
+
+    private static boolean[] findReachable(CompactDirectedGraph graph,
+                                           int source) {
+        boolean[] reached = new boolean[graph.size()];
+        int[] stack = new int[graph.size()];
+        int stackSize = 0;
+
+        reached[source] = true;
+        stack[stackSize++] = source;
+
+        while (stackSize > 0) {
+            int node = stack[--stackSize];
+
+            for (int arc = graph.childrenBegin(node);
+                    arc < graph.childrenEnd(node);
+                    ++arc) {
+                if (!reached[graph.target(arc)]) {
+                    reached[graph.target(arc)] = true;
+                    stack[stackSize++] = graph.target(arc);
+                }
+            }
+        }
+
+        return reached;
+    }
+}
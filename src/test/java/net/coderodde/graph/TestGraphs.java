@@ -0,0 +1,85 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class builds the random test graphs shared by the unit tests.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6
+ */
+public final class TestGraphs {
+
+    private TestGraphs() {}
+
+    /**
+     * Builds a strongly connected random graph with the node IDs
+     * {@code 0, 1, ..., nodeCount - 1} and arc weights in {@code [1, 9]}.
+     *
+     * @param seed           the seed of the random number generator.
+     * @param nodeCount      the number of nodes.
+     * @param extraArcCount  the number of random arcs on top of the tree.
+     * @param weightFunction the weight function to fill.
+     * @return the list of nodes.
+     */
+    public static List<DirectedGraphNode>
+        randomConnected(long seed,
+                        int nodeCount,
+                        int extraArcCount,
+                        DirectedGraphWeightFunction weightFunction) {
+        List<DirectedGraphNode> nodes = new ArrayList<>(nodeCount);
+
+        for (int i = 0; i < nodeCount; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        connectRandomly(new Random(seed),
+                        nodes,
+                        extraArcCount,
+                        9,
+                        weightFunction);
+        return nodes;
+    }
+
+    /**
+     * Connects the given nodes with a bidirectional random spanning tree and
+     * adds {@code extraArcCount} random arcs on top of it. Every arc weight
+     * is drawn from {@code [1, maximumWeight]}.
+     *
+     * @param random         the random number generator.
+     * @param nodes          the nodes to connect.
+     * @param extraArcCount  the number of random arcs on top of the tree.
+     * @param maximumWeight  the largest arc weight.
+     * @param weightFunction the weight function to fill.
+     */
+    public static void connectRandomly(
+            Random random,
+            List<DirectedGraphNode> nodes,
+            int extraArcCount,
+            int maximumWeight,
+            DirectedGraphWeightFunction weightFunction) {
+        for (int i = 1; i < nodes.size(); ++i) {
+            DirectedGraphNode a = nodes.get(i);
+            DirectedGraphNode b = nodes.get(random.nextInt(i));
+            connect(a, b, random, maximumWeight, weightFunction);
+            connect(b, a, random, maximumWeight, weightFunction);
+        }
+
+        for (int i = 0; i < extraArcCount; ++i) {
+            DirectedGraphNode a = nodes.get(random.nextInt(nodes.size()));
+            DirectedGraphNode b = nodes.get(random.nextInt(nodes.size()));
+            connect(a, b, random, maximumWeight, weightFunction);
+        }
+    }
+
+    private static void connect(DirectedGraphNode tail,
+                                DirectedGraphNode head,
+                                Random random,
+                                int maximumWeight,
+                                DirectedGraphWeightFunction weightFunction) {
+        tail.addChild(head);
+        weightFunction.put(tail, head, 1 + random.nextInt(maximumWeight));
+    }
+}
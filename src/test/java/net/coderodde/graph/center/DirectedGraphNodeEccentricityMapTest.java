@@ -0,0 +1,118 @@
+package net.coderodde.graph.center;
+
+import java.util.Arrays;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.IntDirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DirectedGraphNodeEccentricityMapTest {
+
+    private final DirectedGraphNode n1 = new DirectedGraphNode(1);
+    private final DirectedGraphNode n2 = new DirectedGraphNode(2);
+    private final DirectedGraphNode n3 = new DirectedGraphNode(3);
+    private final DirectedGraphNode n4 = new DirectedGraphNode(4);
+    private final DirectedGraphNode n5 = new DirectedGraphNode(5);
+    
+    private final CompactDirectedGraph graph = 
+            new CompactDirectedGraph(Arrays.asList(n1, n2, n3, n4, n5),
+                                     new DirectedGraphWeightFunction());
+    
+    @Test
+    public void testGetAndPut() {
+        DirectedGraphNodeEccentricityMap map = 
+                new DirectedGraphNodeEccentricityMap(graph);
+        
+        assertTrue(Double.isNaN(map.get(n1)));
+        
+        map.put(n1, 3.0);
+        map.put(2, 4.0);
+        
+        assertEquals(3.0, map.get(0), 0.0);
+        assertEquals(4.0, map.get(n3), 0.0);
+        assertEquals(n3, map.getNode(2));
+        assertTrue(Double.isNaN(map.get(new DirectedGraphNode(6))));
+    }
+    
+    @Test
+    public void testGraphWithoutNodeObjects() {
+        IntDirectedGraph intGraph = new IntDirectedGraph(8);
+        DirectedGraphWeightFunction intWf = new DirectedGraphWeightFunction();
+        intGraph.addChild(7, 3);
+        intGraph.addChild(3, 1);
+        intWf.put(7, 3, 1.0);
+        intWf.put(3, 1, 1.0);
+        DirectedGraphNodeEccentricityMap map = 
+                new DirectedGraphNodeEccentricityMap(
+                        intGraph.toCompactGraph(new int[]{ 1, 3, 7 }, intWf));
+        
+        map.put(new DirectedGraphNode(7), 1.0);
+        map.put(new DirectedGraphNode(1), 2.0);
+        
+        assertEquals(3, map.size());
+        assertEquals(new DirectedGraphNode(3), map.getNode(1));
+        assertEquals(1.0, map.get(2), 0.0);
+        assertEquals(2.0, map.get(0), 0.0);
+        assertTrue(Double.isNaN(map.get(new DirectedGraphNode(5))));
+    }
+    
+    @Test
+    public void testUnsortedNegativeIds() {
+        DirectedGraphNode[] nodes = { 
+            new DirectedGraphNode(9),
+            new DirectedGraphNode(-5),
+            new DirectedGraphNode(0),
+            new DirectedGraphNode(-1)
+        };
+        DirectedGraphNodeEccentricityMap map = 
+                new DirectedGraphNodeEccentricityMap(
+                        new CompactDirectedGraph(
+                                Arrays.asList(nodes),
+                                new DirectedGraphWeightFunction()));
+        
+        for (int i = 0; i < nodes.length; ++i) {
+            map.put(nodes[i], i);
+        }
+        
+        for (int i = 0; i < nodes.length; ++i) {
+            assertEquals(i, map.get(new DirectedGraphNode(nodes[i].getId())), 
+                         0.0);
+            assertSame(nodes[i], map.getNode(i));
+        }
+    }
+    
+    @Test
+    public void testWithoutGraph() {
+        DirectedGraphNodeEccentricityMap map = 
+                new DirectedGraphNodeEccentricityMap();
+        
+        for (int i = 0; i < 100; ++i) {
+            map.put(new DirectedGraphNode(i), 100 - i);
+        }
+        
+        assertEquals(100, map.size());
+        assertEquals(90.0, map.get(new DirectedGraphNode(10)), 0.0);
+        assertEquals(new DirectedGraphNode(99), map.getNode(99));
+        assertArrayEquals(new int[]{ 99, 98 }, map.getSmallestIndices(2));
+    }
+    
+    @Test
+    public void testSortedAndSmallest() {
+        DirectedGraphNodeEccentricityMap map = 
+                new DirectedGraphNodeEccentricityMap(graph);
+        
+        map.put(n1, 5.0);
+        map.put(n2, 1.0);
+        map.put(n4, 3.0);
+        map.put(n5, 1.0);
+        
+        assertArrayEquals(new int[]{ 1, 4, 3, 0 }, 
+                          map.getIndicesSortedByEccentricity());
+        assertArrayEquals(new int[]{ 1, 4, 3 }, map.getSmallestIndices(3));
+        assertArrayEquals(new int[]{ 1, 4, 3, 0 }, 
+                          map.getSmallestIndices(10));
+        assertArrayEquals(new int[0], map.getSmallestIndices(0));
+    }
+}
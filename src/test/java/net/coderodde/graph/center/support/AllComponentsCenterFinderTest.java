@@ -0,0 +1,113 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AllComponentsCenterFinderTest {
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+    
+    @Test
+    public void testAgainstV1() {
+        Random random = new Random(29L);
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+        List<DirectedGraphNode> representatives = new ArrayList<>();
+        int id = 0;
+        
+        // Components of 1, 2, ..., 60 nodes and one large component.
+        for (int size = 1; size <= 61; ++size) {
+            int componentSize = size == 61 ? 2000 : size;
+            int begin = nodes.size();
+            
+            for (int i = 0; i < componentSize; ++i) {
+                nodes.add(new DirectedGraphNode(id++));
+            }
+            
+            representatives.add(nodes.get(begin));
+            
+            for (int i = begin + 1; i < nodes.size(); ++i) {
+                DirectedGraphNode a = nodes.get(i);
+                DirectedGraphNode b = 
+                        nodes.get(begin + random.nextInt(i - begin));
+                
+                // Sometimes only a parent arc keeps the component together.
+                if (random.nextBoolean()) {
+                    a.addChild(b); wf.put(a, b, 1 + random.nextInt(5));
+                } else {
+                    b.addChild(a); wf.put(b, a, 1 + random.nextInt(5));
+                }
+            }
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        
+        try {
+            List<GraphCenterData> sequential = 
+                    new AllComponentsCenterFinder(new GraphCenterFinderV2(),
+                                                  executor,
+                                                  1)
+                            .findAllCenterNodes(nodes, wf);
+            List<GraphCenterData> parallel = 
+                    new AllComponentsCenterFinder(new GraphCenterFinderV2(),
+                                                  executor,
+                                                  3)
+                            .findAllCenterNodes(nodes, wf);
+            
+            assertEquals(representatives.size(), sequential.size());
+            assertEquals(representatives.size(), parallel.size());
+            
+            for (int i = 0; i < representatives.size(); ++i) {
+                GraphCenterData expected = new GraphCenterFinderV1()
+                        .findCenterNodes(representatives.get(i), wf);
+                
+                assertEquals(
+                        new HashSet<>(expected.getCenterNodeList()),
+                        new HashSet<>(sequential.get(i).getCenterNodeList()));
+                assertEquals(sequential.get(i).getCenterNodeList(),
+                             parallel.get(i).getCenterNodeList());
+                
+                DirectedGraphNode center = 
+                        expected.getCenterNodeList().get(0);
+                
+                assertEquals(expected.getEccentricityMap().get(center),
+                             parallel.get(i).getEccentricityMap().get(center),
+                             0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testLargeComponentsGetBatchesOfTheirOwn() {
+        int[] sizes = { 10, 20, 2000, 1000, 30, 1024, 1000 };
+        CompactDirectedGraph[] components =
+                new CompactDirectedGraph[sizes.length];
+        int id = 0;
+        
+        for (int i = 0; i < sizes.length; ++i) {
+            List<DirectedGraphNode> nodes = new ArrayList<>();
+            
+            for (int j = 0; j < sizes[i]; ++j) {
+                nodes.add(new DirectedGraphNode(id++));
+            }
+            
+            components[i] = new CompactDirectedGraph(nodes, wf);
+        }
+        
+        assertArrayEquals(new int[]{ 2, 3, 5, 6, 7 },
+                          AllComponentsCenterFinder.computeBatchEnds(
+                                  components));
+    }
+}
@@ -0,0 +1,127 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.TestGraphs;
+import net.coderodde.graph.center.ApproximateGraphCenterData;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ApproximateGraphCenterFinderTest {
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+    
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+    
+    private GraphCenterData expected;
+    
+    private double radius;
+    
+    @Before
+    public void before() {
+        nodes.addAll(TestGraphs.randomConnected(7L, 400, 0, wf));
+        
+        expected = new GraphCenterFinderV1().findCenterNodes(nodes.get(0), wf);
+        radius = expected.getEccentricityMap()
+                         .get(expected.getCenterNodeList().get(0));
+    }
+    
+    @Test
+    public void testUnlimitedBudgetIsExact() {
+        ApproximateGraphCenterData data = 
+                new ApproximateGraphCenterFinder(Integer.MAX_VALUE)
+                        .findCenterNodes(nodes.get(0), wf);
+        
+        assertTrue(data.isExact());
+        assertEquals(radius, data.getRadiusUpperBound(), 0.0);
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+    }
+    
+    @Test
+    public void testSmallBudgetBoundsRadius() {
+        ApproximateGraphCenterData data = 
+                new ApproximateGraphCenterFinder(4)
+                        .findCenterNodes(nodes.get(0), wf);
+        
+        assertTrue(data.getRadiusLowerBound() <= radius);
+        assertTrue(data.getRadiusUpperBound() >= radius);
+        assertEquals(data.getRadiusUpperBound() - data.getRadiusLowerBound(),
+                     data.getApproximationGap(), 0.0);
+        assertFalse(data.getCenterNodeList().isEmpty());
+        
+        for (DirectedGraphNode node : nodes) {
+            double eccentricity = expected.getEccentricityMap().get(node);
+            assertTrue(data.getEccentricityMap().get(node) <= eccentricity);
+            assertTrue(data.getEccentricityUpperBoundMap().get(node) >= 
+                       eccentricity);
+        }
+        
+        for (DirectedGraphNode node : data.getCenterNodeList()) {
+            assertEquals(data.getRadiusUpperBound(), 
+                         data.getEccentricityUpperBoundMap().get(node),
+                         0.0);
+        }
+    }
+    
+    @Test
+    public void testSmallBudgetOneByOne() {
+        GraphCenterFinderV1 referenceFinder = new GraphCenterFinderV1();
+        referenceFinder.setObjective(EccentricityObjective.ROUND_TRIP);
+        GraphCenterData roundTripExpected = 
+                referenceFinder.findCenterNodes(nodes.get(0), wf);
+        double roundTripRadius = 
+                roundTripExpected.getEccentricityMap()
+                                 .get(roundTripExpected.getCenterNodeList()
+                                                       .get(0));
+        
+        ApproximateGraphCenterFinder finder = 
+                new ApproximateGraphCenterFinder(6);
+        finder.setObjective(EccentricityObjective.ROUND_TRIP);
+        ApproximateGraphCenterData data = 
+                finder.findCenterNodes(nodes.get(0), wf);
+        
+        assertFalse(data.isExact());
+        // The searched nodes bound the others from below.
+        assertTrue(data.getRadiusLowerBound() > 0.0);
+        assertTrue(data.getRadiusLowerBound() <= roundTripRadius);
+        assertTrue(data.getRadiusUpperBound() >= roundTripRadius);
+        
+        for (DirectedGraphNode node : nodes) {
+            assertTrue(data.getEccentricityMap().get(node) <= 
+                       roundTripExpected.getEccentricityMap().get(node));
+        }
+    }
+    
+    @Test
+    public void testNotStronglyConnected() {
+        DirectedGraphNode tail = new DirectedGraphNode(-1);
+        tail.addChild(nodes.get(0)); 
+        wf.put(tail, nodes.get(0), 1.0);
+        
+        ApproximateGraphCenterData data = 
+                new ApproximateGraphCenterFinder(10, 1L, TimeUnit.MINUTES)
+                        .findCenterNodes(tail, wf);
+        
+        // Only the new tail node reaches every node, so a single search
+        // certifies it.
+        assertEquals(Collections.singletonList(tail), 
+                     data.getCenterNodeList());
+        assertEquals(data.getRadiusUpperBound(), 
+                     data.getRadiusLowerBound(), 
+                     0.0);
+        assertEquals(data.getRadiusUpperBound(), 
+                     data.getEccentricityUpperBoundMap().get(tail), 
+                     0.0);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     data.getEccentricityMap().get(nodes.get(0)), 
+                     0.0);
+    }
+}
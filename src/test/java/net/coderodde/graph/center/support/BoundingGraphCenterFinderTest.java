@@ -0,0 +1,122 @@
+package net.coderodde.graph.center.support;
+
+import java.util.List;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.TestGraphs;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BoundingGraphCenterFinderTest {
+
+    private final DirectedGraphNode n1 = new DirectedGraphNode(1);
+    private final DirectedGraphNode n2 = new DirectedGraphNode(2);
+    private final DirectedGraphNode n3 = new DirectedGraphNode(3);
+    private final DirectedGraphNode n4 = new DirectedGraphNode(4);
+    private final DirectedGraphNode n5 = new DirectedGraphNode(5);
+    private final DirectedGraphNode n6 = new DirectedGraphNode(6);
+    private final DirectedGraphNode n7 = new DirectedGraphNode(7);
+    
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+    
+    private final BoundingGraphCenterFinder finder = 
+            new BoundingGraphCenterFinder();
+    
+    private GraphCenterData data;
+    
+    @Test
+    public void testFindCenterNodes() {
+        data = finder.findCenterNodes(n1, wf);
+        
+        assertEquals(1, data.getCenterNodeList().size());
+        assertEquals(n1, data.getCenterNodeList().get(0));
+        assertEquals(0.0, data.getEccentricityMap().get(n1), 0.001);
+        
+        n1.addChild(n2);
+        wf.put(n1, n2, 2.0);
+        
+        data = finder.findCenterNodes(n1, wf);
+        
+        // Node 2 does not reach node 1.
+        assertEquals(1, data.getCenterNodeList().size());
+        assertEquals(n1, data.getCenterNodeList().get(0));
+        assertEquals(2.0, data.getEccentricityMap().get(n1), 0.001);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     data.getEccentricityMap().get(n2), 
+                     0.0);
+        // The fallback searches from node 1 only.
+        assertEquals(1, finder.getLastSearchCount());
+        assertNull(data.getStatistics());
+        
+        n2.addChild(n1);
+        wf.put(n2, n1, 1.5);
+        
+        data = finder.findCenterNodes(n1, wf);
+        
+        assertEquals(1, data.getCenterNodeList().size());
+        assertEquals(n2, data.getCenterNodeList().get(0));
+        assertEquals(1.5, data.getEccentricityMap().get(n2), 0.001);
+        
+        data = finder.findCenterNodes(n2, wf);
+        
+        assertEquals(1, data.getCenterNodeList().size());
+        assertEquals(n2, data.getCenterNodeList().get(0));
+        assertEquals(1.5, data.getEccentricityMap().get(n2), 0.001);
+        
+        wf.put(n1, n2, 1.0);
+        wf.put(n2, n1, 1.0);
+        
+        n2.addChild(n3); wf.put(n2, n3, 3.0);
+        n3.addChild(n2); wf.put(n3, n2, 3.0);
+        
+        n2.addChild(n4); wf.put(n2, n4, 2.0);
+        n4.addChild(n2); wf.put(n4, n2, 2.0);
+        
+        n3.addChild(n4); wf.put(n3, n4, 5.0);
+        n4.addChild(n3); wf.put(n4, n3, 5.0);
+        
+        n3.addChild(n5); wf.put(n3, n5, 2.0);
+        n5.addChild(n3); wf.put(n5, n3, 2.0);
+        
+        n4.addChild(n6); wf.put(n4, n6, 3.0);
+        n6.addChild(n4); wf.put(n6, n4, 3.0);
+        
+        data = finder.findCenterNodes(n4, wf);
+        
+        assertEquals(1, data.getCenterNodeList().size());
+        assertEquals(n2, data.getCenterNodeList().get(0));
+        assertEquals(5.0, data.getEccentricityMap().get(n2), 0.001);
+        
+        wf.put(n3, n4, 3.0);
+        wf.put(n4, n3, 3.0);
+        
+        data = finder.findCenterNodes(n5, wf);
+        
+        assertEquals(2, data.getCenterNodeList().size());
+        assertTrue(data.getCenterNodeList().contains(n2));
+        assertTrue(data.getCenterNodeList().contains(n4));
+        assertEquals(5.0, data.getEccentricityMap().get(n2), 0.001);
+        assertEquals(5.0, data.getEccentricityMap().get(n4), 0.001);
+    }
+    
+    @Test
+    public void testAgainstV1OnStronglyConnectedGraph() {
+        List<DirectedGraphNode> nodes = 
+                TestGraphs.randomConnected(5L, 500, 100, wf);
+        
+        GraphCenterData expected = 
+                new GraphCenterFinderV1().findCenterNodes(nodes.get(0), wf);
+        
+        data = finder.findCenterNodes(nodes.get(0), wf);
+        
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+        assertTrue(finder.getLastSearchCount() < nodes.size());
+        
+        for (DirectedGraphNode node : nodes) {
+            assertTrue(data.getEccentricityMap().get(node) <= 
+                       expected.getEccentricityMap().get(node));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package net.coderodde.graph.center.support;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.TestGraphs;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.ApproximateGraphCenterData;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class CachingGraphCenterFinderTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+
+    @Test
+    public void testMemoryAndFileCache() throws IOException {
+        nodes.addAll(TestGraphs.randomConnected(23L, 500, 100, wf));
+        Path directory = folder.newFolder().toPath();
+        CachingGraphCenterFinder finder =
+                new CachingGraphCenterFinder(new GraphCenterFinderV2(),
+                                             1000L,
+                                             directory);
+
+        GraphCenterData expected =
+                new GraphCenterFinderV1().findCenterNodes(nodes.get(0), wf);
+        GraphCenterData data = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+        assertEquals(1L, finder.getMissCount());
+
+        // Another representative yields another node order but the same
+        // fingerprint.
+        data = finder.findCenterNodes(nodes.get(7), wf);
+
+        assertEquals(1L, finder.getMemoryHitCount());
+        assertEquals(expected.getCenterNodeList().size(),
+                     data.getCenterNodeList().size());
+        assertTrue(data.getCenterNodeList()
+                       .containsAll(expected.getCenterNodeList()));
+
+        // A new finder on the same directory reads the file.
+        finder = new CachingGraphCenterFinder(new GraphCenterFinderV2(),
+                                              1000L,
+                                              directory);
+        finder.setCompleteEccentricities(true);
+        data = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(1L, finder.getFileHitCount());
+        assertEquals(0L, finder.getMissCount());
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+
+        for (DirectedGraphNode node : nodes) {
+            assertEquals(expected.getEccentricityMap().get(node),
+                         data.getEccentricityMap().get(node),
+                         0.0);
+        }
+
+        // Changing a weight changes the fingerprint.
+        DirectedGraphNode tail = nodes.get(3);
+        DirectedGraphNode head = tail.children().iterator().next();
+        wf.put(tail, head, wf.get(tail, head) + 1.0);
+        finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(1L, finder.getMissCount());
+    }
+
+    @Test
+    public void testFailedWriteReturnsResult() throws IOException {
+        nodes.addAll(TestGraphs.randomConnected(23L, 100, 20, wf));
+        Path directory = folder.newFolder().toPath();
+        CachingGraphCenterFinder finder =
+                new CachingGraphCenterFinder(new GraphCenterFinderV2(),
+                                             1000L,
+                                             directory);
+        GraphCenterData expected = finder.findCenterNodes(nodes.get(0), wf);
+        File[] files = directory.toFile().listFiles();
+
+        assertEquals(1, files.length);
+
+        // A non-empty directory in place of the cache file fails the move.
+        String name = files[0].getName();
+        assertTrue(files[0].delete());
+        Files.createDirectories(directory.resolve(name).resolve("x"));
+
+        finder = new CachingGraphCenterFinder(new GraphCenterFinderV2(),
+                                              1000L,
+                                              directory);
+        GraphCenterData data = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+        assertEquals(1, directory.toFile().listFiles().length);
+
+        // So does a regular file in place of the cache directory.
+        finder = new CachingGraphCenterFinder(new GraphCenterFinderV2(),
+                                              1000L,
+                                              folder.newFile().toPath());
+        data = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+    }
+
+    @Test
+    public void testApproximateDelegate() throws IOException {
+        nodes.addAll(TestGraphs.randomConnected(23L, 300, 60, wf));
+        Path directory = folder.newFolder().toPath();
+        CachingGraphCenterFinder finder =
+                new CachingGraphCenterFinder(
+                        new ApproximateGraphCenterFinder(3),
+                        1000L,
+                        directory);
+        ApproximateGraphCenterData expected =
+                (ApproximateGraphCenterData)
+                finder.findCenterNodes(nodes.get(0), wf);
+
+        assertFalse(expected.isExact());
+
+        GraphCenterData memoryHit = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(1L, finder.getMemoryHitCount());
+        assertSameApproximation(expected, memoryHit);
+
+        finder = new CachingGraphCenterFinder(
+                new ApproximateGraphCenterFinder(3),
+                1000L,
+                directory);
+        GraphCenterData fileHit = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(1L, finder.getFileHitCount());
+        assertSameApproximation(expected, fileHit);
+
+        // Another budget or an exact finder sharing the directory misses.
+        for (AbstractGraphCenterFinder delegate :
+                new AbstractGraphCenterFinder[]{
+                    new ApproximateGraphCenterFinder(4),
+                    new GraphCenterFinderV2() }) {
+            finder = new CachingGraphCenterFinder(delegate, 1000L, directory);
+            GraphCenterData data = finder.findCenterNodes(nodes.get(0), wf);
+
+            assertEquals(1L, finder.getMissCount());
+            assertEquals(delegate instanceof ApproximateGraphCenterFinder,
+                         data instanceof ApproximateGraphCenterData);
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        nodes.addAll(TestGraphs.randomConnected(23L, 300, 0, wf));
+        CachingGraphCenterFinder finder =
+                new CachingGraphCenterFinder(new GraphCenterFinderV2(), 500L);
+
+        finder.findCenterNodes(nodes.get(0), wf);
+        finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(1L, finder.getMemoryHitCount());
+
+        DirectedGraphNode tail = nodes.get(3);
+        DirectedGraphNode head = tail.children().iterator().next();
+        wf.put(tail, head, 1000.0);
+
+        // Caching the second version evicts the first one.
+        finder.findCenterNodes(nodes.get(0), wf);
+        wf.put(tail, head, 1.0);
+        finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(1L, finder.getMemoryHitCount());
+        assertEquals(3L, finder.getMissCount());
+    }
+
+    private static void assertSameApproximation(
+            ApproximateGraphCenterData expected,
+            GraphCenterData data) {
+        assertTrue(data instanceof ApproximateGraphCenterData);
+        ApproximateGraphCenterData approximateData =
+                (ApproximateGraphCenterData) data;
+
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+        assertEquals(expected.getRadiusLowerBound(),
+                     approximateData.getRadiusLowerBound(),
+                     0.0);
+        assertEquals(expected.getRadiusUpperBound(),
+                     approximateData.getRadiusUpperBound(),
+                     0.0);
+        assertSameMap(expected.getEccentricityMap(),
+                      data.getEccentricityMap());
+        assertSameMap(expected.getEccentricityUpperBoundMap(),
+                      approximateData.getEccentricityUpperBoundMap());
+    }
+
+    private static void assertSameMap(
+            DirectedGraphNodeEccentricityMap expected,
+            DirectedGraphNodeEccentricityMap map) {
+        assertEquals(expected.size(), map.size());
+
+        for (int index = 0; index < expected.size(); ++index) {
+            assertEquals(expected.peek(index), map.peek(index), 0.0);
+            assertEquals(expected.peekType(index), map.peekType(index));
+        }
+    }
+}
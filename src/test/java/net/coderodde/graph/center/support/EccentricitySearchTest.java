@@ -0,0 +1,297 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.SearchCounters;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EccentricitySearchTest {
+
+    private static final int NODES = 30;
+
+    private final Random random = new Random(37L);
+
+    @Test
+    public void testObjectivesAgainstFloydWarshall() {
+        for (int iteration = 0; iteration < 40; ++iteration) {
+            CompactDirectedGraph graph = createGraph(iteration % 2 == 0,
+                                                     iteration % 4 < 2);
+            double[][] distances = findAllDistances(graph);
+
+            for (EccentricityObjective objective :
+                    EccentricityObjective.values()) {
+                double[] expected = findEccentricities(distances, objective);
+
+                for (boolean bucketQueueEnabled : new boolean[]{ false,
+                                                                 true }) {
+                    EccentricitySearch search =
+                            new EccentricitySearch(graph,
+                                                   bucketQueueEnabled,
+                                                   objective);
+
+                    for (int source = 0; source < NODES; ++source) {
+                        assertEquals(expected[source],
+                                     search.findEccentricityFrom(source),
+                                     1e-9);
+                        assertEquals(
+                                expected[source] != Double.POSITIVE_INFINITY,
+                                search.hasFiniteEccentricity(source));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFindersAgainstFloydWarshall() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            for (int iteration = 0; iteration < 20; ++iteration) {
+                CompactDirectedGraph graph = createGraph(iteration % 2 == 0,
+                                                         true);
+                double[][] distances = findAllDistances(graph);
+                GraphCenterFinderV2 cachedFinder = new GraphCenterFinderV2();
+                AbstractGraphCenterFinder[] finders = {
+                    new GraphCenterFinderV1(),
+                    new GraphCenterFinderV2(),
+                    new ParallelGraphCenterFinder(executor, 3),
+                    new ParallelGraphCenterFinderV2(executor, 3),
+                    new BoundingGraphCenterFinder(),
+                    new ApproximateGraphCenterFinder(Integer.MAX_VALUE),
+                    new UnweightedGraphCenterFinder(),
+                    new CachingGraphCenterFinder(cachedFinder, 1000L),
+                };
+
+                for (EccentricityObjective objective :
+                        EccentricityObjective.values()) {
+                    double[] expected =
+                            findEccentricities(distances, objective);
+                    Set<DirectedGraphNode> expectedCenters =
+                            findCenters(graph, expected);
+
+                    // The caching finder follows its delegate.
+                    cachedFinder.setObjective(objective);
+
+                    for (AbstractGraphCenterFinder finder : finders) {
+                        finder.setObjective(objective);
+                        GraphCenterData data = finder.findCenterNodes(graph);
+
+                        assertEquals(finder + " " + objective,
+                                     expectedCenters,
+                                     new HashSet<>(data.getCenterNodeList()));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBucketQueueAgreesWithHeap() {
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+        DirectedGraphWeightFunction wf = new DirectedGraphWeightFunction();
+
+        for (int i = 0; i < 200; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        for (int i = 0; i < 800; ++i) {
+            DirectedGraphNode a = nodes.get(random.nextInt(nodes.size()));
+            DirectedGraphNode b = nodes.get(random.nextInt(nodes.size()));
+            a.addChild(b); wf.put(a, b, random.nextInt(101));
+        }
+
+        CompactDirectedGraph graph = new CompactDirectedGraph(nodes, wf);
+        EccentricitySearch bucketSearch = new EccentricitySearch(graph);
+        EccentricitySearch heapSearch = new EccentricitySearch(graph, false);
+
+        assertTrue(bucketSearch.usesBucketQueue());
+        assertFalse(heapSearch.usesBucketQueue());
+
+        for (int source = 0; source < graph.size(); ++source) {
+            assertEquals(heapSearch.findEccentricityFrom(source, 150.0),
+                         bucketSearch.findEccentricityFrom(source, 150.0),
+                         0.0);
+            assertEquals(heapSearch.wasPruned(), bucketSearch.wasPruned());
+            assertEquals(heapSearch.findEccentricityFrom(source),
+                         bucketSearch.findEccentricityFrom(source),
+                         0.0);
+
+            for (int node = 0; node < graph.size(); ++node) {
+                assertEquals(heapSearch.getDistance(node),
+                             bucketSearch.getDistance(node),
+                             0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testCountsOnlyRealPriorityDecreases() {
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+        DirectedGraphWeightFunction wf = new DirectedGraphWeightFunction();
+
+        for (int i = 0; i < 4; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        // The arcs (1, 2) and (2, 3) improve a queued node, the arc (1, 3)
+        // reaches a queued node without improving it.
+        int[][] arcs = { { 0, 1, 1 }, { 0, 2, 5 }, { 0, 3, 5 },
+                         { 1, 2, 1 }, { 1, 3, 7 }, { 2, 3, 1 } };
+
+        for (int[] arc : arcs) {
+            nodes.get(arc[0]).addChild(nodes.get(arc[1]));
+            wf.put(nodes.get(arc[0]), nodes.get(arc[1]), arc[2]);
+        }
+
+        CompactDirectedGraph graph = new CompactDirectedGraph(nodes, wf);
+
+        for (boolean bucketQueueEnabled : new boolean[]{ false, true }) {
+            EccentricitySearch search =
+                    new EccentricitySearch(graph, bucketQueueEnabled);
+            SearchCounters counters = new SearchCounters();
+            search.setCounters(counters);
+
+            assertEquals(bucketQueueEnabled, search.usesBucketQueue());
+            assertEquals(3.0, search.findEccentricityFrom(0), 0.0);
+            assertEquals(1L, counters.getSearchCount());
+            assertEquals(6L, counters.getRelaxedArcCount());
+            assertEquals(2L, counters.getDecreasePriorityCount());
+        }
+    }
+
+    /**
+     * Creates a random graph of {@code NODES} nodes. Unweighted graphs have
+     * unit weights only.
+     */
+    private CompactDirectedGraph createGraph(boolean unweighted,
+                                             boolean stronglyConnected) {
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+        DirectedGraphWeightFunction wf = new DirectedGraphWeightFunction();
+
+        for (int i = 0; i < NODES; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        if (stronglyConnected) {
+            for (int i = 0; i < NODES; ++i) {
+                addArc(nodes, wf, i, (i + 1) % NODES, unweighted);
+            }
+        } else {
+            // A path keeps the graph weakly connected.
+            for (int i = 1; i < NODES; ++i) {
+                addArc(nodes, wf, i - 1, i, unweighted);
+            }
+        }
+
+        for (int i = 0; i < NODES; ++i) {
+            addArc(nodes, wf, random.nextInt(NODES), random.nextInt(NODES),
+                   unweighted);
+        }
+
+        return new CompactDirectedGraph(nodes, wf);
+    }
+
+    private void addArc(List<DirectedGraphNode> nodes,
+                        DirectedGraphWeightFunction wf,
+                        int tail,
+                        int head,
+                        boolean unweighted) {
+        nodes.get(tail).addChild(nodes.get(head));
+        wf.put(nodes.get(tail),
+               nodes.get(head),
+               unweighted ? 1.0 : 1 + random.nextInt(9));
+    }
+
+    private static double[][] findAllDistances(CompactDirectedGraph graph) {
+        double[][] distances = new double[NODES][NODES];
+
+        for (int i = 0; i < NODES; ++i) {
+            Arrays.fill(distances[i], Double.POSITIVE_INFINITY);
+            distances[i][i] = 0.0;
+
+            for (int arc = graph.childrenBegin(i);
+                    arc < graph.childrenEnd(i);
+                    ++arc) {
+                distances[i][graph.target(arc)] =
+                        Math.min(distances[i][graph.target(arc)],
+                                 graph.weight(arc));
+            }
+        }
+
+        for (int k = 0; k < NODES; ++k) {
+            for (int i = 0; i < NODES; ++i) {
+                for (int j = 0; j < NODES; ++j) {
+                    distances[i][j] = Math.min(distances[i][j],
+                                               distances[i][k] +
+                                               distances[k][j]);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    private static double[]
+        findEccentricities(double[][] distances,
+                           EccentricityObjective objective) {
+        double[] eccentricities = new double[NODES];
+
+        for (int u = 0; u < NODES; ++u) {
+            for (int v = 0; v < NODES; ++v) {
+                double distance;
+
+                switch (objective) {
+                    case IN:
+                        distance = distances[v][u];
+                        break;
+
+                    case ROUND_TRIP:
+                        distance = distances[u][v] + distances[v][u];
+                        break;
+
+                    default:
+                        distance = distances[u][v];
+                }
+
+                eccentricities[u] = Math.max(eccentricities[u], distance);
+            }
+        }
+
+        return eccentricities;
+    }
+
+    private static Set<DirectedGraphNode>
+        findCenters(CompactDirectedGraph graph, double[] eccentricities) {
+        double radius = Double.POSITIVE_INFINITY;
+
+        for (double eccentricity : eccentricities) {
+            radius = Math.min(radius, eccentricity);
+        }
+
+        Set<DirectedGraphNode> centers = new HashSet<>();
+
+        for (int i = 0; i < NODES; ++i) {
+            if (eccentricities[i] == radius) {
+                centers.add(graph.getNode(i));
+            }
+        }
+
+        return centers;
+    }
+}
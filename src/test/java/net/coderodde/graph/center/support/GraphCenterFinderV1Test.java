@@ -37,9 +37,13 @@ public class GraphCenterFinderV1Test {
         
         data = finder.findCenterNodes(n1, wf);
         
+        // Node 2 does not reach node 1.
         assertEquals(1, data.getCenterNodeList().size());
-        assertEquals(n2, data.getCenterNodeList().get(0));
+        assertEquals(n1, data.getCenterNodeList().get(0));
         assertEquals(2.0, data.getEccentricityMap().get(n1), 0.001);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     data.getEccentricityMap().get(n2), 
+                     0.0);
         
         n2.addChild(n1);
         wf.put(n2, n1, 1.5);
@@ -3,6 +3,7 @@ package net.coderodde.graph.center.support;
 import net.coderodde.graph.DirectedGraphNode;
 import net.coderodde.graph.DirectedGraphWeightFunction;
 import net.coderodde.graph.center.AbstractGraphCenterFinder;
+import net.coderodde.graph.center.EccentricityType;
 import net.coderodde.graph.center.GraphCenterData;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -37,9 +38,13 @@ public class GraphCenterFinderV2Test {
         
         data = finder.findCenterNodes(n1, wf);
         
+        // Node 2 does not reach node 1.
         assertEquals(1, data.getCenterNodeList().size());
-        assertEquals(n2, data.getCenterNodeList().get(0));
+        assertEquals(n1, data.getCenterNodeList().get(0));
         assertEquals(2.0, data.getEccentricityMap().get(n1), 0.001);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     data.getEccentricityMap().get(n2), 
+                     0.0);
         
         n2.addChild(n1);
         wf.put(n2, n1, 1.5);
@@ -91,4 +96,59 @@ public class GraphCenterFinderV2Test {
         assertEquals(5.0, data.getEccentricityMap().get(n2), 0.001);
         assertEquals(5.0, data.getEccentricityMap().get(n4), 0.001);
     }
+    
+    @Test
+    public void testEccentricityTypes() {
+        // The path n1 <-> n2 <-> ... <-> n7 with unit weights.
+        DirectedGraphNode[] path = { n1, n2, n3, n4, n5, n6, n7 };
+        
+        for (int i = 0; i < path.length - 1; ++i) {
+            path[i].addChild(path[i + 1]); wf.put(path[i], path[i + 1], 1.0);
+            path[i + 1].addChild(path[i]); wf.put(path[i + 1], path[i], 1.0);
+        }
+        
+        GraphCenterData expected = 
+                new GraphCenterFinderV1().findCenterNodes(n1, wf);
+        
+        data = finder.findCenterNodes(n1, wf);
+        
+        assertEquals(1, data.getCenterNodeList().size());
+        assertEquals(n4, data.getCenterNodeList().get(0));
+        assertEquals(EccentricityType.EXACT, 
+                     data.getEccentricityMap().getType(n4));
+        
+        int lowerBounds = 0;
+        
+        for (DirectedGraphNode node : path) {
+            double eccentricity = data.getEccentricityMap().get(node);
+            
+            if (data.getEccentricityMap().isExact(node)) {
+                assertEquals(expected.getEccentricityMap().get(node), 
+                             eccentricity, 
+                             0.0);
+            } else {
+                assertEquals(EccentricityType.LOWER_BOUND,
+                             data.getEccentricityMap().getType(node));
+                assertTrue(eccentricity <= 
+                           expected.getEccentricityMap().get(node));
+                ++lowerBounds;
+            }
+        }
+        
+        // The nodes are visited in the order n1, n2, ..., n7, so the searches
+        // from n5, n6 and n7 are pruned by the eccentricity of n4.
+        assertEquals(3, lowerBounds);
+        
+        finder.setCompleteEccentricities(true);
+        data = finder.findCenterNodes(n1, wf);
+        
+        for (DirectedGraphNode node : path) {
+            assertEquals(expected.getEccentricityMap().get(node),
+                         data.getEccentricityMap().get(node),
+                         0.0);
+            assertTrue(data.getEccentricityMap().isExact(node));
+        }
+        
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+    }
 }
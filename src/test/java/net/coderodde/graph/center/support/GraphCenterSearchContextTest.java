@@ -0,0 +1,136 @@
+package net.coderodde.graph.center.support;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.NodeOrdering;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GraphCenterSearchContextTest {
+
+    private final DirectedGraphNode n1 = new DirectedGraphNode(1);
+    private final DirectedGraphNode n2 = new DirectedGraphNode(2);
+    private final DirectedGraphNode n3 = new DirectedGraphNode(3);
+    
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+    
+    private final GraphCenterSearchContext context = 
+            new GraphCenterSearchContext();
+    
+    @Test
+    public void testSnapshotIsCachedUntilModification() {
+        n1.addChild(n2); wf.put(n1, n2, 1.0);
+        n2.addChild(n3); wf.put(n2, n3, 1.0);
+        
+        CompactDirectedGraph graph = context.getGraph(n1, wf);
+        
+        assertSame(graph, context.getGraph(n1, wf));
+        assertSame(graph, context.getGraph(n3, wf));
+        
+        wf.put(n1, n2, 2.0);
+        CompactDirectedGraph graph2 = context.getGraph(n1, wf);
+        
+        assertNotSame(graph, graph2);
+        assertSame(graph2, context.getGraph(n2, wf));
+        
+        n3.addChild(n1); wf.put(n3, n1, 1.0);
+        
+        CompactDirectedGraph graph3 = context.getGraph(n2, wf);
+        
+        assertNotSame(graph2, graph3);
+        
+        DirectedGraphWeightFunction wf2 = new DirectedGraphWeightFunction();
+        wf2.put(n1, n2, 1.0);
+        wf2.put(n2, n3, 1.0);
+        wf2.put(n3, n1, 1.0);
+        
+        assertNotSame(graph3, context.getGraph(n2, wf2));
+    }
+    
+    @Test
+    public void testUnrelatedEditsKeepSnapshot() {
+        n1.addChild(n2); wf.put(n1, n2, 1.0);
+        wf.put(n3, n2, 1.0);
+        
+        CompactDirectedGraph graph = context.getGraph(n1, wf);
+        DirectedGraphNode other1 = new DirectedGraphNode(10);
+        DirectedGraphNode other2 = new DirectedGraphNode(11);
+        other1.addChild(other2);
+        other1.removeChild(other2);
+        
+        assertSame(graph, context.getGraph(n2, wf));
+        
+        n3.addChild(n2);
+        
+        assertNotSame(graph, context.getGraph(n2, wf));
+    }
+    
+    @Test
+    public void testFinderNodeOrdering() {
+        n1.addChild(n2); wf.put(n1, n2, 1.0);
+        n2.addChild(n1); wf.put(n2, n1, 1.0);
+        n2.addChild(n3); wf.put(n2, n3, 1.0);
+        n3.addChild(n2); wf.put(n3, n2, 1.0);
+        
+        GraphCenterFinderV2 finder = new GraphCenterFinderV2();
+        CompactDirectedGraph graph = context.getGraph(n1, wf, finder);
+        
+        assertSame(graph, context.getGraph(n1, wf));
+        
+        finder.setNodeOrdering(NodeOrdering.HUB_FIRST);
+        CompactDirectedGraph reordered = context.getGraph(n1, wf, finder);
+        
+        assertNotSame(graph, reordered);
+        assertEquals(n2, reordered.getNode(0));
+        assertSame(reordered, context.getGraph(n3, wf, finder));
+        assertEquals(Arrays.asList(n2),
+                     finder.findCenterNodes(context, n1, wf)
+                           .getCenterNodeList());
+    }
+    
+    @Test
+    public void testFindersWithContext() {
+        n1.addChild(n2); wf.put(n1, n2, 1.0);
+        n2.addChild(n1); wf.put(n2, n1, 1.0);
+        n2.addChild(n3); wf.put(n2, n3, 1.0);
+        n3.addChild(n2); wf.put(n3, n2, 1.0);
+        
+        GraphCenterFinderV1 finderV1 = new GraphCenterFinderV1();
+        GraphCenterFinderV2 finderV2 = new GraphCenterFinderV2();
+        
+        for (int i = 0; i < 3; ++i) {
+            GraphCenterData data1 = finderV1.findCenterNodes(context, n1, wf);
+            GraphCenterData data2 = finderV2.findCenterNodes(context, n3, wf);
+            
+            assertEquals(1, data1.getCenterNodeList().size());
+            assertEquals(n2, data1.getCenterNodeList().get(0));
+            assertEquals(data1.getCenterNodeList(), data2.getCenterNodeList());
+            assertEquals(2.0, data1.getEccentricityMap().get(n1), 0.0);
+        }
+    }
+    
+    @Test
+    public void testThreadConfinement() throws InterruptedException {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    context.getGraph(n1, wf);
+                } catch (Throwable t) {
+                    error.set(t);
+                }
+            }
+        });
+        
+        thread.start();
+        thread.join();
+        
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+}
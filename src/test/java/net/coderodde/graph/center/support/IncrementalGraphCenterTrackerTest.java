@@ -0,0 +1,131 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.TestGraphs;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IncrementalGraphCenterTrackerTest {
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+    
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+    
+    private final Random random = new Random(11L);
+    
+    @Test
+    public void testAgainstV1UnderRandomChanges() {
+        checkAgainstV1UnderRandomChanges(EccentricityObjective.OUT);
+    }
+    
+    @Test
+    public void testInAgainstV1UnderRandomChanges() {
+        checkAgainstV1UnderRandomChanges(EccentricityObjective.IN);
+    }
+    
+    @Test
+    public void testRoundTripAgainstV1UnderRandomChanges() {
+        checkAgainstV1UnderRandomChanges(EccentricityObjective.ROUND_TRIP);
+    }
+    
+    private void checkAgainstV1UnderRandomChanges(
+            EccentricityObjective objective) {
+        GraphCenterFinderV1 finder = new GraphCenterFinderV1();
+        finder.setObjective(objective);
+        
+        for (int i = 0; i < 200; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+        
+        // A bidirectional spanning tree keeps the component intact.
+        TestGraphs.connectRandomly(random, nodes, 0, 5, wf);
+        
+        IncrementalGraphCenterTracker tracker = 
+                new IncrementalGraphCenterTracker(nodes.get(0), wf, finder);
+        
+        List<DirectedGraphNode[]> extraArcs = new ArrayList<>();
+        
+        for (int batch = 0; batch < 30; ++batch) {
+            for (int change = 0; change < 3; ++change) {
+                int choice = random.nextInt(3);
+                
+                if (choice == 0 || extraArcs.isEmpty()) {
+                    DirectedGraphNode a = randomNode();
+                    DirectedGraphNode b = randomNode();
+                    tracker.addArc(a, b, 1 + random.nextInt(5));
+                    extraArcs.add(new DirectedGraphNode[]{ a, b });
+                } else if (choice == 1) {
+                    DirectedGraphNode[] arc = 
+                            extraArcs.remove(random.nextInt(extraArcs.size()));
+                    tracker.removeArc(arc[0], arc[1]);
+                } else {
+                    DirectedGraphNode a = randomNode();
+                    DirectedGraphNode b = a.children().iterator().next();
+                    tracker.setWeight(a, b, 1 + random.nextInt(5));
+                }
+            }
+            
+            GraphCenterData expected = 
+                    finder.findCenterNodes(nodes.get(0), wf);
+            GraphCenterData data = tracker.getGraphCenterData();
+            
+            assertEquals(expected.getCenterNodeList(), 
+                         data.getCenterNodeList());
+            
+            for (DirectedGraphNode node : nodes) {
+                assertEquals(expected.getEccentricityMap().get(node),
+                             data.getEccentricityMap().get(node),
+                             0.0);
+            }
+        }
+    }
+    
+    @Test
+    public void testOnlyAffectedSourcesAreRecomputed() {
+        // A path 0 -> 1 -> ... -> 9.
+        for (int i = 0; i < 10; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+        
+        for (int i = 0; i < 9; ++i) {
+            nodes.get(i).addChild(nodes.get(i + 1)); 
+            wf.put(nodes.get(i), nodes.get(i + 1), 1.0);
+        }
+        
+        IncrementalGraphCenterTracker tracker = 
+                new IncrementalGraphCenterTracker(nodes.get(0), wf);
+        
+        // Only node 0 reaches every node.
+        assertEquals(10, tracker.getLastRecomputedSourceCount());
+        assertEquals(9.0, tracker.getRadius(), 0.0);
+        
+        // Only the sources 0..8 reach the arc (8, 9).
+        tracker.setWeight(nodes.get(8), nodes.get(9), 2.0);
+        tracker.getGraphCenterData();
+        
+        assertEquals(9, tracker.getLastRecomputedSourceCount());
+        
+        // Only the sources 1 and 2 get closer to node 0; source 0 reaches 
+        // node 2 but is already at distance zero from node 0.
+        tracker.addArc(nodes.get(2), nodes.get(0), 1.0);
+        
+        assertEquals(8.0, tracker.getRadius(), 0.0);
+        assertEquals(nodes.get(2), 
+                     tracker.getGraphCenterData().getCenterNodeList().get(0));
+        assertEquals(2, tracker.getLastRecomputedSourceCount());
+        assertEquals(9.0, tracker.getGraphCenterData()
+                                  .getEccentricityMap()
+                                  .get(nodes.get(1)), 0.0);
+    }
+    
+    private DirectedGraphNode randomNode() {
+        return nodes.get(random.nextInt(nodes.size()));
+    }
+}
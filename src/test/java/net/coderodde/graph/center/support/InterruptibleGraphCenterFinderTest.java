@@ -0,0 +1,144 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.TestGraphs;
+import net.coderodde.graph.center.ApproximateGraphCenterData;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.GraphCenterProgressListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class InterruptibleGraphCenterFinderTest {
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor();
+
+    private CompactDirectedGraph graph;
+
+    private GraphCenterData expected;
+
+    @Before
+    public void before() {
+        nodes.addAll(TestGraphs.randomConnected(13L, 400, 0, wf));
+
+        graph = new CompactDirectedGraph(nodes, wf);
+        expected = new GraphCenterFinderV1().findCenterNodes(graph);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCompleteSearch() throws InterruptedException {
+        final List<Integer> progress = new ArrayList<>();
+        GraphCenterTask task = new InterruptibleGraphCenterFinder(executor)
+                .submit(graph, new GraphCenterProgressListener() {
+            @Override
+            public void progressMade(int processedSourceCount,
+                                     int sourceCount,
+                                     double radiusUpperBound) {
+                assertEquals(400, sourceCount);
+                progress.add(processedSourceCount);
+            }
+        });
+
+        ApproximateGraphCenterData data = task.get();
+
+        assertTrue(data.isExact());
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+        assertTrue(task.isDone());
+        assertFalse(task.isCancelled());
+        assertFalse(task.cancel());
+        assertEquals(400, task.getProcessedSourceCount());
+        assertEquals(data.getRadiusUpperBound(),
+                     task.getRadiusUpperBound(), 0.0);
+        assertEquals(Integer.valueOf(64), progress.get(0));
+        assertEquals(Integer.valueOf(400), progress.get(progress.size() - 1));
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        final CountDownLatch reported = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        GraphCenterTask task = new InterruptibleGraphCenterFinder(executor)
+                .submit(graph, new GraphCenterProgressListener() {
+            @Override
+            public void progressMade(int processedSourceCount,
+                                     int sourceCount,
+                                     double radiusUpperBound) {
+                reported.countDown();
+
+                try {
+                    cancelled.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        reported.await();
+        assertTrue(task.cancel());
+        cancelled.countDown();
+
+        ApproximateGraphCenterData data = task.get();
+        double radius = expected.getEccentricityMap()
+                                .get(expected.getCenterNodeList().get(0));
+
+        assertTrue(task.isCancelled());
+        assertEquals(64, task.getProcessedSourceCount());
+        assertFalse(data.isExact());
+        assertEquals(0.0, data.getRadiusLowerBound(), 0.0);
+        assertTrue(data.getRadiusUpperBound() >= radius);
+
+        for (DirectedGraphNode node : nodes) {
+            double eccentricity = expected.getEccentricityMap().get(node);
+
+            assertTrue(data.getEccentricityMap().get(node) <= eccentricity);
+            assertTrue(data.getEccentricityUpperBoundMap().get(node)
+                       >= eccentricity);
+        }
+
+        for (DirectedGraphNode node : data.getCenterNodeList()) {
+            assertEquals(data.getRadiusUpperBound(),
+                         expected.getEccentricityMap().get(node),
+                         0.0);
+        }
+    }
+
+    @Test
+    public void testDeadline() throws InterruptedException {
+        GraphCenterTask task = new InterruptibleGraphCenterFinder(executor)
+                .submit(graph, 0L, TimeUnit.MILLISECONDS, null);
+        ApproximateGraphCenterData data = task.get();
+
+        assertTrue(task.isDeadlineExceeded());
+        assertTrue(data.getCenterNodeList().isEmpty());
+        assertEquals(0.0, data.getRadiusLowerBound(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY,
+                     data.getRadiusUpperBound(),
+                     0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTimeout() {
+        new InterruptibleGraphCenterFinder(executor)
+                .submit(graph, -1L, TimeUnit.SECONDS, null);
+    }
+}
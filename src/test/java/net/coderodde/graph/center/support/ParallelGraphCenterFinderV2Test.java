@@ -0,0 +1,139 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.DirectedGraphNodeEccentricityMap;
+import net.coderodde.graph.center.EccentricityType;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * The results shared with {@link ParallelGraphCenterFinder} are covered by
+ * {@link ParallelGraphCenterFinderTest}; this test covers the shared pruning
+ * bound and the lower bounds it leaves behind.
+ */
+public class ParallelGraphCenterFinderV2Test {
+
+    private static final int WIDTH = 20;
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+
+    @Test
+    public void testSharedPruningBound() throws Exception {
+        final SharedPruningBound bound = new SharedPruningBound();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 4; ++i) {
+                final int offset = i;
+
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int value = 10000; value >= 0; --value) {
+                            bound.lowerTo(value * 4 + offset + 1);
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1.0, bound.get(), 0.0);
+        assertFalse(bound.lowerTo(2.0));
+        assertTrue(bound.lowerTo(0.5));
+        assertEquals(0.5, bound.get(), 0.0);
+    }
+
+    @Test
+    public void testPrunedSearchesLeaveLowerBounds() {
+        buildGrid();
+        GraphCenterData expected =
+                new GraphCenterFinderV1().findCenterNodes(nodes.get(0), wf);
+        double radius = expected.getEccentricityMap()
+                                .get(expected.getCenterNodeList().get(0));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            for (int parallelism = 1; parallelism <= 4; ++parallelism) {
+                ParallelGraphCenterFinderV2 finder =
+                        new ParallelGraphCenterFinderV2(executor, parallelism);
+                finder.setCompleteEccentricities(true);
+                GraphCenterData data = finder.findCenterNodes(nodes.get(0), wf);
+
+                assertEquals(expected.getCenterNodeList(),
+                             data.getCenterNodeList());
+
+                DirectedGraphNodeEccentricityMap map =
+                        data.getEccentricityMap();
+                int lowerBoundCount = 0;
+
+                for (int index = 0; index < map.size(); ++index) {
+                    double exact = expected.getEccentricityMap()
+                                           .get(map.getNode(index));
+
+                    if (map.peekType(index) == EccentricityType.LOWER_BOUND) {
+                        // A pruned search stops above the shared bound, which
+                        // never drops below the radius.
+                        assertTrue(map.peek(index) > radius);
+                        assertTrue(map.peek(index) <= exact);
+                        ++lowerBoundCount;
+                    } else {
+                        assertEquals(exact, map.peek(index), 0.0);
+                    }
+
+                    // The bounds are completed on demand.
+                    assertEquals(exact, map.get(index), 0.0);
+                }
+
+                assertTrue(lowerBoundCount > 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Builds a grid with random arc weights, numbered row by row.
+     */
+    private void buildGrid() {
+        Random random = new Random(3L);
+
+        for (int i = 0; i < WIDTH * WIDTH; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        for (int i = 0; i < WIDTH * WIDTH; ++i) {
+            if ((i + 1) % WIDTH != 0) {
+                connect(i, i + 1, random);
+            }
+
+            if (i + WIDTH < WIDTH * WIDTH) {
+                connect(i, i + WIDTH, random);
+            }
+        }
+    }
+
+    private void connect(int a, int b, Random random) {
+        nodes.get(a).addChild(nodes.get(b));
+        nodes.get(b).addChild(nodes.get(a));
+        wf.put(nodes.get(a), nodes.get(b), 1 + random.nextInt(9));
+        wf.put(nodes.get(b), nodes.get(a), 1 + random.nextInt(9));
+    }
+}
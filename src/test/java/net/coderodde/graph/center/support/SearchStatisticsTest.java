@@ -0,0 +1,176 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.TestGraphs;
+import net.coderodde.graph.center.GraphCenterData;
+import net.coderodde.graph.center.SearchStatistics;
+import net.coderodde.graph.center.SearchStatisticsListener;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SearchStatisticsTest {
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+
+    @Test
+    public void testDisabledByDefault() {
+        nodes.addAll(TestGraphs.randomConnected(41L, 50, 50, wf));
+        GraphCenterFinderV1 finder = new GraphCenterFinderV1();
+
+        assertFalse(finder.isStatisticsEnabled());
+        assertNull(finder.findCenterNodes(nodes.get(0), wf).getStatistics());
+    }
+
+    @Test
+    public void testExhaustiveSearch() {
+        nodes.addAll(TestGraphs.randomConnected(41L, 50, 50, wf));
+        GraphCenterFinderV1 finder = new GraphCenterFinderV1();
+        finder.setStatisticsEnabled(true);
+
+        SearchStatistics statistics =
+                finder.findCenterNodes(nodes.get(0), wf).getStatistics();
+
+        assertEquals(50L, statistics.getSearchCount());
+        assertEquals(0L, statistics.getPrunedSearchCount());
+        assertEquals(50L * 50L, statistics.getSettledNodeCount());
+        assertEquals(50L * countArcs(), statistics.getRelaxedArcCount());
+        assertTrue(statistics.getComponentNanos() > 0L);
+        assertTrue(statistics.getSearchNanos() > 0L);
+
+        Map<String, Long> map = statistics.toMap();
+
+        assertEquals(Long.valueOf(50L), map.get("searches"));
+        assertEquals(8, map.size());
+        assertEquals(0.0,
+                     statistics.getAverageSettledNodesPerPrunedSearch(),
+                     0.0);
+
+        // A snapshot query builds no component.
+        statistics = finder.findCenterNodes(new CompactDirectedGraph(nodes,
+                                                                     wf))
+                           .getStatistics();
+
+        assertEquals(0L, statistics.getComponentNanos());
+    }
+
+    @Test
+    public void testPrunedAndParallelSearches() {
+        nodes.addAll(TestGraphs.randomConnected(41L, 300, 300, wf));
+        CompactDirectedGraph graph = new CompactDirectedGraph(nodes, wf);
+        GraphCenterFinderV2 finder = new GraphCenterFinderV2();
+        finder.setStatisticsEnabled(true);
+
+        SearchStatistics statistics =
+                finder.findCenterNodes(graph).getStatistics();
+
+        assertEquals(300L, statistics.getSearchCount());
+        assertTrue(statistics.getPrunedSearchCount() > 0L);
+        assertTrue(statistics.getSettledNodeCount() < 300L * 300L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            ParallelGraphCenterFinder parallelFinder =
+                    new ParallelGraphCenterFinder(executor, 3);
+            parallelFinder.setStatisticsEnabled(true);
+            GraphCenterFinderV1 sequentialFinder = new GraphCenterFinderV1();
+            sequentialFinder.setStatisticsEnabled(true);
+
+            SearchStatistics parallelStatistics =
+                    parallelFinder.findCenterNodes(graph).getStatistics();
+            SearchStatistics sequentialStatistics =
+                    sequentialFinder.findCenterNodes(graph).getStatistics();
+
+            assertEquals(sequentialStatistics.getSearchCount(),
+                         parallelStatistics.getSearchCount());
+            assertEquals(sequentialStatistics.getSettledNodeCount(),
+                         parallelStatistics.getSettledNodeCount());
+            assertEquals(sequentialStatistics.getRelaxedArcCount(),
+                         parallelStatistics.getRelaxedArcCount());
+
+            ParallelGraphCenterFinderV2 parallelFinderV2 =
+                    new ParallelGraphCenterFinderV2(executor, 3);
+            parallelFinderV2.setStatisticsEnabled(true);
+            statistics = parallelFinderV2.findCenterNodes(graph)
+                                         .getStatistics();
+
+            assertTrue(statistics.getPrunedSearchCount() > 0L);
+            assertTrue(statistics.getPrunedSettledNodeCount() > 0L);
+            assertTrue(statistics.getPrunedSettledNodeCount()
+                       < statistics.getSettledNodeCount());
+            assertEquals((double) statistics.getPrunedSettledNodeCount()
+                                  / statistics.getPrunedSearchCount(),
+                         statistics.getAverageSettledNodesPerPrunedSearch(),
+                         0.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testListener() {
+        nodes.addAll(TestGraphs.randomConnected(41L, 100, 100, wf));
+        final List<SearchStatistics> collected = new ArrayList<>();
+        BoundingGraphCenterFinder finder = new BoundingGraphCenterFinder();
+        finder.setStatisticsListener(new SearchStatisticsListener() {
+            @Override
+            public void statisticsCollected(SearchStatistics statistics) {
+                collected.add(statistics);
+            }
+        });
+
+        GraphCenterData data = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertTrue(finder.isStatisticsEnabled());
+        assertEquals(1, collected.size());
+        assertSame(data.getStatistics(), collected.get(0));
+        assertEquals(finder.getLastSearchCount(),
+                     collected.get(0).getSearchCount());
+
+        finder.setStatisticsListener(null);
+
+        assertFalse(finder.isStatisticsEnabled());
+        assertNull(finder.findCenterNodes(nodes.get(0), wf).getStatistics());
+        assertEquals(1, collected.size());
+    }
+
+    @Test
+    public void testUnweightedBatches() {
+        nodes.addAll(TestGraphs.randomConnected(41L, 100, 100, wf));
+
+        for (DirectedGraphNode tail : nodes) {
+            for (DirectedGraphNode head : tail.children()) {
+                wf.put(tail, head, 1.0);
+            }
+        }
+
+        UnweightedGraphCenterFinder finder = new UnweightedGraphCenterFinder();
+        finder.setStatisticsEnabled(true);
+        SearchStatistics statistics =
+                finder.findCenterNodes(nodes.get(0), wf).getStatistics();
+
+        assertEquals(100L, statistics.getSearchCount());
+        assertEquals(100L * 100L, statistics.getSettledNodeCount());
+        assertEquals(0L, statistics.getDecreasePriorityCount());
+    }
+
+    private long countArcs() {
+        long arcCount = 0L;
+
+        for (DirectedGraphNode node : nodes) {
+            arcCount += node.children().size();
+        }
+
+        return arcCount;
+    }
+}
@@ -0,0 +1,130 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.coderodde.graph.CompactDirectedGraph;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.center.EccentricityObjective;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SourceOrderingTest {
+
+    private static final int WIDTH = 25;
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+
+    @Test
+    public void testOrdersArePermutations() {
+        CompactDirectedGraph graph = buildGrid();
+
+        for (SourceOrdering ordering : SourceOrdering.values()) {
+            for (EccentricityObjective objective :
+                    EccentricityObjective.values()) {
+                int[] order = ordering.computeOrder(graph, objective);
+                Arrays.sort(order);
+
+                for (int i = 0; i < order.length; ++i) {
+                    assertEquals(i, order[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSameCenters() {
+        CompactDirectedGraph graph = buildGrid();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            for (EccentricityObjective objective :
+                    EccentricityObjective.values()) {
+                GraphCenterFinderV1 referenceFinder = new GraphCenterFinderV1();
+                referenceFinder.setObjective(objective);
+                GraphCenterData expected =
+                        referenceFinder.findCenterNodes(graph);
+
+                for (SourceOrdering ordering : SourceOrdering.values()) {
+                    GraphCenterFinderV2 finder = new GraphCenterFinderV2();
+                    finder.setObjective(objective);
+                    finder.setSourceOrdering(ordering);
+                    ParallelGraphCenterFinderV2 parallelFinder =
+                            new ParallelGraphCenterFinderV2(executor, 2);
+                    parallelFinder.setObjective(objective);
+                    parallelFinder.setSourceOrdering(ordering);
+
+                    assertEquals(expected.getCenterNodeList(),
+                                 finder.findCenterNodes(graph)
+                                       .getCenterNodeList());
+                    assertEquals(expected.getCenterNodeList(),
+                                 parallelFinder.findCenterNodes(graph)
+                                               .getCenterNodeList());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDistanceOrdersPruneMore() {
+        CompactDirectedGraph graph = buildGrid();
+        long naturalSettledNodeCount =
+                countSettledNodes(graph, SourceOrdering.NATURAL);
+
+        assertTrue(countSettledNodes(graph, SourceOrdering.SAMPLED_CLOSENESS)
+                   < naturalSettledNodeCount);
+        assertTrue(countSettledNodes(graph, SourceOrdering.DOUBLE_SWEEP)
+                   < naturalSettledNodeCount);
+    }
+
+    private static long countSettledNodes(CompactDirectedGraph graph,
+                                          SourceOrdering ordering) {
+        GraphCenterFinderV2 finder = new GraphCenterFinderV2();
+        finder.setStatisticsEnabled(true);
+        finder.setSourceOrdering(ordering);
+        return finder.findCenterNodes(graph)
+                     .getStatistics()
+                     .getSettledNodeCount();
+    }
+
+    /**
+     * Builds a grid numbered row by row from a corner, so that the natural
+     * order starts far from the center.
+     */
+    private CompactDirectedGraph buildGrid() {
+        Random random = new Random(59L);
+
+        for (int i = 0; i < WIDTH * WIDTH; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        for (int i = 0; i < WIDTH * WIDTH; ++i) {
+            if ((i + 1) % WIDTH != 0) {
+                connect(i, i + 1, random);
+            }
+
+            if (i + WIDTH < WIDTH * WIDTH) {
+                connect(i, i + WIDTH, random);
+            }
+        }
+
+        return new CompactDirectedGraph(nodes, wf);
+    }
+
+    private void connect(int a, int b, Random random) {
+        nodes.get(a).addChild(nodes.get(b));
+        nodes.get(b).addChild(nodes.get(a));
+        wf.put(nodes.get(a), nodes.get(b), 1 + random.nextInt(9));
+        wf.put(nodes.get(b), nodes.get(a), 1 + random.nextInt(9));
+    }
+}
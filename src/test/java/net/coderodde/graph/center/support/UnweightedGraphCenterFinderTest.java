@@ -0,0 +1,75 @@
+package net.coderodde.graph.center.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraphNode;
+import net.coderodde.graph.DirectedGraphWeightFunction;
+import net.coderodde.graph.TestGraphs;
+import net.coderodde.graph.center.GraphCenterData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class UnweightedGraphCenterFinderTest {
+
+    private final DirectedGraphWeightFunction wf =
+              new DirectedGraphWeightFunction();
+
+    private final UnweightedGraphCenterFinder finder =
+            new UnweightedGraphCenterFinder();
+
+    private GraphCenterData data;
+
+    @Test
+    public void testAgainstV1OnUnitWeightGraph() {
+        List<DirectedGraphNode> nodes = new ArrayList<>();
+
+        // More than two batches of sources.
+        for (int i = 0; i < 150; ++i) {
+            nodes.add(new DirectedGraphNode(i));
+        }
+
+        TestGraphs.connectRandomly(new Random(7L), nodes, 60, 1, wf);
+
+        GraphCenterData expected =
+                new GraphCenterFinderV1().findCenterNodes(nodes.get(0), wf);
+
+        data = finder.findCenterNodes(nodes.get(0), wf);
+
+        assertEquals(expected.getCenterNodeList(), data.getCenterNodeList());
+
+        for (DirectedGraphNode node : nodes) {
+            assertEquals(expected.getEccentricityMap().get(node),
+                         data.getEccentricityMap().get(node),
+                         0.0);
+            assertTrue(data.getEccentricityMap().isExact(node));
+        }
+    }
+
+    @Test
+    public void testWeightHandling() {
+        DirectedGraphNode n1 = new DirectedGraphNode(1);
+        DirectedGraphNode n2 = new DirectedGraphNode(2);
+        DirectedGraphNode n3 = new DirectedGraphNode(3);
+
+        n1.addChild(n2); wf.put(n1, n2, 5.0);
+        n2.addChild(n1); wf.put(n2, n1, 5.0);
+        n2.addChild(n3); wf.put(n2, n3, 1.0);
+        n3.addChild(n2); wf.put(n3, n2, 1.0);
+        n1.addChild(n3); wf.put(n1, n3, 1.0);
+        n3.addChild(n1); wf.put(n3, n1, 1.0);
+
+        // Weighted: falls back to Dijkstra.
+        data = finder.findCenterNodes(n1, wf);
+
+        assertEquals(1, data.getCenterNodeList().size());
+        assertEquals(n3, data.getCenterNodeList().get(0));
+        assertEquals(2.0, data.getEccentricityMap().get(n1), 0.0);
+
+        // Told to ignore the weights: every node is one hop from the others.
+        data = new UnweightedGraphCenterFinder(true).findCenterNodes(n1, wf);
+
+        assertEquals(3, data.getCenterNodeList().size());
+        assertEquals(1.0, data.getEccentricityMap().get(n1), 0.0);
+    }
+}
@@ -0,0 +1,85 @@
+package net.coderodde.util;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BucketQueueTest {
+
+    private final BucketQueue queue = new BucketQueue(100, 10);
+
+    @Test
+    public void testAddAndExtract() {
+        queue.add(3, 3);
+        queue.add(1, 10);
+        queue.add(7, 2);
+        queue.add(1, 1); // Ignored as 1 is already present.
+
+        assertEquals(3, queue.size());
+        assertEquals(7, queue.min());
+        assertEquals(2, queue.minPriority());
+
+        queue.decreasePriority(1, 2);
+
+        assertEquals(1, queue.extractMinimum());
+        assertEquals(7, queue.extractMinimum());
+        assertEquals(3, queue.extractMinimum());
+        assertTrue(queue.isEmpty());
+
+        assertFalse(queue.contains(3));
+        assertTrue(queue.hasBeenAdded(3));
+        assertEquals(2, queue.getPriority(1));
+    }
+
+    @Test
+    public void testClear() {
+        queue.add(5, 5);
+        queue.add(6, 6);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.contains(5));
+        assertFalse(queue.hasBeenAdded(6));
+
+        queue.add(6, 0);
+
+        assertEquals(6, queue.extractMinimum());
+    }
+
+    @Test
+    public void testMonotoneWorkload() {
+        Random random = new Random(13L);
+        IndexedMinHeap heap = new IndexedMinHeap(queue.capacity());
+
+        for (int round = 0; round < 10; ++round) {
+            queue.clear();
+            heap.clear();
+            queue.add(0, 0);
+            heap.add(0, 0.0);
+
+            // Wrap around the buckets several times.
+            while (!heap.isEmpty()) {
+                assertEquals((int) heap.minPriority(), queue.minPriority());
+
+                int priority = queue.minPriority();
+                heap.extractMinimum();
+                queue.extractMinimum();
+
+                for (int i = 0; i < 3; ++i) {
+                    int e = random.nextInt(queue.capacity());
+                    int newPriority = priority + random.nextInt(11);
+
+                    if (!queue.hasBeenAdded(e)) {
+                        queue.add(e, newPriority);
+                        heap.add(e, newPriority);
+                    } else {
+                        queue.decreasePriority(e, newPriority);
+                        heap.decreasePriority(e, newPriority);
+                    }
+                }
+
+                assertEquals(heap.size(), queue.size());
+            }
+        }
+    }
+}
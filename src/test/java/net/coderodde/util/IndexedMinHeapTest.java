@@ -0,0 +1,78 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IndexedMinHeapTest {
+
+    private final IndexedMinHeap heap = new IndexedMinHeap(100);
+    
+    @Test
+    public void testAddAndExtract() {
+        heap.add(3, 3.0);
+        heap.add(1, 1.0);
+        heap.add(7, 0.5);
+        heap.add(1, 0.1); // Ignored as 1 is already present.
+        
+        assertEquals(3, heap.size());
+        assertEquals(7, heap.min());
+        assertEquals(0.5, heap.minPriority(), 0.001);
+        
+        heap.decreasePriority(3, 0.2);
+        
+        assertEquals(3, heap.extractMinimum());
+        assertEquals(7, heap.extractMinimum());
+        assertEquals(1, heap.extractMinimum());
+        assertTrue(heap.isEmpty());
+        
+        assertFalse(heap.contains(3));
+        assertTrue(heap.hasBeenAdded(3));
+        assertEquals(0.2, heap.getPriority(3), 0.001);
+    }
+    
+    @Test
+    public void testClear() {
+        heap.add(5, 5.0);
+        heap.add(6, 6.0);
+        heap.clear();
+        
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(5));
+        assertFalse(heap.hasBeenAdded(6));
+        
+        heap.add(6, 1.0);
+        
+        assertEquals(6, heap.extractMinimum());
+    }
+    
+    @Test
+    public void testAgainstSorting() {
+        Random random = new Random(13L);
+        double[] priorities = new double[heap.capacity()];
+        
+        for (int round = 0; round < 10; ++round) {
+            heap.clear();
+            
+            for (int i = 0; i < priorities.length; ++i) {
+                priorities[i] = random.nextDouble();
+                heap.add(i, priorities[i]);
+            }
+            
+            for (int i = 0; i < priorities.length; i += 3) {
+                priorities[i] /= 2.0;
+                heap.decreasePriority(i, priorities[i]);
+            }
+            
+            Arrays.sort(priorities);
+            
+            for (double priority : priorities) {
+                assertEquals(priority, heap.minPriority(), 0.0);
+                heap.extractMinimum();
+            }
+            
+            assertTrue(heap.isEmpty());
+        }
+    }
+}
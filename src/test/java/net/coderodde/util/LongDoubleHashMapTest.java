@@ -0,0 +1,47 @@
+package net.coderodde.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LongDoubleHashMapTest {
+
+    private final LongDoubleHashMap map = new LongDoubleHashMap();
+    
+    @Test
+    public void testPutAndGet() {
+        map.put(1L, 1.5);
+        map.put(-7L, 2.5);
+        map.put(1L << 40, 3.5);
+        map.put(1L, 4.5);
+        
+        assertEquals(3, map.size());
+        assertEquals(4.5, map.get(1L, 0.0), 0.0);
+        assertEquals(2.5, map.get(-7L, 0.0), 0.0);
+        assertEquals(3.5, map.get(1L << 40, 0.0), 0.0);
+        assertEquals(-1.0, map.get(2L, -1.0), 0.0);
+        assertTrue(map.containsKey(-7L));
+        assertFalse(map.containsKey(0L));
+    }
+    
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(17L);
+        Map<Long, Double> expected = new HashMap<>();
+        
+        for (int i = 0; i < 10000; ++i) {
+            long key = random.nextInt(5000) * 0x100000001L;
+            double value = random.nextDouble();
+            expected.put(key, value);
+            map.put(key, value);
+        }
+        
+        assertEquals(expected.size(), map.size());
+        
+        for (Map.Entry<Long, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey(), -1.0), 0.0);
+        }
+    }
+}